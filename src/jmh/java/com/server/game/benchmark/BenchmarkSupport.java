@@ -0,0 +1,76 @@
+package com.server.game.benchmark;
+
+import java.util.SplittableRandom;
+
+import org.slf4j.LoggerFactory;
+
+import com.server.game.config.JacksonConfig;
+import com.server.game.model.map.component.GridCell;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.resource.reader.JsonReader;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Shared fixtures of the JMH benchmarks
+ */
+final class BenchmarkSupport {
+
+    static final int TICK_INTERVAL_MS = 33;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * The game code logs at INFO on its hot paths, keep it out of the measurements
+     */
+    static void quietLogs() {
+        ((Logger) LoggerFactory.getLogger("com.server.game")).setLevel(Level.WARN);
+    }
+
+    /**
+     * The grid shipped with the game (200x77)
+     */
+    static GameMapGrid shippedGrid() {
+        JsonReader jsonReader = new JsonReader(new JacksonConfig().objectMapper());
+        return jsonReader.readGameMapGridFromJson("map_2");
+    }
+
+    /**
+     * Random obstacles plus a few long walls with gaps, so paths have to go around them
+     */
+    static GameMapGrid syntheticGrid(int rows, int cols, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean[][] grid = new boolean[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid[r][c] = random.nextInt(100) >= 20;
+            }
+        }
+
+        for (int wall = cols / 5; wall < cols; wall += cols / 5) {
+            int gap = random.nextInt(rows);
+            for (int r = 0; r < rows; r++) {
+                if (Math.abs(r - gap) > 2) {
+                    grid[r][wall] = false;
+                }
+            }
+        }
+
+        float cellSize = 0.5f;
+        return new GameMapGrid((short) -1, "synthetic_" + rows + "x" + cols,
+            new Vector2(0, 0), new Vector2(cols * cellSize, -rows * cellSize),
+            rows, cols, cellSize, grid);
+    }
+
+    static GridCell randomWalkableCell(GameMapGrid grid, SplittableRandom random) {
+        while (true) {
+            GridCell cell = new GridCell(random.nextInt(grid.getNRows()), random.nextInt(grid.getNCols()));
+            if (grid.isWalkable(cell)) {
+                return cell;
+            }
+        }
+    }
+}
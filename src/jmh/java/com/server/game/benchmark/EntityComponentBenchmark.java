@@ -0,0 +1,91 @@
+package com.server.game.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.server.game.model.game.Entity;
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.SlotState;
+import com.server.game.service.troop.TroopManager;
+import com.server.game.simulation.HeadlessGameFactory;
+import com.server.game.util.ChampionEnum;
+import com.server.game.util.TroopEnum;
+
+/**
+ * The Entity accessors which look up a component on every call,
+ * as done many times per entity and per tick by the game loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityComponentBenchmark {
+
+    private HeadlessGameFactory factory;
+    private Entity champion;
+    private Entity troop;
+    private Entity tower;
+
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogs();
+        factory = new HeadlessGameFactory(BenchmarkSupport.TICK_INTERVAL_MS, 1);
+
+        GameState gameState = factory.createGame(Map.of(
+            (short) 0, ChampionEnum.MELEE_AXE,
+            (short) 1, ChampionEnum.MARKSMAN_CROSSBOW));
+        SlotState slotState = gameState.getSlotState((short) 0);
+        gameState.setGold(slotState, Integer.MAX_VALUE / 2);
+
+        champion = slotState.getChampion();
+        tower = slotState.getTowers().iterator().next();
+        troop = factory.getBean(TroopManager.class).createTroop(
+            gameState.getGameId(), (short) 0, TroopEnum.AXIS, gameState.getSpawnPosition((short) 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public void champion(Blackhole blackhole) {
+        lookups(champion, blackhole);
+    }
+
+    @Benchmark
+    public void troop(Blackhole blackhole) {
+        lookups(troop, blackhole);
+    }
+
+    @Benchmark
+    public void tower(Blackhole blackhole) {
+        lookups(tower, blackhole);
+    }
+
+    private static void lookups(Entity entity, Blackhole blackhole) {
+        blackhole.consume(entity.getCurrentPosition());
+        blackhole.consume(entity.isAlive());
+        blackhole.consume(entity.getCurrentHP());
+        blackhole.consume(entity.isAttacking());
+        blackhole.consume(entity.getAttackRange());
+        blackhole.consume(entity.getDefense());
+        blackhole.consume(entity.isCastingDurationSkill());
+    }
+}
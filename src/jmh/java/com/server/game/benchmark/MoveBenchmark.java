@@ -0,0 +1,94 @@
+package com.server.game.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.server.game.factory.MoveContextFactory;
+import com.server.game.model.game.Champion;
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.context.MoveContext;
+import com.server.game.model.map.component.GridCell;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.service.gameState.GameStateService;
+import com.server.game.simulation.HeadlessGameFactory;
+import com.server.game.util.ChampionEnum;
+
+/**
+ * One tick of MovingComponent.performMoveAndBroadcast for a champion walking
+ * from its spawn to the enemy spawn, including the grid re-indexing. The
+ * queued position is flushed as at the end of a tick, so the aggregated
+ * PositionSend goes through the encoder to the null sink.
+ *
+ * The path is computed once, the champion is put back at its spawn with the
+ * same path whenever it arrives.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+
+    private HeadlessGameFactory factory;
+    private GameStateService gameStateService;
+    private GameState gameState;
+    private Champion champion;
+    private Vector2 start;
+    private MoveContext moveContext;
+    private List<GridCell> path;
+
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogs();
+        factory = new HeadlessGameFactory(BenchmarkSupport.TICK_INTERVAL_MS, 1);
+        gameStateService = factory.getBean(GameStateService.class);
+
+        gameState = factory.createGame(Map.of(
+            (short) 0, ChampionEnum.MELEE_AXE,
+            (short) 1, ChampionEnum.MARKSMAN_CROSSBOW));
+
+        champion = gameState.getChampionBySlot((short) 0);
+        start = champion.getCurrentPosition();
+        moveContext = factory.getBean(MoveContextFactory.class)
+            .createMoveContext(gameState, champion, gameState.getSpawnPosition((short) 1), 0);
+        path = moveContext.getPath().getPath();
+
+        restart();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public boolean performMoveAndBroadcast() {
+        boolean moved = champion.performMoveAndBroadcast();
+        gameStateService.flushPositionUpdates(gameState);
+        if (!moved) {
+            restart();
+        }
+        return moved;
+    }
+
+    private void restart() {
+        champion.updatePosition(start);
+        moveContext.setPath(path);
+        champion.setMoveContext(moveContext, true);
+    }
+}
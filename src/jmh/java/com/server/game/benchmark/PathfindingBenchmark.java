@@ -0,0 +1,81 @@
+package com.server.game.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.util.ThetaStarPathfinder;
+
+/**
+ * ThetaStarPathfinder.findPath between fixed random walkable cells,
+ * on the shipped map grid and on larger synthetic grids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+
+    private static final int NUM_QUERIES = 64;
+
+    @Param({ "map_2", "synthetic_500x500", "synthetic_1000x1000" })
+    String grid;
+
+    private GameMapGrid gameMapGrid;
+    private GridCell[] starts;
+    private GridCell[] ends;
+    private int next;
+    private final List<GridCell> path = new ArrayList<>();
+
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogs();
+
+        gameMapGrid = switch (grid) {
+            case "map_2" -> BenchmarkSupport.shippedGrid();
+            case "synthetic_500x500" -> BenchmarkSupport.syntheticGrid(500, 500, 1);
+            case "synthetic_1000x1000" -> BenchmarkSupport.syntheticGrid(1000, 1000, 1);
+            default -> throw new IllegalArgumentException("Unknown grid: " + grid);
+        };
+
+        SplittableRandom random = new SplittableRandom(42);
+        starts = new GridCell[NUM_QUERIES];
+        ends = new GridCell[NUM_QUERIES];
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            starts[i] = BenchmarkSupport.randomWalkableCell(gameMapGrid, random);
+            ends[i] = BenchmarkSupport.randomWalkableCell(gameMapGrid, random);
+        }
+    }
+
+    @Benchmark
+    public List<GridCell> findPath() {
+        int i = next;
+        next = (i + 1) % NUM_QUERIES;
+        return ThetaStarPathfinder.findPath(gameMapGrid, starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public int findPathIntoBuffer() {
+        int i = next;
+        next = (i + 1) % NUM_QUERIES;
+        return ThetaStarPathfinder.findPath(gameMapGrid, starts[i], ends[i], path);
+    }
+}
@@ -0,0 +1,115 @@
+package com.server.game.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.server.game.model.game.Entity;
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.SlotState;
+import com.server.game.model.game.Troop;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.model.map.shape.CircleShape;
+import com.server.game.model.map.shape.RectShape;
+import com.server.game.model.map.shape.Shape;
+import com.server.game.service.gameState.GameStateService;
+import com.server.game.service.troop.TroopManager;
+import com.server.game.simulation.HeadlessGameFactory;
+import com.server.game.util.ChampionEnum;
+import com.server.game.util.TroopEnum;
+
+/**
+ * GameStateService.getEntitiesInScope around the playground, with troops
+ * of both players spread over the middle of the map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeQueryBenchmark {
+
+    private static final float SPREAD = 20f;
+
+    @Param({ "circle", "rect" })
+    String shape;
+
+    @Param({ "3", "5", "10" })
+    float size;
+
+    @Param({ "20", "200" })
+    int troopsPerSlot;
+
+    private HeadlessGameFactory factory;
+    private GameState gameState;
+    private GameStateService gameStateService;
+    private Shape scope;
+    private final List<Entity> result = new ArrayList<>();
+
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogs();
+        factory = new HeadlessGameFactory(BenchmarkSupport.TICK_INTERVAL_MS, 1);
+        gameStateService = factory.getBean(GameStateService.class);
+        TroopManager troopManager = factory.getBean(TroopManager.class);
+
+        gameState = factory.createGame(Map.of(
+            (short) 0, ChampionEnum.MELEE_AXE,
+            (short) 1, ChampionEnum.MARKSMAN_CROSSBOW));
+
+        Vector2 center = gameState.getPlayground().getPosition();
+        SplittableRandom random = new SplittableRandom(7);
+        TroopEnum[] troopTypes = TroopEnum.values();
+
+        for (short slot = 0; slot < 2; slot++) {
+            SlotState slotState = gameState.getSlotState(slot);
+            gameState.setGold(slotState, Integer.MAX_VALUE / 2);
+
+            for (int i = 0; i < troopsPerSlot; i++) {
+                Troop troop = troopManager.createTroop(gameState.getGameId(), slot,
+                    troopTypes[i % troopTypes.length], center);
+                troop.updatePosition(new Vector2(
+                    center.x() + (float) (random.nextDouble() * 2 - 1) * SPREAD,
+                    center.y() + (float) (random.nextDouble() * 2 - 1) * SPREAD));
+            }
+        }
+
+        scope = switch (shape) {
+            case "circle" -> new CircleShape(center, size);
+            case "rect" -> new RectShape(center, size, size * 2, new Vector2(1, 1).normalize());
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public int getEntitiesInScope() {
+        return gameStateService.getEntitiesInScope(gameState, scope, result);
+    }
+
+    @Benchmark
+    public int getEnemiesInScope() {
+        return gameStateService.getEnemiesInScope(gameState, scope, gameState.getSlotState((short) 0), result);
+    }
+}
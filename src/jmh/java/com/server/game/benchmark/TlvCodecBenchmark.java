@@ -0,0 +1,156 @@
+package com.server.game.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.server.game.model.map.component.Vector2;
+import com.server.game.netty.pipelineComponent.TLVMessageDecoder;
+import com.server.game.netty.receiveObject.PositionReceive;
+import com.server.game.netty.receiveObject.attack.AttackReceive;
+import com.server.game.netty.sendObject.PositionSend;
+import com.server.game.netty.sendObject.attack.HealthUpdateSend;
+import com.server.game.netty.tlv.codec.TLVDecoder;
+import com.server.game.netty.tlv.codec.TLVEncoder;
+import com.server.game.netty.tlv.interf4ce.TLVDecodable;
+import com.server.game.netty.tlv.interf4ce.TLVEncodable;
+import com.server.game.netty.tlv.messageEnum.ReceiveMessageType;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * TLV encoding of the two most frequent outbound messages, to a byte array
+ * and straight into a pooled buffer, and decoding of the matching inbound
+ * ones. The server never decodes PositionSend or HealthUpdateSend, so the
+ * decode side uses PositionReceive and AttackReceive going through the real
+ * TLVMessageDecoder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TlvCodecBenchmark {
+
+    @Param({ "1", "10" })
+    int entitiesPerPositionSend;
+
+    private PositionSend positionSend;
+    private HealthUpdateSend healthUpdateSend;
+
+    private EmbeddedChannel decoderChannel;
+    private byte[] positionReceiveFrame;
+    private byte[] attackReceiveFrame;
+
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkSupport.quietLogs();
+
+        positionSend = new PositionSend("champion_1", new Vector2(12.5f, -3.25f), 5f, System.currentTimeMillis());
+        for (int i = 1; i < entitiesPerPositionSend; i++) {
+            positionSend.getEntities().add(new PositionSend.EntityPositionData(
+                "troop_" + i, new Vector2(i, -i), 3f));
+        }
+        healthUpdateSend = new HealthUpdateSend("tower_0_1", 750, 1000, 42, System.currentTimeMillis());
+
+        register(ReceiveMessageType.POSITION_UPDATE_RECEIVE, PositionReceive.class);
+        register(ReceiveMessageType.ATTACK_RECEIVE, AttackReceive.class);
+        decoderChannel = new EmbeddedChannel(new TLVMessageDecoder());
+
+        ByteArrayOutputStream position = new ByteArrayOutputStream();
+        DataOutputStream positionOut = new DataOutputStream(position);
+        positionOut.writeUTF("champion_1");
+        positionOut.writeFloat(12.5f);
+        positionOut.writeFloat(-3.25f);
+        positionOut.writeLong(System.currentTimeMillis());
+        positionReceiveFrame = frame(ReceiveMessageType.POSITION_UPDATE_RECEIVE, position.toByteArray());
+
+        ByteArrayOutputStream attack = new ByteArrayOutputStream();
+        DataOutputStream attackOut = new DataOutputStream(attack);
+        attackOut.writeUTF("champion_1");
+        attackOut.writeUTF("tower_1_0");
+        attackOut.writeLong(System.currentTimeMillis());
+        attackReceiveFrame = frame(ReceiveMessageType.ATTACK_RECEIVE, attack.toByteArray());
+    }
+
+    @TearDown
+    public void tearDown() {
+        decoderChannel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public byte[] encodePositionSend() {
+        return TLVEncoder.object2Bytes(positionSend);
+    }
+
+    @Benchmark
+    public byte[] encodeHealthUpdateSend() {
+        return TLVEncoder.object2Bytes(healthUpdateSend);
+    }
+
+    @Benchmark
+    public int encodePositionSendToByteBuf() {
+        return encodeAndRelease(positionSend);
+    }
+
+    @Benchmark
+    public int encodeHealthUpdateSendToByteBuf() {
+        return encodeAndRelease(healthUpdateSend);
+    }
+
+    @Benchmark
+    public TLVDecodable decodePositionReceive() {
+        decoderChannel.writeInbound(Unpooled.wrappedBuffer(positionReceiveFrame));
+        return decoderChannel.readInbound();
+    }
+
+    @Benchmark
+    public TLVDecodable decodeAttackReceive() {
+        decoderChannel.writeInbound(Unpooled.wrappedBuffer(attackReceiveFrame));
+        return decoderChannel.readInbound();
+    }
+
+
+    private static int encodeAndRelease(TLVEncodable sendObject) {
+        ByteBuf encoded = TLVEncoder.object2ByteBuf(sendObject, PooledByteBufAllocator.DEFAULT);
+        int length = encoded.readableBytes();
+        encoded.release();
+        return length;
+    }
+
+    private static void register(ReceiveMessageType type, Class<? extends TLVDecodable> clazz) {
+        try {
+            TLVDecoder.register(type.getType(), clazz);
+        } catch (IllegalArgumentException e) {
+            // Already registered by an earlier trial in the same JVM
+        }
+    }
+
+    private static byte[] frame(ReceiveMessageType type, byte[] value) throws IOException {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(frame);
+        out.writeShort(type.getType());
+        out.writeInt(value.length);
+        out.write(value);
+        return frame.toByteArray();
+    }
+}
@@ -0,0 +1,41 @@
+package com.server.game.controller;
+
+import com.server.game.apiResponse.ApiResponse;
+import com.server.game.dto.response.GameTickMetricsResponse;
+import com.server.game.service.metrics.GameMetricsService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("${api.prefix}/games")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GameMetricsController {
+
+    GameMetricsService gameMetricsService;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponse<List<GameTickMetricsResponse>>> getAllGameTickMetrics() {
+        List<GameTickMetricsResponse> metrics = gameMetricsService.getAllGameTickMetrics();
+        ApiResponse<List<GameTickMetricsResponse>> response = new ApiResponse<>(HttpStatus.OK.value(), "Game tick metrics retrieved successfully", metrics);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{gameId}/metrics")
+    public ResponseEntity<ApiResponse<GameTickMetricsResponse>> getGameTickMetrics(@PathVariable String gameId) {
+        GameTickMetricsResponse metrics = gameMetricsService.getGameTickMetrics(gameId);
+        if (metrics == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse<>(HttpStatus.NOT_FOUND.value(), "Game not found", null));
+        }
+        ApiResponse<GameTickMetricsResponse> response = new ApiResponse<>(HttpStatus.OK.value(), "Game tick metrics retrieved successfully", metrics);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,43 @@
+package com.server.game.dto.response;
+
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class GameTickMetricsResponse {
+    String gameId;
+    int tickShard;
+    long currentTick;
+
+    int numEntities;
+    int numChampions;
+    int numTroops;
+    int numTowers;
+    int numGoldMines;
+
+    long overrunTicks;
+    long skippedTicks;
+    long avgLatenessMicros;
+    long maxLatenessMicros;
+
+    Map<String, PhaseMetrics> phases; // phase name -> timings
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class PhaseMetrics {
+        long count;
+        long p50Micros;
+        long p99Micros;
+        long maxMicros;
+    }
+}
@@ -11,9 +11,11 @@ import org.springframework.stereotype.Component;
 
 import com.server.game.resource.model.GameMap;
 import com.server.game.resource.model.GameMapGrid;
-import com.server.game.resource.service.GameMapGridService;
-import com.server.game.resource.service.GameMapService;
+import com.server.game.resource.service.GameMapRegistry;
 import com.server.game.service.gameState.GameStateService;
+import com.server.game.service.pathfinding.AsyncPathfinder;
+import com.server.game.service.pathfinding.ClusterGraphService;
+import com.server.game.service.pathfinding.MapQueryTablesService;
 import com.server.game.util.ChampionEnum;
 
 import io.netty.channel.Channel;
@@ -31,9 +33,11 @@ import lombok.AccessLevel;
 public class GameStateFactory {
 
     GameStateService gameStateService;
-    GameMapService gameMapService;
-    GameMapGridService gameMapGridService;
+    GameMapRegistry gameMapRegistry;
     SlotStateFactory slotStateFactory;
+    ClusterGraphService clusterGraphService;
+    AsyncPathfinder asyncPathfinder;
+    MapQueryTablesService mapQueryTablesService;
 
     // From the channel, get all components needed to build the game state
     public GameState createGameState(Channel channel) {
@@ -46,11 +50,15 @@ public class GameStateFactory {
         Map<Short, ChampionEnum> slot2ChampionId = ChannelManager.getSlot2ChampionEnum(gameId);
 
 
-        GameMap gameMap = gameMapService.getGameMapById(gameMapId);
-        GameMapGrid gameMapGrid = gameMapGridService.getGameMapGridById(gameMapId);
+        // Shared by every game on the map
+        GameMap gameMap = gameMapRegistry.getGameMap(gameMapId);
+        GameMapGrid gameMapGrid = gameMapRegistry.getGameMapGrid(gameMapId);
 
         GameState gameState = new GameState(gameId, gameMap, gameMapGrid, slot2ChampionId, 
             gameStateService, slotStateFactory);
+        gameState.setClusterGraph(clusterGraphService.getClusterGraph(gameMapGrid));
+        gameState.setAsyncPathfinder(asyncPathfinder);
+        gameState.setMapQueryTables(mapQueryTablesService.getMapQueryTables(gameMap, gameMapGrid));
 
 
         return gameState;
@@ -61,11 +69,15 @@ public class GameStateFactory {
         
         Short gameMapId = (short) slot2ChampionId.size(); // GameMap id is determined by the number of players
         
-        GameMap gameMap = gameMapService.getGameMapById(gameMapId);
-        GameMapGrid gameMapGrid = gameMapGridService.getGameMapGridById(gameMapId);
+        // Shared by every game on the map
+        GameMap gameMap = gameMapRegistry.getGameMap(gameMapId);
+        GameMapGrid gameMapGrid = gameMapRegistry.getGameMapGrid(gameMapId);
 
         GameState gameState = new GameState(gameId, gameMap, gameMapGrid, slot2ChampionId, 
             gameStateService, slotStateFactory);
+        gameState.setClusterGraph(clusterGraphService.getClusterGraph(gameMapGrid));
+        gameState.setAsyncPathfinder(asyncPathfinder);
+        gameState.setMapQueryTables(mapQueryTablesService.getMapQueryTables(gameMap, gameMapGrid));
 
         return gameState;
     }
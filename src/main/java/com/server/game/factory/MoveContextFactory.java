@@ -5,6 +5,8 @@ import com.server.game.model.game.GameState;
 import com.server.game.model.game.context.MoveContext;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.service.gameState.GameStateService;
+import com.server.game.service.pathfinding.FlowFieldService;
+import com.server.game.util.FlowField;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -20,9 +22,18 @@ import org.springframework.stereotype.Component;
 public class MoveContextFactory {
 
     GameStateService gameStateService;
+    FlowFieldService flowFieldService;
 
     public MoveContext createMoveContext(GameState gameState, Entity mover, Vector2 targetPoint, long timestamp) {
         // Create and return the MoveContext
         return new MoveContext(gameState, mover, targetPoint, timestamp);
     }
+
+    /**
+     * For movers sent in numbers to the same place, they share one flow field
+     */
+    public MoveContext createFlowMoveContext(GameState gameState, Entity mover, Vector2 targetPoint, long timestamp) {
+        FlowField flowField = flowFieldService.getFlowField(gameState.getGameMapGrid(), gameState.toGridCell(targetPoint));
+        return new MoveContext(gameState, mover, targetPoint, timestamp, flowField);
+    }
 }
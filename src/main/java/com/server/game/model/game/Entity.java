@@ -1,8 +1,5 @@
 package com.server.game.model.game;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.server.game.model.game.building.Building;
 import com.server.game.model.game.component.AttackComponent;
 import com.server.game.model.game.component.HealthComponent;
@@ -10,6 +7,7 @@ import com.server.game.model.game.component.MovingComponent;
 import com.server.game.model.game.component.attributeComponent.AttributeComponent;
 import com.server.game.model.game.component.attributeComponent.ChampionAttributeComponent;
 import com.server.game.model.game.component.skillComponent.DurationSkillComponent;
+import com.server.game.model.game.component.skillComponent.SkillComponent;
 import com.server.game.model.game.context.AttackContext;
 import com.server.game.model.game.context.MoveContext;
 import com.server.game.model.game.entityIface.Attackable;
@@ -17,6 +15,7 @@ import com.server.game.model.game.entityIface.HasFixedPosition;
 import com.server.game.model.map.component.GridCell;
 import com.server.game.model.map.component.Vector2;
 
+import lombok.AccessLevel;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 import lombok.Getter;
@@ -31,7 +30,36 @@ public abstract class Entity implements Attackable {
     @Delegate
     protected final GameState gameState;
 
-    private final Map<Class<?>, Object> components = new HashMap<>();
+    // One bit and one typed slot per component kind, so that a presence check
+    // is a bit test and an access is a field load
+    private static final int MOVING = 1;
+    private static final int HEALTH = 1 << 1;
+    private static final int ATTACK = 1 << 2;
+    private static final int ATTRIBUTE = 1 << 3;
+    private static final int CHAMPION_ATTRIBUTE = 1 << 4;
+    private static final int SKILL = 1 << 5;
+    private static final int DURATION_SKILL = 1 << 6;
+
+    @Getter(AccessLevel.NONE)
+    private int componentMask = 0;
+    @Getter(AccessLevel.NONE)
+    private MovingComponent moving;
+    @Getter(AccessLevel.NONE)
+    private HealthComponent health;
+    @Getter(AccessLevel.NONE)
+    private AttackComponent attack;
+    @Getter(AccessLevel.NONE)
+    private AttributeComponent attribute;
+    @Getter(AccessLevel.NONE)
+    private ChampionAttributeComponent championAttribute;
+    @Getter(AccessLevel.NONE)
+    private SkillComponent skill;
+    @Getter(AccessLevel.NONE)
+    private DurationSkillComponent durationSkill;
+
+    // Handle of this entity in the SpatialIndex of its game, -1 if not indexed
+    @Getter(AccessLevel.NONE)
+    int spatialHandle = -1;
 
     public Entity(String stringId, GameState gameState) {
         this.stringId = stringId;
@@ -39,27 +67,45 @@ public abstract class Entity implements Attackable {
     }
 
     // Concrete classes have to implement this method to add all their components
-    // to the Map above. This method must be called in the constructor of the concrete classes.
+    // to the slots above. This method must be called in the constructor of the concrete classes.
     protected abstract void addAllComponents();
 
-    // Add a component to the entity, also adds it to all its superclasses and interfaces
+    // Add a component to the entity, it fills the slot of the given class and of all its superclasses
     protected final <T> void addComponent(Class<T> clazz, T component) {
         Class<?> current = clazz;
         while (current != null && current != Object.class) {
-            components.put(current, component);
-            for (Class<?> iface : current.getInterfaces()) {
-                components.put(iface, component);
-            }
+            this.setComponentSlot(current, component);
             current = current.getSuperclass();
         }
     }
 
-    private final <T> T getComponent(Class<T> clazz) {
-        return clazz.cast(components.get(clazz));
+    private void setComponentSlot(Class<?> clazz, Object component) {
+        if (clazz == MovingComponent.class) {
+            this.moving = (MovingComponent) component;
+            this.componentMask |= MOVING;
+        } else if (clazz == HealthComponent.class) {
+            this.health = (HealthComponent) component;
+            this.componentMask |= HEALTH;
+        } else if (clazz == AttackComponent.class) {
+            this.attack = (AttackComponent) component;
+            this.componentMask |= ATTACK;
+        } else if (clazz == AttributeComponent.class) {
+            this.attribute = (AttributeComponent) component;
+            this.componentMask |= ATTRIBUTE;
+        } else if (clazz == ChampionAttributeComponent.class) {
+            this.championAttribute = (ChampionAttributeComponent) component;
+            this.componentMask |= CHAMPION_ATTRIBUTE;
+        } else if (clazz == SkillComponent.class) {
+            this.skill = (SkillComponent) component;
+            this.componentMask |= SKILL;
+        } else if (clazz == DurationSkillComponent.class) {
+            this.durationSkill = (DurationSkillComponent) component;
+            this.componentMask |= DURATION_SKILL;
+        }
     }
 
-    private final boolean hasComponent(Class<?> clazz) {
-        return components.containsKey(clazz);
+    private boolean hasComponent(int component) {
+        return (this.componentMask & component) != 0;
     }
 
     protected abstract void handleDeath(Entity killer);
@@ -81,17 +127,21 @@ public abstract class Entity implements Attackable {
     }
 
     public boolean setMoveContext(MoveContext ctx, boolean isForced) {
-        if (hasComponent(MovingComponent.class)) {
+        if (hasComponent(MOVING)) {
             log.info(">>> Move context set: " + ctx);
-            return getComponent(MovingComponent.class).setMoveContext(ctx, isForced);
+            return this.moving.setMoveContext(ctx, isForced);
         }
         log.info("Entity {} does not have MovingComponent, cannot set move context", this.getStringId());
         return false;
     }
 
+    public MoveContext getMoveContext() {
+        return hasComponent(MOVING) ? this.moving.getMoveContext() : null;
+    }
+
     public float getMoveSpeed() {
-        if (hasComponent(MovingComponent.class)) {
-            return getComponent(MovingComponent.class).getOwnerSpeed();
+        if (hasComponent(MOVING)) {
+            return this.moving.getOwnerSpeed();
         }
 
         log.info("Entity does not have MovingComponent, returning default speed=0.");
@@ -99,16 +149,16 @@ public abstract class Entity implements Attackable {
     }
 
     public boolean setStopMoving(boolean isForced) {
-        if (hasComponent(MovingComponent.class)) {
-            return getComponent(MovingComponent.class).setMoveContext(null, isForced);
+        if (hasComponent(MOVING)) {
+            return this.moving.setMoveContext(null, isForced);
         }
         log.info("Entity {} does not have MovingComponent, cannot stop Moving", this.getStringId());
         return false;
     }
 
     public boolean performMoveAndBroadcast() {
-        if (hasComponent(MovingComponent.class)) {
-            return getComponent(MovingComponent.class).performMoveAndBroadcast();
+        if (hasComponent(MOVING)) {
+            return this.moving.performMoveAndBroadcast();
         } else {
             log.debug("Entity {} does not have MovingComponent, cannot perform move.", this.stringId);
             return false;
@@ -117,8 +167,8 @@ public abstract class Entity implements Attackable {
 
 // ************************ GOLD *************************//
     public int getGoldMineDamage() {
-        if (hasComponent(ChampionAttributeComponent.class)) {
-            return getComponent(ChampionAttributeComponent.class).getGoldMineDamage();
+        if (hasComponent(CHAMPION_ATTRIBUTE)) {
+            return this.championAttribute.getGoldMineDamage();
         }
         log.info("Entity {} does not have AttackComponent, returning default gold mine damage=0.", this.stringId);
         return 0; // Default value if no attack component is present
@@ -152,9 +202,9 @@ public abstract class Entity implements Attackable {
 
 // ************************ ATTACKING *************************//
     public boolean setAttackContext(AttackContext ctx) {
-        if (hasComponent(AttackComponent.class)) {
+        if (hasComponent(ATTACK)) {
             log.info("Attack context set: {}", ctx);
-            return getComponent(AttackComponent.class).setAttackContext(ctx);
+            return this.attack.setAttackContext(ctx);
         } else {
             log.info("Entity does not have AttackComponent, cannot set attack context.");
             return false; // Default value if no attack component is present
@@ -166,48 +216,48 @@ public abstract class Entity implements Attackable {
     }
 
     public AttackContext getAttackContext() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).getAttackContext();
+        if (hasComponent(ATTACK)) {
+            return this.attack.getAttackContext();
         } else {
             throw new UnsupportedOperationException("Entity does not have AttackComponent");
         }
     }
 
     public float getAttackRange() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).getAttackRange();
+        if (hasComponent(ATTACK)) {
+            return this.attack.getAttackRange();
         }
         log.info("Entity {} does not have AttackComponent, returning default attack range=0.", this.stringId);
         return 0; // Default value if no attack component is present
     }
 
     public Entity getAttackTarget() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).getAttackTarget();
+        if (hasComponent(ATTACK)) {
+            return this.attack.getAttackTarget();
         }
         log.info("Entity {} does not have AttackComponent, returning null for getAttackTarget.", this.stringId);
         return null;
     }
 
     public boolean isAttacking() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).isAttacking();
+        if (hasComponent(ATTACK)) {
+            return this.attack.isAttacking();
         }
         log.info("Entity {} does not have AttackComponent, returning false for isAttacking.", this.stringId);
         return false; 
     }
     
     public boolean inAttackRange() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).inAttackRange();
+        if (hasComponent(ATTACK)) {
+            return this.attack.inAttackRange();
         }
         log.info("Entity does not have AttackComponent, returning false for isInAttackRange.");
         return false; // Default value if no attack component is present
     }
 
     public float getDistanceNeededToReachAttackRange() {
-        if (hasComponent(AttackComponent.class)) {
-            AttackComponent attackComponent = getComponent(AttackComponent.class);
+        if (hasComponent(ATTACK)) {
+            AttackComponent attackComponent = this.attack;
             if (attackComponent.getAttackContext() != null && 
                 attackComponent.getAttackContext().getTarget() != null) {
                 Entity targetEntity = attackComponent.getAttackContext().getTarget();
@@ -219,24 +269,24 @@ public abstract class Entity implements Attackable {
     }
 
     public float getAttackSpeed() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).getAttackSpeed();
+        if (hasComponent(ATTACK)) {
+            return this.attack.getAttackSpeed();
         }
         log.info("Entity does not have AttackComponent, returning default attack speed=0.");
         return 0; // Default value if no attack component is present
     }
 
     public int getDamage() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).getDamage();
+        if (hasComponent(ATTACK)) {
+            return this.attack.getDamage();
         }
         log.info("Entity does not have AttackComponent, returning default damage=0.");
         return 0; // Default value if no attack component is present
     }
 
     public Integer getDefense() {
-        if (hasComponent(AttributeComponent.class)) {
-            return getComponent(AttributeComponent.class).getDefense();
+        if (hasComponent(ATTRIBUTE)) {
+            return this.attribute.getDefense();
         }
         if (this instanceof Building building) {
             return building.getDefense();
@@ -246,8 +296,8 @@ public abstract class Entity implements Attackable {
     }
 
     public boolean performAttack() {
-        if (hasComponent(AttackComponent.class)) {
-            return getComponent(AttackComponent.class).performAttack();
+        if (hasComponent(ATTACK)) {
+            return this.attack.performAttack();
         } else {
             log.debug("Entity {} does not have AttackComponent, cannot perform attack.", this.stringId);
             return false; 
@@ -256,24 +306,24 @@ public abstract class Entity implements Attackable {
 
 // ************************ HP *************************//
     public int getCurrentHP() {
-        if (hasComponent(HealthComponent.class)) {
-            return getComponent(HealthComponent.class).getCurrentHP();
+        if (hasComponent(HEALTH)) {
+            return this.health.getCurrentHP();
         }
         log.info("Entity does not have HealthComponent, returning default current HP=0.");
         return 0; // Default value if no health component is present
     }
 
     public int getMaxHP() {
-        if (hasComponent(HealthComponent.class)) {
-            return getComponent(HealthComponent.class).getMaxHP();
+        if (hasComponent(HEALTH)) {
+            return this.health.getMaxHP();
         }
         log.info("Entity does not have HealthComponent, returning default max HP=0.");
         return 0; // Default value if no health component is present
     }
 
     public boolean isAlive() {
-        if (hasComponent(HealthComponent.class)) {
-            return getComponent(HealthComponent.class).isAlive();
+        if (hasComponent(HEALTH)) {
+            return this.health.isAlive();
         }
         log.info("Entity does not have HealthComponent, returning true as default.");
         return true; // Default value if no health component is present
@@ -281,8 +331,8 @@ public abstract class Entity implements Attackable {
 
 // ************************ POSITION - MOVING *************************//
     public Vector2 getCurrentPosition() {
-        if (hasComponent(MovingComponent.class)) {
-            return getComponent(MovingComponent.class).getCurrentPosition();
+        if (hasComponent(MOVING)) {
+            return this.moving.getCurrentPosition();
         }
         if (this instanceof HasFixedPosition fixedPositionEntity) {
             return fixedPositionEntity.getPosition();
@@ -292,7 +342,7 @@ public abstract class Entity implements Attackable {
     }
 
     public GridCell getCurrentGridCell() {
-        if (hasComponent(MovingComponent.class)) {
+        if (hasComponent(MOVING)) {
             return gameState.toGridCell(this.getCurrentPosition());
         }
         if (this instanceof HasFixedPosition fixedPositionEntity) {
@@ -302,57 +352,31 @@ public abstract class Entity implements Attackable {
         return null;
     }
 
-    public final float distanceTo(Entity other) {
-
-        Vector2 myPosition = this.getCurrentPosition();
-        // For non-building entities (troops, champions), their dimensions are treated as zero
-        // Float myWidth = 0f;
-        // Float myLength = 0f;
-
-        Float myRadius = 0f;
-
-        if (this instanceof Building myBuilding) {
-            Float myWidth = myBuilding.getWidth();
-            Float myLength = myBuilding.getLength();
-            myRadius = (float) (Math.sqrt(myWidth * myWidth + myLength * myLength) / 2f);
-        }
-
-        Vector2 otherPosition = other.getCurrentPosition();
-        // For non-building entities (troops, champions), their dimensions are treated as zero
-        // Float otherWidth = 0f;
-        // Float otherLength = 0f;
-        Float otherRadius = 0f;
-
-        if (other instanceof Building otherBuilding) {
-            Float otherWidth = otherBuilding.getWidth();
-            Float otherLength = otherBuilding.getLength();
-            otherRadius = (float) Math.sqrt(otherWidth * otherWidth + otherLength * otherLength) / 2f;
-        }
-
+    /**
+     * Radius of the footprint of the entity, used by distanceTo.
+     * Troops and champions are treated as points, buildings override it.
+     */
+    public float getBoundingRadius() {
+        return 0f;
+    }
 
+    public final float distanceTo(Entity other) {
+        float myRadius = this.getBoundingRadius();
+        float otherRadius = other.getBoundingRadius();
 
-        Float centerDistance = myPosition.distance(otherPosition);
+        float centerDistance = this.getCurrentPosition().distance(other.getCurrentPosition());
         
         if (centerDistance <= myRadius + otherRadius) {
-            // Entities are overlapping, return 0 distance
+            // Entities are overlapping, return the center distance
             return centerDistance;
         }
         
-       return centerDistance - myRadius - otherRadius;
-
-        // float dx = Math.max(0, 
-        //     Math.abs(myPosition.x() - otherPosition.x()) - 
-        //         (myRadius + otherRadius) / 2);
-        // float dy = Math.max(0, 
-        //     Math.abs(myPosition.y() - otherPosition.y()) - 
-        //         (myLength + otherLength) / 2);
-
-        // return (float) Math.sqrt(dx * dx + dy * dy);
+        return centerDistance - myRadius - otherRadius;
     }
 
     public void updatePosition(Vector2 newPosition) {
-        if (hasComponent(MovingComponent.class)) {
-            getComponent(MovingComponent.class).setCurrentPosition(newPosition);
+        if (hasComponent(MOVING)) {
+            this.moving.setCurrentPosition(newPosition);
         } else {
             log.info("Entity {} does not have MovingComponent, cannot update position.", this.stringId);
         }
@@ -364,8 +388,7 @@ public abstract class Entity implements Attackable {
      * it can just call super.beforeUpdatePosition().
      */
     public void beforeUpdatePosition() {
-        this.getGameStateService()
-            .removeEntityFromGridCellMapping(this);
+        // Nothing to do, the spatial index is updated after the move
     }
 
     /**
@@ -374,29 +397,29 @@ public abstract class Entity implements Attackable {
      * it can just call super.afterUpdatePosition().
      */
     public void afterUpdatePosition() {
-        this.getGameStateService()
-            .addEntityToGridCellMapping(this);
+        // Only relinks the entity when it moved to another cell
+        this.gameState.getSpatialIndex().update(this);
     }
 
 // ************************ SKILL *************************//
     public boolean isCastingDurationSkill() {
-        if (hasComponent(DurationSkillComponent.class)) {
-            return getComponent(DurationSkillComponent.class).isActive();
+        if (hasComponent(DURATION_SKILL)) {
+            return this.durationSkill.isActive();
         }
         return false; // Default value if no skill component is present
     }
 
     public boolean canPerformSkillWhileAttacking() {
-        if (hasComponent(DurationSkillComponent.class)) {
-            return getComponent(DurationSkillComponent.class).canPerformWhileAttacking();
+        if (hasComponent(DURATION_SKILL)) {
+            return this.durationSkill.canPerformWhileAttacking();
         }
         log.info("Entity does not have DurationSkillComponent, returning true for canPerformSkillWhileAttacking.");
         return true; // Default value if no skill component is present
     }
 
     public boolean canPerformSkillWhileMoving() {
-        if (hasComponent(DurationSkillComponent.class)) {
-            return getComponent(DurationSkillComponent.class).canPerformWhileMoving();
+        if (hasComponent(DURATION_SKILL)) {
+            return this.durationSkill.canPerformWhileMoving();
         }
         log.info("Entity does not have SkillComponent, returning true for canUseSkillWhileMoving.");
         return true; // Default value if no skill component is present
@@ -0,0 +1,72 @@
+package com.server.game.model.game;
+
+import java.util.function.IntFunction;
+
+/**
+ * Copy-on-write, array backed set of entities of one kind.
+ * Adding or removing an entity copies the array (spawns and deaths only),
+ * iterating the snapshot allocates nothing and stays valid when entities
+ * are added or removed during the iteration, e.g. an attack killing its target.
+ *
+ * Only touched by the tick thread of the game, like the other entity maps.
+ */
+public class EntityIndex<T extends Entity> {
+
+    private final IntFunction<T[]> arrayFactory;
+    private T[] entities;
+
+
+    public EntityIndex(IntFunction<T[]> arrayFactory) {
+        this.arrayFactory = arrayFactory;
+        this.entities = arrayFactory.apply(0);
+    }
+
+    public boolean add(T entity) {
+        T[] current = entities;
+        if (indexOf(current, entity) >= 0) {
+            return false;
+        }
+
+        T[] updated = arrayFactory.apply(current.length + 1);
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = entity;
+
+        entities = updated;
+        return true;
+    }
+
+    public boolean remove(Entity entity) {
+        T[] current = entities;
+        int index = indexOf(current, entity);
+        if (index < 0) {
+            return false;
+        }
+
+        T[] updated = arrayFactory.apply(current.length - 1);
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+
+        entities = updated;
+        return true;
+    }
+
+    /**
+     * The current entities, must not be modified by the caller
+     */
+    public T[] snapshot() {
+        return entities;
+    }
+
+    public int size() {
+        return entities.length;
+    }
+
+    private static int indexOf(Entity[] array, Entity entity) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == entity) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,12 +1,18 @@
 package com.server.game.model.game;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.server.game.factory.SlotStateFactory;
+import com.server.game.model.game.building.Burg;
+import com.server.game.model.game.building.Tower;
+import com.server.game.model.game.command.GameCommand;
+import com.server.game.model.game.command.GameCommandQueue;
+import com.server.game.model.game.timer.TimerWheel;
 import com.server.game.model.map.component.GridCell;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.resource.model.GameMap;
@@ -14,11 +20,15 @@ import com.server.game.resource.model.GameMap.Playground;
 import com.server.game.resource.model.GameMapGrid;
 import com.server.game.resource.model.SlotInfo;
 import com.server.game.service.gameState.GameStateService;
+import com.server.game.service.pathfinding.AsyncPathfinder;
 import com.server.game.util.ChampionEnum;
+import com.server.game.util.ClusterGraph;
+import com.server.game.util.MapQueryTables;
 import com.server.game.util.Util;
 
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,19 +39,55 @@ public class GameState {
     final String gameId;
     final GameMap gameMap;
     final GameMapGrid gameMapGrid;
+    // Abstract graph of the map for HPA*, null when the map uses flat Theta*
+    @Setter
+    ClusterGraph clusterGraph;
+    // Nearest walkable cells, clearance and walkable area samplers of the map, shared by all its games
+    @Setter
+    MapQueryTables mapQueryTables;
+    // Runs the path searches off the tick thread, null to search synchronously
+    @Setter
+    AsyncPathfinder asyncPathfinder;
 
     long currentTick = 0;
     long nextGoldMineGenerationTick;
     Integer currentNumGoldMine = 0;
 
     final Map<Short, SlotState> slotStates = new ConcurrentHashMap<>();
-    final Map<String, Entity> stringId2Entity = new ConcurrentHashMap<>();
-    final Map<GridCell, Set<Entity>> grid2Entity = new ConcurrentHashMap<>();
+    // Only touched by the tick thread of this game, see commandQueue
+    final Map<String, Entity> stringId2Entity = new HashMap<>();
+    // Entities by grid cell, updated when an entity changes cell
+    final SpatialIndex spatialIndex;
+
+    // Array backed indexes by kind, kept up to date by addEntity / removeEntity.
+    // The per owner index lives in SlotState.
+    final EntityIndex<Entity> entityIndex = new EntityIndex<>(Entity[]::new);
+    final EntityIndex<Champion> championIndex = new EntityIndex<>(Champion[]::new);
+    final EntityIndex<Troop> troopIndex = new EntityIndex<>(Troop[]::new);
+    final EntityIndex<Tower> towerIndex = new EntityIndex<>(Tower[]::new);
+    final EntityIndex<Burg> burgIndex = new EntityIndex<>(Burg[]::new);
+    final EntityIndex<GoldMine> goldMineIndex = new EntityIndex<>(GoldMine[]::new);
+
+    // Entities that moved during this tick, sent as one position snapshot at the end of the tick
+    final List<Entity> movedEntities = new ArrayList<>();
+
+    // Requests from other threads, applied at the start of each tick
+    final GameCommandQueue commandQueue = new GameCommandQueue();
+
+    // Tick based timers (respawns, cooldowns, skill expiries), advanced at the start of each tick
+    final TimerWheel timerWheel = new TimerWheel(0);
 
     final GameStateService gameStateService;
 
     Integer numSlotsAlive;
 
+    // Index of the tick shard this game is pinned to, -1 if not ticking
+    int tickShard = -1;
+    final TickStats tickStats = new TickStats();
+    final TickProfiler tickProfiler = new TickProfiler();
+    // Counters for other threads, replaced by the tick thread at the end of each tick
+    volatile TickSnapshot tickSnapshot = TickSnapshot.EMPTY;
+
 
     public GameState(String gameId, GameMap gameMap,
         GameMapGrid gameMapGrid, 
@@ -52,6 +98,7 @@ public class GameState {
         this.gameId = gameId;
         this.gameMap = gameMap;
         this.gameMapGrid = gameMapGrid;
+        this.spatialIndex = new SpatialIndex(gameMapGrid);
 
         for (Map.Entry<Short, ChampionEnum> entry : slot2ChampionEnum.entrySet()) {
             Short slot = entry.getKey();
@@ -101,11 +148,13 @@ public class GameState {
             return;
         }
 
-        stringId2Entity.put(entity.getStringId(), entity);
-
-        // Also update the grid to entity mapping
-        GridCell gridCell = toGridCell(entity.getCurrentPosition());
-        grid2Entity.computeIfAbsent(gridCell, k -> ConcurrentHashMap.newKeySet()).add(entity);
+        Entity previous = stringId2Entity.put(entity.getStringId(), entity);
+        if (previous != entity) {
+            if (previous != null) {
+                removeFromIndexes(previous);
+            }
+            addToIndexes(entity);
+        }
     }
 
     public void removeEntity(Entity entity) {
@@ -114,32 +163,73 @@ public class GameState {
             return;
         }
 
-        stringId2Entity.remove(entity.getStringId());
+        if (stringId2Entity.remove(entity.getStringId(), entity)) {
+            removeFromIndexes(entity);
+        }
+    }
 
+    private void addToIndexes(Entity entity) {
+        entityIndex.add(entity);
+        spatialIndex.insert(entity);
+        if (entity instanceof Champion champion) {
+            championIndex.add(champion);
+        } else if (entity instanceof Troop troop) {
+            troopIndex.add(troop);
+        } else if (entity instanceof Tower tower) {
+            towerIndex.add(tower);
+        } else if (entity instanceof Burg burg) {
+            burgIndex.add(burg);
+        } else if (entity instanceof GoldMine goldMine) {
+            goldMineIndex.add(goldMine);
+        }
 
-        // Also update the grid to entity mapping
-        GridCell gridCell = entity.getCurrentGridCell();
-        if (gridCell != null) {
-            Set<Entity> entitiesAtCell = grid2Entity.get(gridCell);
-            if (entitiesAtCell != null) {
-                entitiesAtCell.remove(entity);
-                if (entitiesAtCell.isEmpty()) {
-                    grid2Entity.remove(gridCell);
-                }
-            }
+        SlotState ownerSlot = entity.getOwnerSlot();
+        if (ownerSlot != null) {
+            ownerSlot.getOwnedEntities().add(entity);
+        }
+    }
+
+    private void removeFromIndexes(Entity entity) {
+        entityIndex.remove(entity);
+        spatialIndex.remove(entity);
+        championIndex.remove(entity);
+        troopIndex.remove(entity);
+        towerIndex.remove(entity);
+        burgIndex.remove(entity);
+        goldMineIndex.remove(entity);
+
+        SlotState ownerSlot = entity.getOwnerSlot();
+        if (ownerSlot != null) {
+            ownerSlot.getOwnedEntities().remove(entity);
         }
     }
 
-    public Set<Entity> getEntities() {
-        return stringId2Entity.values()
-            .stream()
-            .collect(Collectors.toSet());
+    /**
+     * All entities of the game, must not be modified by the caller.
+     * Entities added or removed while iterating are not seen by the iteration.
+     */
+    public Entity[] getEntities() {
+        return entityIndex.snapshot();
     }
     
-    public Set<Champion> getChampions() {
-        return slotStates.values().stream()
-            .map(SlotState::getChampion)
-            .collect(Collectors.toSet());
+    public Champion[] getChampions() {
+        return championIndex.snapshot();
+    }
+
+    public Troop[] getTroops() {
+        return troopIndex.snapshot();
+    }
+
+    public Tower[] getTowers() {
+        return towerIndex.snapshot();
+    }
+
+    public Burg[] getBurgs() {
+        return burgIndex.snapshot();
+    }
+
+    public GoldMine[] getGoldMines() {
+        return goldMineIndex.snapshot();
     }
 
     public Map<Short, Champion> getSlot2Champions() {
@@ -311,10 +401,36 @@ public class GameState {
         return slotState != null ? slotState.getMaxHP() : -1;
     }
 
+    /**
+     * Queue a state change to be applied by the tick thread, can be called from any thread
+     */
+    public void submitCommand(GameCommand.Type type, String entityId, Runnable action) {
+        commandQueue.offer(new GameCommand(type, entityId, action));
+    }
+
+    /**
+     * Run the task on the tick thread after the given number of ticks
+     */
+    public TimerWheel.Timeout schedule(long ticks, Runnable task) {
+        return timerWheel.schedule(ticks, task);
+    }
+
+    public void assignTickShard(int tickShard) {
+        this.tickShard = tickShard;
+    }
+
     public void incrementTick() {
         this.currentTick++;
     }
 
+    /**
+     * Publish the counters of the finished tick, only called by the tick thread
+     */
+    public void publishTickSnapshot() {
+        this.tickSnapshot = new TickSnapshot(this.currentTick, this.entityIndex.size(),
+            this.troopIndex.size(), this.towerIndex.size(), this.goldMineIndex.size());
+    }
+
     public void decreaseNumSlotsAlive() {
         if (this.numSlotsAlive > 0) {
             this.numSlotsAlive--;
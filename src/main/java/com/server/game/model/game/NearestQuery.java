@@ -0,0 +1,80 @@
+package com.server.game.model.game;
+
+import com.server.game.model.map.component.Vector2;
+
+/**
+ * Nearest entity queries against the SpatialIndex of a game.
+ *
+ * The cells are searched ring by ring around the cell of the origin, and the
+ * search stops as soon as no cell of the next ring can be closer than the best
+ * candidate found so far. The cost depends on the number of entities near the
+ * origin, not on the number of entities in the game.
+ */
+public final class NearestQuery {
+
+    private NearestQuery() {
+    }
+
+    /**
+     * Nearest alive entity of the given type, owned by another slot than the
+     * given one, whose position is at most maxDistance from the origin
+     * @return the entity, or null if there is none in range
+     */
+    public static <T extends Entity> T findNearestEnemy(GameState gameState, Vector2 origin,
+        float maxDistance, SlotState slotState, Class<T> type) {
+
+        SpatialIndex spatialIndex = gameState.getSpatialIndex();
+        float cellSize = spatialIndex.getCellSize();
+        int originRow = spatialIndex.toRow(origin.y());
+        int originCol = spatialIndex.toCol(origin.x());
+
+        int maxRing = Math.min((int) Math.ceil(maxDistance / cellSize) + 1,
+            Math.max(spatialIndex.getNRows(), spatialIndex.getNCols()));
+
+        T nearest = null;
+        float nearestDistance = maxDistance;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // The origin can be anywhere in its cell, so every cell of this ring
+            // is at least (ring - 1) cells away from it
+            if (nearest != null && (ring - 1) * cellSize > nearestDistance) {
+                break;
+            }
+
+            int minRow = originRow - ring;
+            int maxRow = originRow + ring;
+            int minCol = originCol - ring;
+            int maxCol = originCol + ring;
+
+            for (int row = Math.max(minRow, 0); row <= Math.min(maxRow, spatialIndex.getNRows() - 1); row++) {
+                // Full first and last rows, only both ends of the rows in between
+                boolean edgeRow = row == minRow || row == maxRow;
+                int colStep = edgeRow ? 1 : Math.max(maxCol - minCol, 1);
+
+                for (int col = minCol; col <= maxCol; col += colStep) {
+                    if (col < 0 || col >= spatialIndex.getNCols()) {
+                        continue;
+                    }
+
+                    int cell = spatialIndex.toCell(row, col);
+                    for (int h = spatialIndex.first(cell); h != -1; h = spatialIndex.next(h)) {
+                        Entity entity = spatialIndex.entityAt(h);
+                        if (!type.isInstance(entity)
+                            || !entity.isAlive()
+                            || entity.getOwnerSlot() == null
+                            || slotState.equals(entity.getOwnerSlot())) {
+                            continue;
+                        }
+
+                        float distance = origin.distance(entity.getCurrentPosition());
+                        if (distance <= nearestDistance && (nearest == null || distance < nearestDistance)) {
+                            nearest = type.cast(entity);
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,96 @@
+package com.server.game.model.game;
+
+import java.util.List;
+
+import com.server.game.model.map.component.Vector2;
+import com.server.game.model.map.shape.CircleShape;
+import com.server.game.model.map.shape.RectShape;
+import com.server.game.model.map.shape.Shape;
+
+/**
+ * Range queries of a shape against the SpatialIndex of a game.
+ *
+ * The cells covered by the bounding box of the shape are walked directly,
+ * and each entity is tested with its exact position. The results go to a
+ * buffer owned by the caller, so a query allocates nothing once the buffer
+ * has grown to its working size.
+ */
+public final class ShapeQuery {
+
+    public enum TeamFilter {
+        ALL,
+        // Entities not owned by the given slot (neutral ones included)
+        ENEMIES,
+        // Entities owned by the given slot
+        ALLIES;
+
+        public boolean accepts(Entity entity, SlotState slotState) {
+            return switch (this) {
+                case ALL -> true;
+                case ENEMIES -> !slotState.equals(entity.getOwnerSlot());
+                case ALLIES -> slotState.equals(entity.getOwnerSlot());
+            };
+        }
+    }
+
+    private ShapeQuery() {
+    }
+
+    /**
+     * Clear the output buffer and fill it with the entities of the given type
+     * whose position is inside the shape and which pass the team filter
+     * @param slotState the slot the team filter is relative to, ignored for ALL
+     * @return the number of entities found
+     */
+    public static <T> int query(GameState gameState, Shape shape, SlotState slotState,
+        TeamFilter teamFilter, Class<T> type, List<? super T> out) {
+
+        out.clear();
+        if (shape == null || shape.getCenter() == null) {
+            return 0;
+        }
+
+        SpatialIndex spatialIndex = gameState.getSpatialIndex();
+        Vector2 center = shape.getCenter();
+        float halfX;
+        float halfY;
+        if (shape instanceof RectShape rect) {
+            // Bounding box of the rotated rectangle
+            Vector2 dir = rect.getDirection();
+            float halfLength = rect.getLength() / 2;
+            float halfWidth = rect.getWidth() / 2;
+            halfX = Math.abs(dir.x()) * halfLength + Math.abs(dir.y()) * halfWidth;
+            halfY = Math.abs(dir.y()) * halfLength + Math.abs(dir.x()) * halfWidth;
+        } else if (shape instanceof CircleShape circle) {
+            halfX = circle.getRadius();
+            halfY = circle.getRadius();
+        } else {
+            halfX = shape.getBoundingRadius();
+            halfY = shape.getBoundingRadius();
+        }
+
+        // Rows grow downward (the Y axis is flipped)
+        int minRow = spatialIndex.toRow(center.y() + halfY);
+        int maxRow = spatialIndex.toRow(center.y() - halfY);
+        int minCol = spatialIndex.toCol(center.x() - halfX);
+        int maxCol = spatialIndex.toCol(center.x() + halfX);
+
+        int count = 0;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = spatialIndex.toCell(row, col);
+                for (int h = spatialIndex.first(cell); h != -1; h = spatialIndex.next(h)) {
+                    Entity entity = spatialIndex.entityAt(h);
+                    if (!type.isInstance(entity)
+                        || !teamFilter.accepts(entity, slotState)
+                        || !shape.contains(entity.getCurrentPosition())) {
+                        continue;
+                    }
+                    out.add(type.cast(entity));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
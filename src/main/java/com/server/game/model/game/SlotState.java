@@ -1,11 +1,16 @@
 package com.server.game.model.game;
 
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import com.server.game.model.game.building.Burg;
 import com.server.game.model.game.building.Tower;
 import com.server.game.model.game.component.GoldComponent;
+import com.server.game.model.game.timer.TimerWheel;
+import com.server.game.util.TroopEnum;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -42,6 +47,15 @@ public class SlotState {
 
     final Set<Troop> troops;
 
+    // Every entity owned by this slot, kept up to date by GameState.addEntity / removeEntity
+    final EntityIndex<Entity> ownedEntities = new EntityIndex<>(Entity[]::new);
+
+    // Timers on the game's timer wheel
+    TimerWheel.Timeout pendingRespawn;
+    final Map<TroopEnum, TimerWheel.Timeout> troopSpawnCooldowns = new EnumMap<>(TroopEnum.class);
+    // Deadline tick of the last spawn cooldown by TroopEnum ordinal, readable from any thread
+    final AtomicLongArray troopSpawnCooldownDeadlines = new AtomicLongArray(TroopEnum.values().length);
+
     public SlotState(GameState gameState, Short slot, Champion champion, Set<Tower> towers, Burg bug, Integer initialGold) {
         this.gameState = gameState;
         this.slot = slot;
@@ -50,6 +64,7 @@ public class SlotState {
         this.burg = bug;
         this.goldComponent = new GoldComponent(initialGold);
         this.troops = new HashSet<>();
+        this.pendingRespawn = null;
     }
 
     public void addTroop(Troop troop) {
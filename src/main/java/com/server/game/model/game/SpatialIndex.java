@@ -0,0 +1,229 @@
+package com.server.game.model.game;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.server.game.model.map.component.Vector2;
+import com.server.game.resource.model.GameMapGrid;
+
+/**
+ * Uniform grid over the cells of the map, each cell holds an intrusive
+ * linked list of the entities standing in it.
+ *
+ * Every entity in the index gets a handle, the lists are stored in int
+ * arrays indexed by cell (head) and by handle (next, prev, cell), so moving
+ * an entity from one cell to another is a few array writes and a move that
+ * stays in the same cell is a no-op. Queries walk the lists and never allocate.
+ *
+ * Only touched by the tick thread of the game, like the other entity maps.
+ */
+public class SpatialIndex {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int nRows;
+    private final int nCols;
+    private final float originX;
+    private final float originY;
+    private final float cellSize;
+
+    // cell -> first handle in the cell
+    private final int[] cellHead;
+
+    // handle -> entity, links and cell
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int[] prev = new int[INITIAL_CAPACITY];
+    private int[] cellOf = new int[INITIAL_CAPACITY];
+
+    // Released handles are chained through next
+    private int freeHead = NONE;
+    private int numHandles = 0;
+    private int size = 0;
+
+
+    public SpatialIndex(GameMapGrid gameMapGrid) {
+        this.nRows = gameMapGrid.getNRows();
+        this.nCols = gameMapGrid.getNCols();
+        this.originX = gameMapGrid.getOrigin().x();
+        this.originY = gameMapGrid.getOrigin().y();
+        this.cellSize = gameMapGrid.getCellSize();
+
+        this.cellHead = new int[nRows * nCols];
+        Arrays.fill(cellHead, NONE);
+    }
+
+    public int getNRows() {
+        return nRows;
+    }
+
+    public int getNCols() {
+        return nCols;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Same cell as GameState.toGridCell, encoded as row * nCols + col
+     */
+    public int toCell(Vector2 position) {
+        return toCell(toRow(position.y()), toCol(position.x()));
+    }
+
+    public int toCell(int row, int col) {
+        return row * nCols + col;
+    }
+
+    public int toRow(float y) {
+        int row = (int) ((originY - y) / cellSize); // flip Y axis
+        return Math.max(0, Math.min(row, nRows - 1));
+    }
+
+    public int toCol(float x) {
+        int col = (int) ((x - originX) / cellSize);
+        return Math.max(0, Math.min(col, nCols - 1));
+    }
+
+    public void insert(Entity entity) {
+        if (entity.spatialHandle != NONE) {
+            update(entity);
+            return;
+        }
+
+        int handle = allocateHandle();
+        entities[handle] = entity;
+        entity.spatialHandle = handle;
+        link(handle, toCell(entity.getCurrentPosition()));
+        size++;
+    }
+
+    public void remove(Entity entity) {
+        int handle = entity.spatialHandle;
+        if (handle == NONE || entities[handle] != entity) {
+            return;
+        }
+
+        unlink(handle);
+        entities[handle] = null;
+        entity.spatialHandle = NONE;
+
+        next[handle] = freeHead;
+        freeHead = handle;
+        size--;
+    }
+
+    /**
+     * Move the entity to the cell of its current position
+     * @return true if the entity changed cell
+     */
+    public boolean update(Entity entity) {
+        int handle = entity.spatialHandle;
+        if (handle == NONE || entities[handle] != entity) {
+            return false;
+        }
+
+        int newCell = toCell(entity.getCurrentPosition());
+        if (newCell == cellOf[handle]) {
+            return false;
+        }
+
+        unlink(handle);
+        link(handle, newCell);
+        return true;
+    }
+
+    public boolean contains(Entity entity) {
+        int handle = entity.spatialHandle;
+        return handle != NONE && entities[handle] == entity;
+    }
+
+    /**
+     * Walk a cell with:
+     *   for (int h = index.first(cell); h != -1; h = index.next(h)) index.entityAt(h)
+     */
+    public int first(int cell) {
+        return cellHead[cell];
+    }
+
+    public int next(int handle) {
+        return next[handle];
+    }
+
+    public Entity entityAt(int handle) {
+        return entities[handle];
+    }
+
+    /**
+     * Add the entities of all cells in the given row and column range (inclusive,
+     * clamped to the grid) to the output collection
+     * @return the number of entities added
+     */
+    public int collect(int minRow, int maxRow, int minCol, int maxCol, Collection<? super Entity> out) {
+        minRow = Math.max(minRow, 0);
+        maxRow = Math.min(maxRow, nRows - 1);
+        minCol = Math.max(minCol, 0);
+        maxCol = Math.min(maxCol, nCols - 1);
+
+        int count = 0;
+        for (int row = minRow; row <= maxRow; row++) {
+            int cell = row * nCols + minCol;
+            for (int col = minCol; col <= maxCol; col++, cell++) {
+                for (int h = cellHead[cell]; h != NONE; h = next[h]) {
+                    out.add(entities[h]);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+
+    private void link(int handle, int cell) {
+        int head = cellHead[cell];
+        next[handle] = head;
+        prev[handle] = NONE;
+        if (head != NONE) {
+            prev[head] = handle;
+        }
+        cellHead[cell] = handle;
+        cellOf[handle] = cell;
+    }
+
+    private void unlink(int handle) {
+        int p = prev[handle];
+        int n = next[handle];
+        if (p != NONE) {
+            next[p] = n;
+        } else {
+            cellHead[cellOf[handle]] = n;
+        }
+        if (n != NONE) {
+            prev[n] = p;
+        }
+        cellOf[handle] = NONE;
+    }
+
+    private int allocateHandle() {
+        if (freeHead != NONE) {
+            int handle = freeHead;
+            freeHead = next[handle];
+            return handle;
+        }
+
+        if (numHandles == entities.length) {
+            int capacity = entities.length * 2;
+            entities = Arrays.copyOf(entities, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            cellOf = Arrays.copyOf(cellOf, capacity);
+        }
+        return numHandles++;
+    }
+}
@@ -0,0 +1,46 @@
+package com.server.game.model.game;
+
+import com.server.game.util.LatencyHistogram;
+
+/**
+ * Per-phase timing of the game tick, one histogram per phase in nanoseconds.
+ * Only written by the tick shard thread of the game.
+ */
+public class TickProfiler {
+
+    public enum Phase {
+        TIMERS,
+        COMMANDS,
+        ATTACKS,
+        TROOP_DEATHS,
+        POSITIONS,
+        DURATION_SKILLS,
+        GOLD_MINE,
+        REPLICATION,
+        SLOW_LOOP,
+        TICK // whole tick
+    }
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+
+    public TickProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Record the time spent in a phase since startNanos
+     * @return the current time, to be used as the start of the next phase
+     */
+    public long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - startNanos);
+        return now;
+    }
+
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+}
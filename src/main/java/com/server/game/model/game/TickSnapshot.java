@@ -0,0 +1,20 @@
+package com.server.game.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Counters of one game published by its tick thread at the end of each tick,
+ * so Netty and HTTP threads can read them without touching the tick-owned collections.
+ */
+@Getter
+@AllArgsConstructor
+public class TickSnapshot {
+    public static final TickSnapshot EMPTY = new TickSnapshot(0, 0, 0, 0, 0);
+
+    private final long tick;
+    private final int numEntities;
+    private final int numTroops;
+    private final int numTowers;
+    private final int numGoldMines;
+}
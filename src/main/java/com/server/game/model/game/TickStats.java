@@ -0,0 +1,46 @@
+package com.server.game.model.game;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Tick timing of one game, measured against the absolute tick deadlines.
+ * Only written by the tick shard thread of the game.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TickStats {
+    long ticks = 0;
+
+    // Ticks which finished after the deadline of the next tick
+    long overrunCount = 0;
+
+    // Ticks dropped because the shard fell too far behind
+    long skippedTicks = 0;
+
+    long lastLatenessNanos = 0;
+    long maxLatenessNanos = 0;
+    long totalLatenessNanos = 0;
+
+
+    public void recordTick(long latenessNanos, long finishedLateNanos) {
+        this.ticks++;
+        this.lastLatenessNanos = latenessNanos;
+        this.totalLatenessNanos += latenessNanos;
+        if (latenessNanos > this.maxLatenessNanos) {
+            this.maxLatenessNanos = latenessNanos;
+        }
+        if (finishedLateNanos > 0) {
+            this.overrunCount++;
+        }
+    }
+
+    public void recordSkippedTicks(long numTicks) {
+        this.skippedTicks += numTicks;
+    }
+
+    public long getAverageLatenessNanos() {
+        return ticks == 0 ? 0 : totalLatenessNanos / ticks;
+    }
+}
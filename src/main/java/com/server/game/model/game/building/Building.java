@@ -26,6 +26,8 @@ public abstract class Building extends DependentEntity implements HasFixedPositi
     final float width;
     final float length;
     final float rotate;
+    // Half of the diagonal, computed once for distanceTo
+    final float boundingRadius;
 
     final Integer defense;
 
@@ -47,6 +49,7 @@ public abstract class Building extends DependentEntity implements HasFixedPositi
         this.width = width;
         this.length = length;
         this.rotate = rotate;
+        this.boundingRadius = (float) Math.sqrt(width * width + length * length) / 2f;
 
         this.healthComponent = new HealthComponent(hp);
 
@@ -90,11 +90,9 @@ public final class Burg extends Building {
         List<String> removedEntityIds = new ArrayList<>();
         List<Entity> entitiesToRemove = new ArrayList<>();
 
-        for(Entity entity : gameState.getEntities()) {
-            if (ownerSlot.equals(entity.getOwnerSlot())) {
-                removedEntityIds.add(entity.getStringId());
-                entitiesToRemove.add(entity);
-            }
+        for(Entity entity : ownerSlot.getOwnedEntities().snapshot()) {
+            removedEntityIds.add(entity.getStringId());
+            entitiesToRemove.add(entity);
         }
 
         this.getGameStateService().sendEntitiesRemoved(
@@ -1,6 +1,7 @@
 package com.server.game.model.game.championSkill;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.server.game.model.game.Champion;
 import com.server.game.model.game.component.skillComponent.SkillComponent;
@@ -19,6 +20,9 @@ public class ArcherSkill extends SkillComponent {
     private static final float ARCHER_LENGTH = 12.0f;
     private static final float ARCHER_WIDTH = 4.0f;
 
+    // Reused by every hit test of this skill
+    private final List<SkillReceivable> hitEntities = new ArrayList<>();
+
     public ArcherSkill(Champion owner, ChampionAbility ability) {
         super(owner, ability);
     }
@@ -64,20 +68,19 @@ public class ArcherSkill extends SkillComponent {
 
         this.getCastSkillContext().addSkillDamage(this.getDamage());
 
-        Set<SkillReceivable> hitEntities = this.getSkillOwner().getGameStateService()
+        this.getSkillOwner().getGameStateService()
             .getSkillReceivableEnemiesInScope(
                 this.getSkillOwner().getGameState(),
-                hitbox, this.getSkillOwner().getOwnerSlot());
+                hitbox, this.getSkillOwner().getOwnerSlot(), hitEntities);
 
         log.info("{} hit {} entities in range for champion: {}",
             this.getClass().getSimpleName(), hitEntities.size(),
             this.getSkillOwner().getName());
 
-        hitEntities.stream()
-            .forEach(entity -> {
-                this.getCastSkillContext().setTarget(entity);
-                entity.receiveSkillDamage(this.getCastSkillContext());
-            });
+        for (SkillReceivable entity : hitEntities) {
+            this.getCastSkillContext().setTarget(entity);
+            entity.receiveSkillDamage(this.getCastSkillContext());
+        }
 
         return true;
     }
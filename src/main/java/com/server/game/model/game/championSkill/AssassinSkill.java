@@ -1,6 +1,7 @@
 package com.server.game.model.game.championSkill;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.server.game.model.game.Champion;
 import com.server.game.model.game.component.skillComponent.SkillComponent;
@@ -18,6 +19,9 @@ public class AssassinSkill extends SkillComponent {
     private static final float DASH_LENGTH = 8.0f;
     private static final float DASH_WIDTH = 5.0f;
 
+    // Reused by every hit test of this skill
+    private final List<SkillReceivable> hitEntities = new ArrayList<>();
+
     public AssassinSkill(Champion owner, ChampionAbility ability) {
         super(owner, ability);
     }
@@ -81,19 +85,18 @@ public class AssassinSkill extends SkillComponent {
 
         this.getCastSkillContext().addSkillDamage(this.getDamage());
 
-        Set<SkillReceivable> hitEntities = this.getSkillOwner().getGameStateService()
+        this.getSkillOwner().getGameStateService()
             .getSkillReceivableEnemiesInScope(
                 this.getSkillOwner().getGameState(),
-                hitbox, this.getSkillOwner().getOwnerSlot());
+                hitbox, this.getSkillOwner().getOwnerSlot(), hitEntities);
 
         log.info("{} hit {} entities in range for champion: {}",
             this.getClass().getSimpleName(), hitEntities.size(), this.getSkillOwner().getName());
 
-        hitEntities.stream()
-            .forEach(entity -> {
-                this.getCastSkillContext().setTarget(entity);
-                entity.receiveSkillDamage(this.getCastSkillContext());
-            });
+        for (SkillReceivable entity : hitEntities) {
+            this.getCastSkillContext().setTarget(entity);
+            entity.receiveSkillDamage(this.getCastSkillContext());
+        }
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.server.game.model.game.championSkill;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.server.game.model.game.Champion;
 import com.server.game.model.map.component.Vector2;
@@ -36,6 +37,9 @@ public final class MageSkill extends DurationSkillComponent {
         HITBOX_LENGTH / (Util.seconds2GameTick(DURATION_SECONDS)); // distance per tick
 
     MageHitbox hitbox = null;
+
+    // Reused by every hit test of this skill
+    final List<SkillReceivable> hitEntities = new ArrayList<>();
     
 
     public MageSkill(Champion owner, ChampionAbility ability) {
@@ -97,19 +101,18 @@ public final class MageSkill extends DurationSkillComponent {
         this.getCastSkillContext().addSkillDamage(
                 this.getDamagePerIntervalSeconds());
 
-        Set<SkillReceivable> hitEntities = this.getSkillOwner().getGameStateService()
+        this.getSkillOwner().getGameStateService()
             .getSkillReceivableEnemiesInScope(
                 this.getSkillOwner().getGameState(),
-                hitBoxShape, this.getSkillOwner().getOwnerSlot());
+                hitBoxShape, this.getSkillOwner().getOwnerSlot(), hitEntities);
             
         log.info("MageSkill hit {} entities in range at tick for champion: {}", 
             hitEntities.size(), this.getSkillOwner().getName());
 
-        hitEntities.stream()
-            .forEach(hitEntity -> {
-                this.getCastSkillContext().setTarget(hitEntity);
-                hitEntity.receiveSkillDamage(this.getCastSkillContext());
-            });
+        for (SkillReceivable hitEntity : hitEntities) {
+            this.getCastSkillContext().setTarget(hitEntity);
+            hitEntity.receiveSkillDamage(this.getCastSkillContext());
+        }
 
         return true;   
     }
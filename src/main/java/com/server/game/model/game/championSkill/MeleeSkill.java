@@ -1,6 +1,7 @@
 package com.server.game.model.game.championSkill;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.server.game.model.game.Champion;
 import com.server.game.model.game.component.skillComponent.DurationSkillComponent;
@@ -17,6 +18,9 @@ public class MeleeSkill extends DurationSkillComponent {
 
     private static final float DAMAGE_RADIUS = 3.0f;
 
+    // Reused by every hit test of this skill
+    private final List<SkillReceivable> hitEntities = new ArrayList<>();
+
     public MeleeSkill(Champion owner, ChampionAbility ability) {
         super(owner, ability, 3.5f, .5f);
     }
@@ -60,19 +64,18 @@ public class MeleeSkill extends DurationSkillComponent {
 
         this.getCastSkillContext().addSkillDamage(this.getDamageAtTick());
 
-        Set<SkillReceivable> hitEntities = this.getSkillOwner().getGameStateService()
+        this.getSkillOwner().getGameStateService()
             .getSkillReceivableEnemiesInScope(
                 this.getSkillOwner().getGameState(),
-                hitBox, this.getSkillOwner().getOwnerSlot());
+                hitBox, this.getSkillOwner().getOwnerSlot(), hitEntities);
             
         log.info("MeleeSkill hit {} entities in range for champion: {}", 
             hitEntities.size(), this.getSkillOwner().getName());
 
-        hitEntities.stream()
-            .forEach(entity -> {
-                this.getCastSkillContext().setTarget(entity);
-                entity.receiveSkillDamage(this.getCastSkillContext());
-            });
+        for (SkillReceivable entity : hitEntities) {
+            this.getCastSkillContext().setTarget(entity);
+            entity.receiveSkillDamage(this.getCastSkillContext());
+        }
 
         return true;
     }
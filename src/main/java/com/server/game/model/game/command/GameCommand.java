@@ -0,0 +1,33 @@
+package com.server.game.model.game.command;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A player request that mutates the game state.
+ * Commands are queued from any thread and only executed by the tick thread of the game.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GameCommand {
+
+    public enum Type {
+        MOVE,
+        ATTACK,
+        CAST_SKILL,
+        TROOP_SPAWN,
+        // Result of an asynchronous path search, see AsyncPathfinder
+        PATH_RESULT
+    }
+
+    Type type;
+
+    // Commands of the same type for the same entity replace each other within a tick,
+    // null means the command is never coalesced
+    String entityId;
+
+    Runnable action;
+}
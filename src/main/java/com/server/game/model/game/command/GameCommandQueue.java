@@ -0,0 +1,117 @@
+package com.server.game.model.game.command;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lock-free multi-producer single-consumer queue of game commands.
+ * Netty threads (and timers) offer commands, the tick thread of the game drains them
+ * at the start of each tick, so the game state has a single writer.
+ */
+@Slf4j
+public class GameCommandQueue {
+
+    // Producers swap the head, the consumer follows the links from the tail
+    private final AtomicReference<Node> head;
+    private Node tail;
+
+    // Reused by the consumer on every drain
+    private final List<GameCommand> drained = new ArrayList<>();
+    private final Map<GameCommand.Type, Set<String>> seenEntityIds = new EnumMap<>(GameCommand.Type.class);
+
+
+    public GameCommandQueue() {
+        Node stub = new Node(null);
+        this.head = new AtomicReference<>(stub);
+        this.tail = stub;
+
+        for (GameCommand.Type type : GameCommand.Type.values()) {
+            seenEntityIds.put(type, new HashSet<>());
+        }
+    }
+
+    /**
+     * Can be called from any thread
+     */
+    public void offer(GameCommand command) {
+        Node node = new Node(command);
+        Node previous = head.getAndSet(node);
+        previous.next = node;
+    }
+
+    /**
+     * Tick thread only
+     */
+    private GameCommand poll() {
+        Node next = tail.next;
+        if (next == null) {
+            return null;
+        }
+        GameCommand command = next.command;
+        next.command = null;
+        tail = next;
+        return command;
+    }
+
+    /**
+     * Execute all queued commands in arrival order, tick thread only.
+     * When an entity has several commands of the same type, only the latest one is executed.
+     * @return number of executed commands
+     */
+    public int drain() {
+        GameCommand command;
+        while ((command = poll()) != null) {
+            drained.add(command);
+        }
+
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        // Walk backwards so the latest command of each (type, entity) wins
+        for (int i = drained.size() - 1; i >= 0; i--) {
+            GameCommand current = drained.get(i);
+            if (current.getEntityId() != null
+                && !seenEntityIds.get(current.getType()).add(current.getEntityId())) {
+                drained.set(i, null);
+            }
+        }
+
+        int executed = 0;
+        for (int i = 0; i < drained.size(); i++) {
+            GameCommand current = drained.get(i);
+            if (current == null) {
+                continue;
+            }
+            try {
+                current.getAction().run();
+                executed++;
+            } catch (Exception e) {
+                log.error("Error executing {} command for entity {}", current.getType(), current.getEntityId(), e);
+            }
+        }
+
+        drained.clear();
+        for (Set<String> seen : seenEntityIds.values()) {
+            seen.clear();
+        }
+        return executed;
+    }
+
+
+    private static class Node {
+        GameCommand command;
+        volatile Node next;
+
+        Node(GameCommand command) {
+            this.command = command;
+        }
+    }
+}
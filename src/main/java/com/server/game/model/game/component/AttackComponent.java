@@ -100,8 +100,7 @@ public class AttackComponent {
 
         
         if (!this.inAttackRange()) {
-            owner.getGameStateService().setMove(
-                this.owner, ctx.getTarget().getCurrentPosition());
+            owner.getGameStateService().setChase(this.owner, ctx.getTarget());
             return false;
         }
 
@@ -45,21 +45,23 @@ public class MovingComponent {
         long currentTick = this.owner.getGameState().getCurrentTick();
 
         if (isForced) {
-            this.moveContext = moveContext;
+            this.replaceMoveContext(moveContext);
             // lastAcceptedMoveRequestTick = currentTick;
             return true;
         }
 
         if (currentTick - lastAcceptedMoveRequestTick < MIN_UPDATE_INTERVAL_TICK) {
+            cancelPathRequest(moveContext);
             return false;
         }
 
         if (this.owner.isCastingDurationSkill() && !this.owner.canPerformSkillWhileMoving()) {
             log.info("Cannot set move context while casting skill, skipping.");
+            cancelPathRequest(moveContext);
             return false; // Cannot set move context while casting skill
         }
 
-        this.moveContext = moveContext;
+        this.replaceMoveContext(moveContext);
 
         lastAcceptedMoveRequestTick = currentTick;
 
@@ -67,6 +69,27 @@ public class MovingComponent {
     }
 
 
+    /**
+     * The replaced context's pending search is cancelled, a new context whose
+     * path is still pending keeps the heading of the replaced one
+     */
+    private void replaceMoveContext(@Nullable MoveContext newMoveContext) {
+        MoveContext previous = this.moveContext;
+        if (previous != null && previous != newMoveContext) {
+            previous.cancelPathRequest();
+            if (newMoveContext != null) {
+                newMoveContext.keepHeadingOf(previous);
+            }
+        }
+        this.moveContext = newMoveContext;
+    }
+
+    private static void cancelPathRequest(@Nullable MoveContext rejected) {
+        if (rejected != null) {
+            rejected.cancelPathRequest();
+        }
+    }
+
     public void toggleInPlaygroundFlag(){
         this.inPlayground = !this.inPlayground;
     }
@@ -75,7 +98,7 @@ public class MovingComponent {
         return this.moveContext != null;
     }
 
-    public void setStop() { this.moveContext = null; }
+    public void setStop() { this.replaceMoveContext(null); }
 
     public void setCurrentPosition(Vector2 newPosition) {
         owner.beforeUpdatePosition();
@@ -98,7 +121,7 @@ public class MovingComponent {
         boolean moved = this.performMove();
         if (moved) {
             this.owner.getGameStateService()
-                .sendPositionUpdate(this.owner.getGameState(), this.owner);
+                .queuePositionUpdate(this.owner.getGameState(), this.owner);
         }
         return moved;
     }
@@ -138,7 +161,8 @@ public class MovingComponent {
             }
         }
 
-        if (!this.moveContext.getPath().hasNext()) {
+        // A context waiting for its path stays until the path arrives
+        if (!this.moveContext.getPath().hasNext() && !this.moveContext.isPathPending()) {
             this.moveContext = null;
         }
         
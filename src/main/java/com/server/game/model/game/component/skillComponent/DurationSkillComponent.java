@@ -2,6 +2,7 @@ package com.server.game.model.game.component.skillComponent;
 import org.springframework.stereotype.Component;
 
 import com.server.game.model.game.Champion;
+import com.server.game.model.game.timer.TimerWheel;
 import com.server.game.resource.model.ChampionDB.ChampionAbility;
 import com.server.game.util.Util;
 
@@ -25,6 +26,8 @@ public abstract class DurationSkillComponent extends SkillComponent {
 
     protected boolean isActive = false;           // Skill đang hoạt động hay không
 
+    protected TimerWheel.Timeout expiryTimeout = null; // Kết thúc skill trên timer wheel của game
+
     public DurationSkillComponent(Champion owner, ChampionAbility ability,
         float durationSeconds, float damageIntervalSeconds) {
         super(owner, ability);
@@ -37,11 +40,20 @@ public abstract class DurationSkillComponent extends SkillComponent {
     protected final boolean doUse() {
         long currentTick = this.getCastSkillContext().getCurrentTick();
 
+        long durationTicks = Util.seconds2GameTick(DURATION_SECONDS);
+
         this.startTick = currentTick;
-        this.endTick = startTick + Util.seconds2GameTick(DURATION_SECONDS);
+        this.endTick = startTick + durationTicks;
         this.nextDamageTick = this.startTick; // Get damage immediately
 
-        this.isActive = true; // Mark skill as active
+        this.isActive = durationTicks > 0; // Mark skill as active
+
+        if (this.expiryTimeout != null) {
+            this.expiryTimeout.cancel();
+        }
+        this.expiryTimeout = this.isActive
+            ? this.skillOwner.getGameState().schedule(durationTicks, this::expire)
+            : null;
 
         this.getCastSkillContext().setSkillLength(DURATION_SECONDS);
         this.getSkillOwner().getGameStateService()
@@ -84,13 +96,6 @@ public abstract class DurationSkillComponent extends SkillComponent {
 
         long currentTick = this.getCastSkillContext().getCurrentTick();
 
-        // Kết thúc skill
-        if (currentTick >= endTick) {
-            log.info("Skill ended for champion: {}", this.getSkillOwner().getName());
-            this.isActive = false; // Mark skill as inactive
-            return false;
-        }
-
         if (currentTick < nextDamageTick) {
             // Skill is still active, but no damage this tick
             log.info("Skill: not in damage tick, current tick: {}, nextDamageTick: {}", 
@@ -107,6 +112,13 @@ public abstract class DurationSkillComponent extends SkillComponent {
         return true;
     }
 
+    // Kết thúc skill, called by the timer wheel at endTick
+    private void expire() {
+        log.info("Skill ended for champion: {}", this.getSkillOwner().getName());
+        this.isActive = false; // Mark skill as inactive
+        this.expiryTimeout = null;
+    }
+
     // Optional methods to be overridden by subclasses
     protected void doUpdatePerTick() {}
     protected abstract boolean performAtCorrectTick(); // Nếu có skill cần xử lý theo thời gian
@@ -11,11 +11,17 @@ import com.server.game.model.game.GameState;
 import com.server.game.model.map.component.GridCell;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.resource.model.GameMapGrid;
+import com.server.game.service.pathfinding.AsyncPathfinder;
+import com.server.game.util.ClusterGraph;
+import com.server.game.util.FlowField;
+import com.server.game.util.HpaStarPathfinder;
 import com.server.game.util.ThetaStarPathfinder;
 
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,6 +43,23 @@ public class MoveContext {
 
     @NotNull
     private Map<Object, Object> extraData = new HashMap<>(); 
+
+    // Waiting for the path of an asynchronous search, the mover keeps following
+    // the path of its previous MoveContext meanwhile
+    @Setter(AccessLevel.NONE)
+    private boolean pathPending = false;
+    // Set when this context is replaced, its pending search result is dropped
+    @Setter(AccessLevel.NONE)
+    private volatile boolean pathRequestCancelled = false;
+
+    // Entity chased by the mover, see followTarget
+    @Setter(AccessLevel.NONE) @Nullable
+    private Entity chaseTarget = null;
+
+    // The path is kept while the target stays within this many cells of the
+    // planned target cell, or within this fraction of the remaining distance
+    private static final int CHASE_MIN_DRIFT_CELLS = 2;
+    private static final float CHASE_DRIFT_RATIO = 0.25f;
     
 
     public MoveContext(
@@ -45,16 +68,159 @@ public class MoveContext {
         this.mover = mover;
         this.targetPoint = targetPoint;
         this.timestamp = timestamp;
-     
-        this.setPath(this.findPath());
+
+        this.requestPath();
         // log.info("Path found: {}", this.getPath().getPath().toString());
     }
 
+    /**
+     * Move along a shared flow field instead of a path of its own,
+     * falls back to a path search if the mover cannot reach the field's goal
+     */
+    public MoveContext(
+        GameState gameState, Entity mover, Vector2 targetPoint, long timestamp, @Nullable FlowField flowField) {
+        this.gameState = gameState;
+        this.mover = mover;
+        this.targetPoint = targetPoint;
+        this.timestamp = timestamp;
+
+        GridCell startCell = gameState.toGridCell(mover.getCurrentPosition());
+        if (flowField != null && flowField.isReachable(startCell)) {
+            this.path = new FlowPathComponent(flowField, startCell, gameState.toGridCell(targetPoint));
+        } else {
+            this.requestPath();
+        }
+    }
+
+    /**
+     * Search the path on the game's AsyncPathfinder, or here if it has none
+     */
+    private void requestPath() {
+        AsyncPathfinder asyncPathfinder = gameState.getAsyncPathfinder();
+        if (asyncPathfinder != null) {
+            this.path = new PathComponent(List.of());
+            this.pathPending = true;
+            asyncPathfinder.requestPath(this,
+                gameState.toGridCell(mover.getCurrentPosition()), gameState.toGridCell(targetPoint));
+        } else {
+            this.setPath(this.findPath());
+        }
+    }
+
+    /**
+     * Move towards the current position of the target and follow it, see followTarget
+     */
+    public static MoveContext chase(GameState gameState, Entity mover, Entity target, long timestamp) {
+        MoveContext ctx = new MoveContext(gameState, mover, target.getCurrentPosition(), timestamp);
+        ctx.chaseTarget = target;
+        return ctx;
+    }
+
+    /**
+     * Keep chasing the target without a new search, tick thread only.
+     *
+     * The path is kept while the target stays in a corridor around the planned
+     * target cell. Once it leaves, the path is repaired: cut after the first
+     * of the mover's cell and the remaining waypoints that sees the target,
+     * then straight to the target.
+     * @return false if the path cannot be repaired and a new search is needed
+     */
+    public boolean followTarget() {
+        if (chaseTarget == null) {
+            return false;
+        }
+        if (pathPending) {
+            return true; // the search result comes on a later tick
+        }
+
+        GameMapGrid grid = gameState.getGameMapGrid();
+        Vector2 targetPosition = chaseTarget.getCurrentPosition();
+        GridCell targetCell = gameState.toGridCell(targetPosition);
+        GridCell plannedCell = gameState.toGridCell(targetPoint);
+        GridCell moverCell = gameState.toGridCell(mover.getCurrentPosition());
+
+        if (path != null && path.hasNext()) {
+            int drift = cellDistance(targetCell, plannedCell);
+            int remaining = cellDistance(moverCell, targetCell);
+            if (drift <= Math.max(CHASE_MIN_DRIFT_CELLS, remaining * CHASE_DRIFT_RATIO)) {
+                return true;
+            }
+        }
+
+        List<GridCell> repaired = new ArrayList<>();
+        if (!ThetaStarPathfinder.hasLineOfSight(grid, moverCell, targetCell)) {
+            if (path == null || path instanceof FlowPathComponent) {
+                return false;
+            }
+            List<GridCell> waypoints = path.getPath();
+            int keep = -1;
+            for (int i = path.getIndex(); i < waypoints.size(); i++) {
+                if (ThetaStarPathfinder.hasLineOfSight(grid, waypoints.get(i), targetCell)) {
+                    keep = i;
+                    break;
+                }
+            }
+            if (keep < 0) {
+                return false;
+            }
+            repaired.addAll(waypoints.subList(path.getIndex(), keep + 1));
+        }
+        if (repaired.isEmpty() || !repaired.get(repaired.size() - 1).equals(targetCell)) {
+            repaired.add(targetCell);
+        }
+
+        this.targetPoint = targetPosition;
+        this.path = new PathComponent(repaired);
+        return true;
+    }
+
+    private static int cellDistance(GridCell a, GridCell b) {
+        return Math.max(Math.abs(a.r() - b.r()), Math.abs(a.c() - b.c()));
+    }
+
     public void setPath(List<GridCell> path) {
         this.path = new PathComponent(path);
         if (this.path.hasNext()) { this.path.popCurrentCell(); }
     }
 
+    /**
+     * Result of the asynchronous search, tick thread only.
+     * Dropped if this context is no longer the one of the mover.
+     *
+     * The search started from the mover's cell at request time and the mover
+     * kept following its previous path meanwhile. The start cell is only
+     * skipped if the next waypoint is in line of sight of the mover's current
+     * cell, otherwise the mover goes back through it.
+     */
+    public void applyPath(List<GridCell> path) {
+        if (pathRequestCancelled || !pathPending || mover.getMoveContext() != this) {
+            return;
+        }
+        if (path.isEmpty()) {
+            log.warn("Pathfinding failed for entity {}:{} to {}",
+                gameState.getGameId(), mover.getStringId(), targetPoint);
+        }
+        this.pathPending = false;
+        this.path = new PathComponent(path);
+        if (path.size() == 1 || (path.size() > 1 && ThetaStarPathfinder.hasLineOfSight(gameState.getGameMapGrid(),
+                gameState.toGridCell(mover.getCurrentPosition()), path.get(1)))) {
+            this.path.popCurrentCell();
+        }
+    }
+
+    /**
+     * While the path is pending, keep following the path of the replaced context
+     */
+    public void keepHeadingOf(MoveContext previous) {
+        if (pathPending && previous.path != null && previous.path.hasNext()) {
+            this.path = previous.path;
+        }
+    }
+
+    public void cancelPathRequest() {
+        this.pathRequestCancelled = true;
+    }
+
     public void addExtraData(Object key, Object value) {
         if (key == null || value == null) {
             throw new IllegalArgumentException("Key and value must not be null");
@@ -73,11 +239,10 @@ public class MoveContext {
     public List<GridCell> findPath() {
         GridCell startCell = gameState.toGridCell(mover.getCurrentPosition());
         GridCell targetCell = gameState.toGridCell(targetPoint);
-        GameMapGrid gameMapGrid = gameState.getGameMapGrid();
         // log.info("Setting move target for entity {}: from {} to {}", mover.getStringId(), mover.getCurrentPosition(), targetPoint);
         // log.info("Calculating path for entity {} from cell {} to cell {}", mover.getStringId(), startCell, targetCell);
 
-        List<GridCell> path = ThetaStarPathfinder.findPath(gameMapGrid, startCell, targetCell);
+        List<GridCell> path = computePath(gameState.getGameMapGrid(), gameState.getClusterGraph(), startCell, targetCell);
         if (path == null || path.isEmpty()) {
             log.warn("Pathfinding failed for entity {}:{} from {} to {}", 
                 gameState.getGameId(), mover.getStringId(), startCell, targetCell);
@@ -88,6 +253,18 @@ public class MoveContext {
 
         return path;
     }
+
+    /**
+     * HPA* if the map has a cluster graph, flat Theta* otherwise.
+     * Only reads immutable map data, safe on any thread.
+     */
+    public static List<GridCell> computePath(GameMapGrid gameMapGrid, @Nullable ClusterGraph clusterGraph,
+        GridCell startCell, GridCell targetCell) {
+
+        return clusterGraph != null
+            ? HpaStarPathfinder.findPath(clusterGraph, gameMapGrid, startCell, targetCell)
+            : ThetaStarPathfinder.findPath(gameMapGrid, startCell, targetCell);
+    }
     
 
 
@@ -141,5 +318,76 @@ public class MoveContext {
             return path.get(index++);
         }
     }
+
+    /**
+     * Path read step by step from a flow field. The mover follows the field
+     * until its own target is close and in line of sight, then goes straight
+     * to it. The field's goal is always in line of sight of the target, see
+     * FlowFieldService.
+     */
+    public static class FlowPathComponent extends PathComponent {
+        private final FlowField flowField;
+        private final GridCell targetCell;
+        @Nullable
+        private GridCell waypoint;
+
+        public FlowPathComponent(FlowField flowField, GridCell startCell, GridCell targetCell) {
+            super(List.of());
+            this.flowField = flowField;
+            this.targetCell = targetCell;
+            this.waypoint = advance(startCell);
+        }
+
+        private GridCell advance(GridCell from) {
+            if (from.equals(targetCell)) {
+                return null;
+            }
+            int distanceToTarget = Math.max(Math.abs(from.r() - targetCell.r()), Math.abs(from.c() - targetCell.c()));
+            if (flowField.isGoal(from)
+                || (distanceToTarget <= flowField.getGoalTolerance() && flowField.hasLineOfSight(from, targetCell))) {
+                return targetCell;
+            }
+            return flowField.nextWaypoint(from);
+        }
+
+        @Override
+        public int getIndex() {
+            return 0;
+        }
+
+        @Override
+        public int size() {
+            return waypoint != null ? 1 : 0;
+        }
+
+        @Override
+        public void clear() {
+            waypoint = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return waypoint != null;
+        }
+
+        @Override
+        public GridCell peekCurrentCell() {
+            return waypoint;
+        }
+
+        @Override
+        public void popCurrentCell() {
+            if (waypoint != null) {
+                waypoint = advance(waypoint);
+            }
+        }
+
+        @Override
+        public GridCell getNextCell() {
+            GridCell current = waypoint;
+            popCurrentCell();
+            return current;
+        }
+    }
     //****** END INNER CLASS *****//
 }
\ No newline at end of file
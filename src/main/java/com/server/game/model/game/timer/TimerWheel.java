@@ -0,0 +1,145 @@
+package com.server.game.model.game.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timing wheel driven by the game tick.
+ * Scheduling and cancelling are O(1), advancing one tick only looks at one bucket.
+ * Not thread safe, only used by the tick thread of the owning game.
+ */
+@Slf4j
+public class TimerWheel {
+
+    private static final int WHEEL_SIZE = 512; // must be a power of two, ~17s at 33ms per tick
+
+    private final Timeout[] buckets = new Timeout[WHEEL_SIZE];
+    private final int mask = WHEEL_SIZE - 1;
+
+    private long currentTick;
+    private int numPending = 0;
+
+    // Reused while advancing so that callbacks can schedule and cancel freely
+    private final List<Timeout> expired = new ArrayList<>();
+
+
+    public TimerWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Run the task after the given number of ticks (at least one)
+     */
+    public Timeout schedule(long delayTicks, Runnable task) {
+        Timeout timeout = new Timeout(currentTick + Math.max(1, delayTicks), task);
+        link(timeout);
+        numPending++;
+        return timeout;
+    }
+
+    /**
+     * Fire every timeout due up to and including the given tick
+     */
+    public void advance(long tick) {
+        while (currentTick < tick) {
+            currentTick++;
+
+            Timeout timeout = buckets[(int) (currentTick & mask)];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.deadlineTick <= currentTick) {
+                    unlink(timeout);
+                    numPending--;
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+
+            for (int i = 0; i < expired.size(); i++) {
+                expired.get(i).expire();
+            }
+            expired.clear();
+        }
+    }
+
+    public int getNumPending() {
+        return numPending;
+    }
+
+    private void link(Timeout timeout) {
+        int index = (int) (timeout.deadlineTick & mask);
+        timeout.next = buckets[index];
+        if (buckets[index] != null) {
+            buckets[index].prev = timeout;
+        }
+        buckets[index] = timeout;
+        timeout.linked = true;
+    }
+
+    private void unlink(Timeout timeout) {
+        int index = (int) (timeout.deadlineTick & mask);
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+    }
+
+
+    public final class Timeout {
+        private final long deadlineTick;
+        private Runnable task;
+        private Timeout prev;
+        private Timeout next;
+        private boolean linked = false;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * @return true if the task has not run and is not cancelled yet
+         */
+        public boolean isPending() {
+            return task != null;
+        }
+
+        public long getDeadlineTick() {
+            return deadlineTick;
+        }
+
+        public long getRemainingTicks() {
+            return isPending() ? Math.max(0, deadlineTick - currentTick) : 0;
+        }
+
+        public void cancel() {
+            if (linked) {
+                unlink(this);
+                numPending--;
+            }
+            task = null;
+        }
+
+        private void expire() {
+            Runnable toRun = task;
+            if (toRun == null) {
+                return; // Cancelled by an earlier callback of the same tick
+            }
+            task = null;
+            try {
+                toRun.run();
+            } catch (Exception e) {
+                log.error("Error running timer task due at tick {}", deadlineTick, e);
+            }
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.server.game.model.map.shape;
 
 import com.server.game.model.map.component.Vector2;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
+@Getter
 public class RectShape extends Shape {
     private float width;
     private float length;
@@ -32,13 +34,12 @@ public class RectShape extends Shape {
 
         // log.info("Point={}", point);
         
-        Vector2 toPoint = point.subtract(center); // vector từ center đến point
+        // vector từ center đến point, direction is already normalized
+        float toPointX = point.x() - center.x();
+        float toPointY = point.y() - center.y();
 
-        Vector2 dir = direction.normalize(); // trục chính
-        Vector2 perp = new Vector2(-dir.y(), dir.x()); // trục phụ (vuông góc)
-
-        float projLength = toPoint.dot(dir);  // chiếu lên trục chính
-        float projWidth  = toPoint.dot(perp); // chiếu lên trục phụ
+        float projLength = toPointX * direction.x() + toPointY * direction.y();  // chiếu lên trục chính
+        float projWidth  = -toPointX * direction.y() + toPointY * direction.x(); // chiếu lên trục phụ (vuông góc)
 
         return Math.abs(projLength) <= length / 2 && Math.abs(projWidth) <= width / 2;
     }
@@ -5,6 +5,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 
 import com.server.game.config.SpringContextHolder;
+import com.server.game.netty.tlv.interf4ce.TLVEncodable;
 import com.server.game.service.room.RoomRedisService;
 import com.server.game.service.scheduler.GameCleanupScheduler;
 import com.server.game.service.user.UserService;
@@ -26,6 +27,8 @@ public class ChannelManager {
 
     private static final Map<String, Channel> userChannels = new ConcurrentHashMap<>();
     private static final Map<String, Set<Channel>> gameChannels = new ConcurrentHashMap<>();
+    // Same channels as gameChannels, indexed by slot, for broadcasts
+    private static final Map<String, GameSession> gameSessions = new ConcurrentHashMap<>();
 
     private static final AttributeKey<String>  USER_ID     = AttributeKey.valueOf("USER_ID");
     private static final AttributeKey<String>  USERNAME    = AttributeKey.valueOf("USERNAME");
@@ -77,6 +80,7 @@ public class ChannelManager {
         // Add the channel to the gameChannels map
         gameChannels.computeIfAbsent(gameId, k -> ConcurrentHashMap.newKeySet())
                    .add(channel);
+        gameSessions.computeIfAbsent(gameId, GameSession::new).add(channel);
 
         log.info(">>> Registered channel for gameId: " + gameId + "\n\n");
     }
@@ -112,8 +116,13 @@ public class ChannelManager {
             }
 
             channels.remove(channel);
+            GameSession session = gameSessions.get(gameId);
+            if (session != null) {
+                session.remove(channel);
+            }
             if (channels.isEmpty()) {
                 gameChannels.remove(gameId); // Remove game entry if no channels left
+                gameSessions.remove(gameId);
                 //Remove the room from redis cache
                 RoomRedisService roomRedisService = SpringContextHolder.getBean(RoomRedisService.class);
                 roomRedisService.deleteById(gameId);
@@ -143,6 +152,24 @@ public class ChannelManager {
         return ChannelManager.getChannelsByGameId(gameId);
     }
 
+    public static GameSession getGameSession(String gameId) {
+        return gameId != null ? gameSessions.get(gameId) : null;
+    }
+
+    /**
+     * Encode the message once and write it to every channel of the game
+     * @return false if no channel is found for this gameId
+     */
+    public static boolean broadcastToGame(String gameId, TLVEncodable message) {
+        GameSession session = ChannelManager.getGameSession(gameId);
+        if (session == null || session.isEmpty()) {
+            log.info(">>> No channels found for gameId: " + gameId);
+            return false;
+        }
+        session.broadcast(message);
+        return true;
+    }
+
     public static Channel getAnyChannelByGameId(String gameId) {
         Set<Channel> channels = gameChannels.get(gameId);
         if (channels != null && !channels.isEmpty()) {
@@ -168,14 +195,10 @@ public class ChannelManager {
     }
 
     public static Channel getChannelByGameIdAndSlot(String gameId, short slot) {
-        Set<Channel> channels = ChannelManager.getChannelsByGameId(gameId);
-        if (channels != null) {
-            for (Channel channel : channels) {
-                Short channelSlot = ChannelManager.getSlotByChannel(channel);
-                if (channelSlot != null && channelSlot.equals(slot)) {
-                    return channel; // Return the first matching channel
-                }
-            }
+        GameSession session = ChannelManager.getGameSession(gameId);
+        Channel channel = session != null ? session.getChannel(slot) : null;
+        if (channel != null) {
+            return channel;
         }
         log.info(">>> No channel found for gameId: " + gameId + " and slot: " + slot);
         return null; // No matching channel found
@@ -288,6 +311,11 @@ public class ChannelManager {
 
     public static void setSlot2Channel(short slot, Channel channel) {
         channel.attr(SLOT).set(slot);
+
+        GameSession session = ChannelManager.getGameSession(channel.attr(GAME_ID).get());
+        if (session != null) {
+            session.setSlot(slot, channel);
+        }
     }
     
     public static void setChampionId2Channel(ChampionEnum championId, Channel channel) {
@@ -306,8 +334,14 @@ public class ChannelManager {
         if (gameChannels.containsKey(gameId)) {
             Set<Channel> channels = gameChannels.get(gameId);
             channels.removeIf(channel -> getSlotByChannel(channel) == slot);
+
+            GameSession session = gameSessions.get(gameId);
+            if (session != null && session.getChannel(slot) != null) {
+                session.remove(session.getChannel(slot));
+            }
             if (channels.isEmpty()) {
                 gameChannels.remove(gameId);
+                gameSessions.remove(gameId);
             }
         }
     }
@@ -319,6 +353,11 @@ public class ChannelManager {
             channels.forEach(channel -> {
                 channel.attr(SLOT).set(null);
             });
+
+            GameSession session = gameSessions.get(gameId);
+            if (session != null) {
+                session.clearSlots();
+            }
         }
     }
 
@@ -0,0 +1,126 @@
+package com.server.game.netty;
+
+import java.util.Arrays;
+
+import com.server.game.netty.tlv.codec.TLVEncoder;
+import com.server.game.netty.tlv.interf4ce.TLVEncodable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcast group of the channels of one game, indexed by slot.
+ *
+ * A broadcast encodes the message once into a pooled buffer and writes a
+ * retained duplicate of it to each active member, instead of going through
+ * the outbound pipeline of one member channel first.
+ *
+ * Members only change on join, slot assignment and leave, the arrays are
+ * copied on write so broadcasts from any thread read them without locking.
+ * Kept up to date by ChannelManager.
+ */
+@Slf4j
+public class GameSession {
+
+    @Getter
+    private final String gameId;
+    private volatile Channel[] members = new Channel[0];
+    // slot -> channel, null for a free slot
+    private volatile Channel[] slots = new Channel[0];
+
+
+    GameSession(String gameId) {
+        this.gameId = gameId;
+    }
+
+    synchronized void add(Channel channel) {
+        if (indexOf(members, channel) >= 0) {
+            return;
+        }
+        Channel[] updated = Arrays.copyOf(members, members.length + 1);
+        updated[members.length] = channel;
+        members = updated;
+    }
+
+    synchronized void remove(Channel channel) {
+        int index = indexOf(members, channel);
+        if (index < 0) {
+            return;
+        }
+        Channel[] updated = new Channel[members.length - 1];
+        System.arraycopy(members, 0, updated, 0, index);
+        System.arraycopy(members, index + 1, updated, index, members.length - index - 1);
+        members = updated;
+
+        int slot = indexOf(slots, channel);
+        if (slot >= 0) {
+            Channel[] updatedSlots = slots.clone();
+            updatedSlots[slot] = null;
+            slots = updatedSlots;
+        }
+    }
+
+    synchronized void setSlot(short slot, Channel channel) {
+        if (slot < 0) {
+            log.info(">>> Cannot set slot {} for gameId: {}", slot, gameId);
+            return;
+        }
+        Channel[] updated = Arrays.copyOf(slots, Math.max(slots.length, slot + 1));
+        int previous = indexOf(updated, channel);
+        if (previous >= 0) {
+            updated[previous] = null;
+        }
+        updated[slot] = channel;
+        slots = updated;
+    }
+
+    synchronized void clearSlots() {
+        slots = new Channel[0];
+    }
+
+    public Channel getChannel(short slot) {
+        Channel[] current = slots;
+        return slot >= 0 && slot < current.length ? current[slot] : null;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    public boolean isEmpty() {
+        return members.length == 0;
+    }
+
+    /**
+     * Encode the message once and write it to every active channel of the game,
+     * for messages sent to the whole match (AMatchBroadcastTarget)
+     */
+    public void broadcast(TLVEncodable message) {
+        Channel[] current = members;
+        if (current.length == 0) {
+            return;
+        }
+
+        ByteBuf encoded = TLVEncoder.object2ByteBuf(message, current[0].alloc());
+        try {
+            for (Channel channel : current) {
+                if (channel.isActive()) {
+                    channel.writeAndFlush(encoded.retainedDuplicate(), channel.voidPromise());
+                }
+            }
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private static int indexOf(Channel[] channels, Channel channel) {
+        for (int i = 0; i < channels.length; i++) {
+            if (channels[i] == channel) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
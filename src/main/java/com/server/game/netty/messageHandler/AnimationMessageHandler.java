@@ -9,7 +9,6 @@ import com.server.game.netty.ChannelManager;
 import com.server.game.netty.sendObject.CastSkillSend;
 import com.server.game.netty.sendObject.attack.AttackAnimationSend;
 
-import io.netty.channel.Channel;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -22,9 +21,7 @@ public class AnimationMessageHandler {
             // Create attack animation display message
             AttackAnimationSend attackAnimation = new AttackAnimationSend(ctx);
 
-            // Get any channel from the game to broadcast the animation
-            Channel channel = ChannelManager.getAnyChannelByGameId(ctx.getGameId());
-            channel.writeAndFlush(attackAnimation);
+            ChannelManager.broadcastToGame(ctx.getGameId(), attackAnimation);
             log.info("Sent AttackAnimationSend: " + attackAnimation);
         } catch (Exception e) {
             log.error("Exception in broadcastAttackerAnimation: " + e.getMessage());
@@ -42,9 +39,7 @@ public class AnimationMessageHandler {
                 ctx.getTimestamp()
             );
 
-            // Get any channel from the game to broadcast the skill cast
-            Channel channel = ChannelManager.getAnyChannelByGameId(ctx.getGameState().getGameId());
-            channel.writeAndFlush(skillCastSend);
+            ChannelManager.broadcastToGame(ctx.getGameState().getGameId(), skillCastSend);
             log.info("Sent SkillCastSend: " + skillCastSend);
         } catch (Exception e) {
             log.error("Exception in sendSkillCast: " + e.getMessage());
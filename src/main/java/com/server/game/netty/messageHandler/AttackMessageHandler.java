@@ -9,6 +9,7 @@ import com.server.game.annotation.customAnnotation.MessageMapping;
 import com.server.game.factory.AttackContextFactory;
 import com.server.game.model.game.GameState;
 import com.server.game.model.game.Troop;
+import com.server.game.model.game.command.GameCommand;
 import com.server.game.model.game.context.AttackContext;
 import com.server.game.netty.ChannelManager;
 import com.server.game.netty.receiveObject.attack.AttackReceive;
@@ -58,8 +59,24 @@ public class AttackMessageHandler {
             return;
         }
 
+        GameState gameState = gameStateService.getGameStateById(gameId);
+        if (gameState == null) {
+            return;
+        }
+
+        // Applied by the tick thread, a newer attack of the same entity replaces this one
+        gameState.submitCommand(GameCommand.Type.ATTACK, entityStringId,
+            () -> applyAttack(gameState, receiveObject, clientTimestamp));
+    }
+
+    /**
+     * Tick thread only
+     */
+    public void applyAttack(GameState gameState, AttackReceive receiveObject, long clientTimestamp) {
+        String gameId = gameState.getGameId();
+        String entityStringId = receiveObject.getAttackerId();
+
         if (entityStringId.startsWith("troop_") ) {
-            GameState gameState = gameStateService.getGameStateById(gameId);
             Troop troop = (Troop) gameState.getEntityByStringId(entityStringId);
             troop.setInDefensiveStance(false);
             troop.setDefensePosition(null);
@@ -7,10 +7,13 @@ import org.springframework.stereotype.Component;
 
 import com.server.game.annotation.customAnnotation.MessageMapping;
 import com.server.game.factory.CastSkillContextFactory;
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.command.GameCommand;
 import com.server.game.model.game.context.CastSkillContext;
 import com.server.game.netty.ChannelManager;
 import com.server.game.netty.receiveObject.CastSkillReceive;
 import com.server.game.service.castSkill.CastSkillService;
+import com.server.game.service.gameState.GameCoordinator;
 
 import io.netty.channel.Channel;
 import lombok.AllArgsConstructor;
@@ -23,6 +26,7 @@ public class CastSkillMessageHandler {
 
     private final CastSkillContextFactory castSkillContextFactory;
     private final CastSkillService castSkillService;
+    private final GameCoordinator gameCoordinator;
 
 
     // Rate limiting: minimum time between position updates (in milliseconds)
@@ -50,8 +54,24 @@ public class CastSkillMessageHandler {
         // Update the last update time
         lastUpdateTime.put(playerKey, currentTime);
 
+        GameState gameState = gameCoordinator.getGameState(gameId);
+        if (gameState == null) {
+            log.warn("No game state found for game ID: {}", gameId);
+            return;
+        }
+
+        // Applied by the tick thread, a newer cast of the same entity replaces this one
+        gameState.submitCommand(GameCommand.Type.CAST_SKILL, entityStringId,
+            () -> applyCastSkill(gameState, receiveObject, clientTimestamp));
+    }
+
+    /**
+     * Tick thread only
+     */
+    public void applyCastSkill(GameState gameState, CastSkillReceive receiveObject, long clientTimestamp) {
+        String entityStringId = receiveObject.getCasterId();
         CastSkillContext castSkillContext = castSkillContextFactory.createCastSkillContext(
-            gameId, entityStringId, receiveObject.getTargetPosition(), clientTimestamp);
+            gameState.getGameId(), entityStringId, receiveObject.getTargetPosition(), clientTimestamp);
 
 
         log.info("Cast skill message received for entity {}: {}", entityStringId, castSkillContext);
@@ -1,5 +1,7 @@
 package com.server.game.netty.messageHandler;
 
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.stereotype.Component;
 
@@ -7,10 +9,10 @@ import com.server.game.model.game.Entity;
 import com.server.game.netty.ChannelManager;
 import com.server.game.model.game.GameState;
 import com.server.game.netty.sendObject.PositionSend;
+import com.server.game.netty.sendObject.PositionSend.EntityPositionData;
 import com.server.game.netty.sendObject.attack.HealthUpdateSend;
 import com.server.game.netty.sendObject.entity.EntityDeathSend;
 
-import io.netty.channel.Channel;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -18,21 +20,21 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GameStateMessageHandler {
 
-    public void sendPositionUpdate(GameState gameState, Entity mover) {
+    /**
+     * Positions of all the given movers in one message, one write and flush per tick
+     */
+    public void sendPositionUpdates(GameState gameState, List<Entity> movers) {
         try {
-            // Create position update message
-            PositionSend positionSend = new PositionSend(
-                mover.getStringId(),
-                mover.getCurrentPosition(),
-                mover.getMoveSpeed(),
-                System.currentTimeMillis()
-            );
+            List<EntityPositionData> entities = new ArrayList<>(movers.size());
+            for (Entity mover : movers) {
+                entities.add(new EntityPositionData(
+                    mover.getStringId(), mover.getCurrentPosition(), mover.getMoveSpeed()));
+            }
+            PositionSend positionSend = new PositionSend(entities, System.currentTimeMillis());
 
-            // Get any channel from the game to broadcast the position update
-            Channel channel = ChannelManager.getAnyChannelByGameId(gameState.getGameId());
-            channel.writeAndFlush(positionSend);
+            ChannelManager.broadcastToGame(gameState.getGameId(), positionSend);
         } catch (Exception e) {
-            log.error("Exception in broadcastPositionUpdate: " + e.getMessage());
+            log.error("Exception in broadcastPositionUpdates: " + e.getMessage());
         }
     }
 
@@ -47,9 +49,7 @@ public class GameStateMessageHandler {
                 timestamp
             );
 
-            // Get any channel from the game to broadcast the health update
-            Channel channel = ChannelManager.getAnyChannelByGameId(gameId);
-            channel.writeAndFlush(healthUpdateSend);
+            ChannelManager.broadcastToGame(gameId, healthUpdateSend);
         } catch (Exception e) {
             log.error("Exception in broadcastHealthUpdate: " + e.getMessage());
         }
@@ -60,9 +60,7 @@ public class GameStateMessageHandler {
             // Create health update message
             EntityDeathSend entityDeathSend = new EntityDeathSend(entityId);
 
-            // Get any channel from the game to broadcast the health update
-            Channel channel = ChannelManager.getAnyChannelByGameId(gameId);
-            channel.writeAndFlush(entityDeathSend);
+            ChannelManager.broadcastToGame(gameId, entityDeathSend);
         } catch (Exception e) {
             log.error("Exception in broadcastEntityDeath: " + e.getMessage());
         }
@@ -7,6 +7,7 @@ import com.server.game.factory.MoveContextFactory;
 import com.server.game.model.game.Entity;
 import com.server.game.model.game.GameState;
 import com.server.game.model.game.Troop;
+import com.server.game.model.game.command.GameCommand;
 import com.server.game.model.game.context.MoveContext;
 import com.server.game.netty.ChannelManager;
 import com.server.game.netty.receiveObject.PositionReceive;
@@ -32,7 +33,19 @@ public class MoveMessageHandler {
         
         String gameId = ChannelManager.getGameIdByChannel(channel);
         GameState gameState = gameStateService.getGameStateById(gameId);
-        
+        if (gameState == null) {
+            return;
+        }
+
+        // Applied by the tick thread, a newer move of the same entity replaces this one
+        gameState.submitCommand(GameCommand.Type.MOVE, receiveObject.getStringId(),
+            () -> applyMove(gameState, receiveObject));
+    }
+
+    /**
+     * Tick thread only
+     */
+    public void applyMove(GameState gameState, PositionReceive receiveObject) {
         Entity mover = gameStateService.getEntityByStringId(gameState, receiveObject.getStringId());
         if (mover instanceof Troop troop) {
             troop.setDefensePosition(receiveObject.getPosition());
@@ -34,10 +34,8 @@ public class PlaygroundMessageHandler {
     }
 
     public void sendGoldMineSpawnMessage(String gameId, String goldMineId, boolean isSmallGoldMine, Vector2 position, int initHP) {
-        Channel channel = ChannelManager.getAnyChannelByGameId(gameId);
-        if (channel != null) {
-            GoldMineSpawnSend goldMineSpawnSend = new GoldMineSpawnSend(goldMineId, position, isSmallGoldMine, initHP);
-            channel.writeAndFlush(goldMineSpawnSend);
+        GoldMineSpawnSend goldMineSpawnSend = new GoldMineSpawnSend(goldMineId, position, isSmallGoldMine, initHP);
+        if (ChannelManager.broadcastToGame(gameId, goldMineSpawnSend)) {
             log.info("Sending gold mine spawn message for gameId: {}, goldMine: {}", gameId, goldMineSpawnSend);
         }
     }
@@ -9,6 +9,8 @@ import com.server.game.model.game.Entity;
 import com.server.game.model.game.GameState;
 import com.server.game.model.game.SlotState;
 import com.server.game.model.game.Troop;
+import com.server.game.model.game.command.GameCommand;
+import com.server.game.model.game.timer.TimerWheel;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.netty.ChannelManager;
 import com.server.game.netty.receiveObject.troop.TroopPositionReceive;
@@ -17,7 +19,9 @@ import com.server.game.netty.sendObject.troop.TroopSpawnSend;
 import com.server.game.netty.sendObject.troop.TroopCooldownSend;
 import com.server.game.service.gameState.GameCoordinator;
 import com.server.game.service.troop.TroopManager;
+import com.server.game.util.MapQueryTables;
 import com.server.game.util.TroopEnum;
+import com.server.game.util.Util;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -29,8 +33,6 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -40,8 +42,7 @@ public class TroopMessageHandler {
     TroopManager troopManager;
     GameCoordinator gameCoordinator;
     
-    // Cooldown tracking: gameId:slot:troopType -> timestamp when cooldown ends
-    private final Map<String, Long> troopCooldowns = new ConcurrentHashMap<>();
+    // Cooldowns are timers on the game's timer wheel, see SlotState.troopSpawnCooldowns
     private static final long TROOP_SPAWN_COOLDOWN_MS = 3000; // 3 seconds
 
     @MessageMapping(TroopPositionReceive.class)
@@ -73,34 +74,43 @@ public class TroopMessageHandler {
         // Generate spread positions for all troops around the original position
         List<Vector2> spreadPositions = spreadTroopPositions(troopIds, originalPosition, gameState);
         
-        // Apply the spread positions to each troop
+        // Apply the spread positions to each troop on the tick thread,
+        // a newer move of the same troop replaces this one.
+        // A group goes to the same area and shares a flow field, a single troop searches its own path
+        boolean groupMove = troopIds.size() > 1;
         for (int i = 0; i < troopIds.size() && i < spreadPositions.size(); i++) {
             String troopId = troopIds.get(i);
             Vector2 newPosition = spreadPositions.get(i);
-            
-            // Verify the troop belongs to the requesting slot for security
-            Entity troopEntity = gameState.getEntityByStringId(troopId);
-            if (troopEntity == null || !(troopEntity instanceof Troop)) {
-                log.warn("Troop {} not found or invalid type", troopId);
-                continue;
-            }
-            
-            Troop troop = (Troop) troopEntity;
-            if (troop.getOwnerSlot().getSlot() != requestingSlot) {
-                log.warn("Player {} attempted to move troop {} owned by slot {}", 
-                    requestingSlot, troopId, troop.getOwnerSlot().getSlot());
-                continue;
-            }
-            
-            // Set the new position for the troop
-            troopManager.setMovePosition(gameId, troopId, newPosition);
-            
-            log.debug("Moved troop {} to spread position {}", troopId, newPosition);
+
+            gameState.submitCommand(GameCommand.Type.MOVE, troopId,
+                () -> applyTroopPosition(gameState, requestingSlot, troopId, newPosition, groupMove));
         }
         
         log.info("Processed {} troop positions with collision avoidance for game {}", troopIds.size(), gameId);
     }
 
+    private void applyTroopPosition(GameState gameState, short requestingSlot, String troopId, Vector2 newPosition,
+        boolean groupMove) {
+        // Verify the troop belongs to the requesting slot for security
+        Entity troopEntity = gameState.getEntityByStringId(troopId);
+        if (troopEntity == null || !(troopEntity instanceof Troop)) {
+            log.warn("Troop {} not found or invalid type", troopId);
+            return;
+        }
+        
+        Troop troop = (Troop) troopEntity;
+        if (troop.getOwnerSlot().getSlot() != requestingSlot) {
+            log.warn("Player {} attempted to move troop {} owned by slot {}", 
+                requestingSlot, troopId, troop.getOwnerSlot().getSlot());
+            return;
+        }
+        
+        // Set the new position for the troop
+        troopManager.setMovePosition(gameState.getGameId(), troopId, newPosition, groupMove);
+        
+        log.debug("Moved troop {} to spread position {}", troopId, newPosition);
+    }
+
     /**
      * xử lý việc người chơi spawn quân đội
      */
@@ -129,23 +139,39 @@ public class TroopMessageHandler {
             return;
         }
 
+        GameState gameState = gameCoordinator.getGameState(gameId);
+        if (gameState == null) {
+            log.warn("No game state found for game ID: {}", gameId);
+            return;
+        }
+
+        // Spawning mutates the game state, run it on the tick thread
+        gameState.submitCommand(GameCommand.Type.TROOP_SPAWN, null,
+            () -> applyTroopSpawn(gameState, request, requestingSlot, troopType, channel));
+    }
+
+    /**
+     * Tick thread only, the cooldown message is sent to the given channel
+     */
+    public void applyTroopSpawn(GameState gameState, TroopSpawnReceive request, short requestingSlot,
+        TroopEnum troopType, Channel channel) {
+
+        String gameId = gameState.getGameId();
+        SlotState requestingSlotState = gameState.getSlotState(requestingSlot);
+        if (requestingSlotState == null) {
+            log.warn("Slot state not found for slot: {}", requestingSlot);
+            return;
+        }
+
         // Check cooldown before spawning
-        String cooldownKey = gameId + ":" + requestingSlot + ":" + troopType;
-        long currentTime = System.currentTimeMillis();
-        Long cooldownEndTime = troopCooldowns.get(cooldownKey);
+        TimerWheel.Timeout cooldown = requestingSlotState.getTroopSpawnCooldowns().get(troopType);
         
-        if (cooldownEndTime != null && currentTime < cooldownEndTime) {
-            long remainingCooldown = (cooldownEndTime - currentTime) / 1000; // Convert to seconds
+        if (cooldown != null && cooldown.isPending()) {
+            long remainingCooldown = cooldown.getRemainingTicks() * Util.getGameTickIntervalMs() / 1000; // Convert to seconds
             log.info("Troop spawn rejected due to cooldown. Slot: {}, TroopType: {}, Remaining: {}s",
                 requestingSlot, troopType, remainingCooldown);
             return;
         }
-
-        GameState gameState = gameCoordinator.getGameState(gameId);
-        if (gameState == null) {
-            log.warn("No game state found for game ID: {}", gameId);
-            return;
-        }
         
         Vector2 spawnPosition = determineSpawnPosition(gameState, request.getOwnerSlot());
         if (spawnPosition == null) {
@@ -164,8 +190,12 @@ public class TroopMessageHandler {
             return;
         }
 
-        // Set cooldown after successful spawn
-        troopCooldowns.put(cooldownKey, currentTime + TROOP_SPAWN_COOLDOWN_MS);
+        // Set cooldown after successful spawn, the timer removes itself when it expires
+        TimerWheel.Timeout newCooldown = gameState.schedule(
+            Util.seconds2GameTick(TROOP_SPAWN_COOLDOWN_MS / 1000f),
+            () -> requestingSlotState.getTroopSpawnCooldowns().remove(troopType));
+        requestingSlotState.getTroopSpawnCooldowns().put(troopType, newCooldown);
+        requestingSlotState.getTroopSpawnCooldownDeadlines().set(troopType.ordinal(), newCooldown.getDeadlineTick());
         
         // Send cooldown message to client
         TroopCooldownSend cooldownMessage = new TroopCooldownSend(request.getTroopId(), (short) (TROOP_SPAWN_COOLDOWN_MS / 1000));
@@ -183,7 +213,8 @@ public class TroopMessageHandler {
             if (minionPosition != null) {
                 log.info("Spawning minion troop of type {} for owner slot {}", troopType, request.getOwnerSlot());
                 log.info("Minion position: {}", minionPosition);
-                troopManager.setMovePosition(gameId, troopInstance.getStringId(), minionPosition);
+                // Every minion of the slot goes to the same place
+                troopManager.setMovePosition(gameId, troopInstance.getStringId(), minionPosition, true);
             }
         }
 
@@ -193,34 +224,33 @@ public class TroopMessageHandler {
             troopType, spawnPosition, TROOP_SPAWN_COOLDOWN_MS / 1000);
     }
 
-    /**
-     * Clean up expired cooldowns for a specific game to prevent memory leaks
-     */
-    public void cleanupGameCooldowns(String gameId) {
-        long currentTime = System.currentTimeMillis();
-        troopCooldowns.entrySet().removeIf(entry -> 
-            entry.getKey().startsWith(gameId + ":") && entry.getValue() <= currentTime
-        );
-        log.debug("Cleaned up expired cooldowns for game: {}", gameId);
-    }
-
     /**
      * Get remaining cooldown time for a specific troop type and slot
+     * Safe to call from any thread, reads the published deadline and tick instead of the timer wheel
      * @return remaining cooldown in milliseconds, or 0 if no cooldown
      */
     public long getRemainingCooldown(String gameId, short slot, TroopEnum troopType) {
-        String cooldownKey = gameId + ":" + slot + ":" + troopType;
-        Long cooldownEndTime = troopCooldowns.get(cooldownKey);
-        
-        if (cooldownEndTime == null) {
+        GameState gameState = gameCoordinator.getGameState(gameId);
+        SlotState slotState = gameState != null ? gameState.getSlotState(slot) : null;
+        if (slotState == null) {
             return 0;
         }
-        
-        long remaining = cooldownEndTime - System.currentTimeMillis();
-        return Math.max(0, remaining);
+
+        long deadlineTick = slotState.getTroopSpawnCooldownDeadlines().get(troopType.ordinal());
+        long remainingTicks = deadlineTick - gameState.getTickSnapshot().getTick();
+        return Math.max(0, remainingTicks) * Util.getGameTickIntervalMs();
     }
 
     private Vector2 getMinionPositionForSlot(GameState gameState, short ownerSlot) {
+        // Precomputed walkable cells of the area, the position is always walkable
+        MapQueryTables mapQueryTables = gameState.getMapQueryTables();
+        if (mapQueryTables != null) {
+            MapQueryTables.WalkableRegion minionArea = mapQueryTables.getMinionArea(ownerSlot);
+            if (minionArea != null && !minionArea.isEmpty()) {
+                return minionArea.randomPosition();
+            }
+        }
+
         try {
             GameMap gameMap = gameState.getGameMap();
             if (gameMap == null) {
@@ -1,10 +1,17 @@
 package com.server.game.netty.messageMapping;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 import org.springframework.stereotype.Component;
 
+import com.server.game.annotation.customAnnotation.ReceiveType;
+import com.server.game.netty.ChannelManager;
+import com.server.game.netty.tlv.messageEnum.ReceiveMessageType;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
 import lombok.AllArgsConstructor;
 
 import java.lang.reflect.Method;
@@ -12,56 +19,132 @@ import java.lang.reflect.Method;
 @Component
 public class MessageDispatcher {
 
-    private final Map<Class<?>, HandlerMethod> handlerMap = new HashMap<>();
+    // Every handler is adapted to (Object receiveObject, ChannelHandlerContext ctx) -> Object
+    private static final MethodType INVOKER_TYPE =
+        MethodType.methodType(Object.class, Object.class, ChannelHandlerContext.class);
+
+    private static final MethodHandle CHANNEL_OF;
+    private static final MethodHandle USER_ID_OF;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CHANNEL_OF = lookup.findVirtual(ChannelHandlerContext.class, "channel",
+                MethodType.methodType(Channel.class));
+            USER_ID_OF = lookup.findStatic(MessageDispatcher.class, "userIdOf",
+                MethodType.methodType(String.class, ChannelHandlerContext.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // ReceiveMessageType ordinal -> handler
+    private final HandlerMethod[] handlers = new HandlerMethod[ReceiveMessageType.values().length];
+
+    // Receive class -> its TLV type, read once per class from @ReceiveType
+    private static final ClassValue<ReceiveMessageType> RECEIVE_TYPES = new ClassValue<>() {
+        @Override
+        protected ReceiveMessageType computeValue(Class<?> clazz) {
+            ReceiveType annotation = clazz.getAnnotation(ReceiveType.class);
+            return annotation != null ? annotation.value() : null;
+        }
+    };
+
 
     public void register(Class<?> receiveClazz, Object classContains, Method method) {
-        handlerMap.put(receiveClazz, new HandlerMethod(classContains, method));
+        ReceiveMessageType type = RECEIVE_TYPES.get(receiveClazz);
+        if (type == null) {
+            throw new IllegalArgumentException("Message class without @ReceiveType: " + receiveClazz.getSimpleName());
+        }
+        handlers[type.ordinal()] = new HandlerMethod(method.getName(), invokerOf(receiveClazz, classContains, method));
         // System.out.println(">>> Registered handler: <" + method.getName() + "> method in <" + classContains.getClass().getSimpleName() + "> class" +
         //     " to handle <" + receiveClazz.getSimpleName() + "> message type");
     }
 
-    
-    public Object dispatch(Object receiveObject, Map<Class<?>, Object> contextParams) throws Exception {
-        HandlerMethod handler = handlerMap.get(receiveObject.getClass());
+
+    public Object dispatch(Object receiveObject, ChannelHandlerContext ctx) throws Exception {
+        ReceiveMessageType type = RECEIVE_TYPES.get(receiveObject.getClass());
+        HandlerMethod handler = type != null ? handlers[type.ordinal()] : null;
         if (handler == null) {
             throw new IllegalArgumentException("No handler for message: " + receiveObject.getClass().getSimpleName());
         }
-        return handler.invoke(receiveObject, contextParams);
+        return handler.invoke(receiveObject, ctx);
+    }
+
+
+    /**
+     * The handler method bound to its bean, each parameter is taken from the
+     * message or derived from the ChannelHandlerContext:
+     * the receive class, Channel, ChannelHandlerContext or String (userId)
+     */
+    private static MethodHandle invokerOf(Class<?> receiveClazz, Object classContains, Method method) {
+        MethodHandle target;
+        try {
+            target = MethodHandles.lookup().unreflect(method).bindTo(classContains);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Handler method is not accessible: " + method.getName(), e);
+        }
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        MethodHandle[] filters = new MethodHandle[parameterTypes.length];
+        Class<?>[] sourceTypes = new Class<?>[parameterTypes.length];
+        int[] reorder = new int[parameterTypes.length];
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> paramType = parameterTypes[i];
+            if (paramType.isAssignableFrom(receiveClazz)) {
+                sourceTypes[i] = Object.class;
+                reorder[i] = 0;
+            } else if (paramType == ChannelHandlerContext.class) {
+                sourceTypes[i] = ChannelHandlerContext.class;
+                reorder[i] = 1;
+            } else if (paramType == Channel.class) {
+                filters[i] = CHANNEL_OF;
+                sourceTypes[i] = ChannelHandlerContext.class;
+                reorder[i] = 1;
+            } else if (paramType == String.class) {
+                filters[i] = MethodHandles.insertArguments(USER_ID_OF, 1, method.getName());
+                sourceTypes[i] = ChannelHandlerContext.class;
+                reorder[i] = 1;
+            } else {
+                throw new IllegalArgumentException("Method " + method.getName()
+                    + " has an unsupported parameter: " + paramType.getSimpleName());
+            }
+        }
+
+        // (P1..Pn)R -> (S1..Sn)Object, then spread the 2 invoker arguments to the n parameters
+        MethodHandle adapted = MethodHandles.filterArguments(target, 0, filters)
+            .asType(MethodType.methodType(Object.class, sourceTypes)); // void returns null
+        return MethodHandles.permuteArguments(adapted, INVOKER_TYPE, reorder);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the channel has no user yet
+     */
+    private static String userIdOf(ChannelHandlerContext ctx, String methodName) {
+        String userId = ChannelManager.getUserIdByChannel(ctx.channel());
+        if (userId == null) {
+            throw new IllegalArgumentException("Method " + methodName + " is missing context for parameter: String");
+        }
+        return userId;
     }
 
 
     // ========== PRIVATE INNER CLASS ==========
     @AllArgsConstructor
-    private class HandlerMethod {
-
-        private final Object classContains; // The class that contains the method to be invoked
-        private final Method method; // The method to be invoked
-
-        // Invokes the method with the given receiveObject and context parameters
-        public Object invoke(Object receiveObject, Map<Class<?>, Object> contextParams) throws Exception {
-            Class<?>[] parameterTypes = method.getParameterTypes();
-            Object[] args = new Object[parameterTypes.length];
-
-            for (int i = 0; i < parameterTypes.length; i++) {
-                Class<?> paramType = parameterTypes[i];
-                if (paramType.isInstance(receiveObject)) {
-                    args[i] = receiveObject;
-                } else {
-                    Object contextObject = contextParams.get(paramType);
-                    if (contextObject == null) {
-                        throw new IllegalArgumentException("Method " + method.getName() + " is missing context for parameter: " + paramType.getSimpleName());
-                    }
-                    args[i] = contextObject;
-                }
-            }
-            
-            if (method.getReturnType() == void.class) {
-                // If the method returns void, invoke it with the args
-                method.invoke(classContains, args);
-                return null; // No response to return
-            }
+    private static class HandlerMethod {
+
+        private final String name; // The name of the handler method, for errors
+        private final MethodHandle invoker; // (Object, ChannelHandlerContext)Object
 
-            return method.invoke(classContains, args);
+        public Object invoke(Object receiveObject, ChannelHandlerContext ctx) throws Exception {
+            try {
+                return (Object) invoker.invokeExact(receiveObject, ctx);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Handler " + name + " failed", e);
+            }
         }
     }
     // ========== END OF PRIVATE INNER CLASS ==========
@@ -24,10 +24,8 @@ public class TLVMessageDecoder extends MessageToMessageDecoder<ByteBuf> {
             return;
         }
 
-        byte[] value = new byte[length];
-        buf.readBytes(value);
-
-        TLVDecodable receiveObject = TLVDecoder.bytes2Object(type, value);
+        // Read straight from the frame, the buffer is released after this method
+        TLVDecodable receiveObject = TLVDecoder.buf2Object(type, buf);
 
         out.add(receiveObject);            
     }
@@ -8,7 +8,6 @@ import com.server.game.netty.tlv.codec.TLVEncoder;
 import com.server.game.netty.tlv.interf4ce.TLVEncodable;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
@@ -32,10 +31,9 @@ public class TLVMessageEncoder extends ChannelOutboundHandlerAdapter {
         }
 
         try {
-            byte[] encoded = TLVEncoder.object2Bytes(sendObject);
-
-            ByteBuf encodedBuf = Unpooled.wrappedBuffer(encoded); // wrap the byte array into a ByteBuf
             SendTarget sendTarget = sendObject.getSendTarget(ctx.channel());
+            // Encoded straight into a pooled buffer, released by OutboundSendMessage.send()
+            ByteBuf encodedBuf = TLVEncoder.object2ByteBuf(sendObject, ctx.alloc());
 
             // Wrap ByteBuf and send target into an object to send to the next handler in pipeline
             OutboundSendMessage outboundMessage = new OutboundSendMessage(encodedBuf, sendTarget);
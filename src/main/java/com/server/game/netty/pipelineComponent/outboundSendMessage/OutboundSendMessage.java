@@ -14,13 +14,21 @@ public class OutboundSendMessage {
     ByteBuf byteBuf;
     SendTarget sendTarget;
 
+    /**
+     * The targets retain what they write, the buffer of this message is
+     * released once sent
+     */
     public ChannelFuture send() {
-        if (sendTarget != null) {
-            return sendTarget.send(byteBuf);
-        } else {
-            log.error(">>> Error: SendTarget is null, cannot send message.");
-            return new DefaultChannelPromise(null)
-                .setFailure(new IllegalStateException("SendTarget is null"));
+        try {
+            if (sendTarget != null) {
+                return sendTarget.send(byteBuf);
+            } else {
+                log.error(">>> Error: SendTarget is null, cannot send message.");
+                return new DefaultChannelPromise(null)
+                    .setFailure(new IllegalStateException("SendTarget is null"));
+            }
+        } finally {
+            byteBuf.release();
         }
     }
 }
\ No newline at end of file
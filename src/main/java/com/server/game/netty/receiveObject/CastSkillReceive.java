@@ -12,6 +12,7 @@ import com.server.game.netty.tlv.interf4ce.TLVDecodable;
 import com.server.game.netty.tlv.messageEnum.ReceiveMessageType;
 import com.server.game.util.Util;
 
+import io.netty.buffer.ByteBuf;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -41,4 +42,16 @@ public class CastSkillReceive implements TLVDecodable {
             throw new  RuntimeException("Cannot decode " + this.getClass().getSimpleName(), e);
         }
     }
+
+    @Override
+    public void decode(ByteBuf value) {
+        try {
+            this.casterId = Util.readString(value);
+            this.targetPosition = new Vector2(value.readFloat(), value.readFloat());
+            this.timestamp = value.readLong();
+
+        } catch (Exception e) {
+            throw new  RuntimeException("Cannot decode " + this.getClass().getSimpleName(), e);
+        }
+    }
 }
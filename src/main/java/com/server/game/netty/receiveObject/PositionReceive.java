@@ -11,6 +11,7 @@ import com.server.game.netty.tlv.interf4ce.TLVDecodable;
 import com.server.game.netty.tlv.messageEnum.ReceiveMessageType;
 import com.server.game.util.Util;
 
+import io.netty.buffer.ByteBuf;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -40,4 +41,16 @@ public class PositionReceive implements TLVDecodable {
             throw new  RuntimeException("Cannot decode " + this.getClass().getSimpleName(), e);
         }
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void decode(ByteBuf value) {
+        try {
+            this.stringId = Util.readString(value);
+            this.position = new Vector2(value.readFloat(), value.readFloat());
+            this.timestamp = value.readLong();
+
+        } catch (Exception e) {
+            throw new  RuntimeException("Cannot decode " + this.getClass().getSimpleName(), e);
+        }
+    }
+}
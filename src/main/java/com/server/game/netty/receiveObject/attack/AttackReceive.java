@@ -10,6 +10,7 @@ import com.server.game.netty.tlv.interf4ce.TLVDecodable;
 import com.server.game.netty.tlv.messageEnum.ReceiveMessageType;
 import com.server.game.util.Util;
 
+import io.netty.buffer.ByteBuf;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -39,4 +40,16 @@ public class AttackReceive implements TLVDecodable {
             throw new  RuntimeException("Cannot decode " + this.getClass().getSimpleName(), e);
         }
     }
+
+    @Override
+    public void decode(ByteBuf value) {
+        try {
+            this.attackerId = Util.readString(value);
+            this.targetId = Util.readString(value);
+            this.timestamp = value.readLong();
+
+        } catch (Exception e) {
+            throw new  RuntimeException("Cannot decode " + this.getClass().getSimpleName(), e);
+        }
+    }
 }
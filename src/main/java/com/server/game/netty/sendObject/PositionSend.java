@@ -6,12 +6,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 
 import com.server.game.model.game.Entity;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.netty.pipelineComponent.outboundSendMessage.SendTarget;
 import com.server.game.netty.pipelineComponent.outboundSendMessage.sendTargetType.AMatchBroadcastTarget;
+import com.server.game.netty.tlv.codec.TLVEncoder;
 import com.server.game.netty.tlv.interf4ce.TLVEncodable;
 import com.server.game.netty.tlv.messageEnum.SendMessageType;
 
@@ -32,6 +34,11 @@ public class PositionSend implements TLVEncodable {
         this.timestamp = timestamp;
     }
 
+    public PositionSend(List<EntityPositionData> entities, long timestamp) {
+        this.entities = entities;
+        this.timestamp = timestamp;
+    }
+
     @Override
     public SendMessageType getType() {
         return SendMessageType.POSITION_UPDATE_SEND;
@@ -60,6 +67,15 @@ public class PositionSend implements TLVEncodable {
         }
     }
 
+    @Override
+    public void encodeTo(ByteBuf out) {
+        out.writeShort((short) entities.size());
+        for (EntityPositionData entity : entities) {
+            entity.encodeTo(out);
+        }
+        out.writeLong(timestamp);
+    }
+
     @Override
     public SendTarget getSendTarget(Channel channel) {
         return new AMatchBroadcastTarget(channel);
@@ -95,5 +111,12 @@ public class PositionSend implements TLVEncodable {
                 throw new RuntimeException("Cannot encode PlayerPositionData", e);
             }
         }
+
+        public void encodeTo(ByteBuf out) {
+            TLVEncoder.writeUTF(out, stringId);
+            out.writeFloat(position.x());
+            out.writeFloat(position.y());
+            out.writeFloat(speed);
+        }
     }
 } 
\ No newline at end of file
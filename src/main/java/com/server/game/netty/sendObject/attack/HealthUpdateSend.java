@@ -6,9 +6,11 @@ import java.io.IOException;
 
 import com.server.game.netty.pipelineComponent.outboundSendMessage.SendTarget;
 import com.server.game.netty.pipelineComponent.outboundSendMessage.sendTargetType.AMatchBroadcastTarget;
+import com.server.game.netty.tlv.codec.TLVEncoder;
 import com.server.game.netty.tlv.interf4ce.TLVEncodable;
 import com.server.game.netty.tlv.messageEnum.SendMessageType;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import lombok.AccessLevel;
 import lombok.Data;
@@ -58,6 +60,15 @@ public class HealthUpdateSend implements TLVEncodable {
         }
     }
 
+    @Override
+    public void encodeTo(ByteBuf out) {
+        TLVEncoder.writeUTF(out, targetId);
+        out.writeInt(currentHealth);
+        out.writeInt(maxHealth);
+        out.writeInt(damage);
+        out.writeLong(timestamp);
+    }
+
     @Override
     public SendTarget getSendTarget(Channel channel) {
         return new AMatchBroadcastTarget(channel);
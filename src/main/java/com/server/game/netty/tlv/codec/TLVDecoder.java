@@ -1,41 +1,85 @@
 package com.server.game.netty.tlv.codec;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.HashMap;
 import java.util.Map;
-
+import java.util.function.Supplier;
 
 import com.server.game.netty.tlv.interf4ce.TLVDecodable;
 
+import io.netty.buffer.ByteBuf;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TLVDecoder {
 
-    private static final Map<Short, Class<? extends TLVDecodable>> registry = new HashMap<>();
+    // type -> no-arg constructor of the receive class, built once at registration
+    private static final Map<Short, Supplier<? extends TLVDecodable>> registry = new HashMap<>();
 
     public static void register(short type, Class<? extends TLVDecodable> clazz) {
+        register(type, constructorOf(clazz));
+        // System.out.println(">>> Registered TLVDecodable: <" + clazz.getSimpleName() + "> for type=<" + type + ">");
+    }
+
+    public static void register(short type, Supplier<? extends TLVDecodable> constructor) {
         if (registry.containsKey(type)) {
             throw new IllegalArgumentException("Type already registered: " + type);
         }
-        registry.put(type, clazz);
-        // System.out.println(">>> Registered TLVDecodable: <" + clazz.getSimpleName() + "> for type=<" + type + ">");
+        registry.put(type, constructor);
     }
 
 
     public static TLVDecodable bytes2Object(short type, byte[] value) {
-        // OOP abstraction: use interface (abstraction) to create an concrete instance base on [type]
-        Class<? extends TLVDecodable> clazz = registry.get(type);
-        if (clazz == null) {
-            log.error(">>> No class registered for type: " + type);
-            throw new IllegalArgumentException("Unknown type: " + type);
+        TLVDecodable instance = newInstance(type);
+        try {
+            instance.decode(value);
+            return instance;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to decode TLV message for type: " + type, e);
         }
+    }
 
+    /**
+     * Decode the [value] part straight from the frame buffer, no copy
+     */
+    public static TLVDecodable buf2Object(short type, ByteBuf value) {
+        TLVDecodable instance = newInstance(type);
         try {
-            TLVDecodable instance = clazz.getDeclaredConstructor().newInstance();
             instance.decode(value);
             return instance;
         } catch (Exception e) {
             throw new RuntimeException("Failed to decode TLV message for type: " + type, e);
         }
     }
+
+    private static TLVDecodable newInstance(short type) {
+        // OOP abstraction: use interface (abstraction) to create an concrete instance base on [type]
+        Supplier<? extends TLVDecodable> constructor = registry.get(type);
+        if (constructor == null) {
+            log.error(">>> No class registered for type: " + type);
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
+        return constructor.get();
+    }
+
+    /**
+     * A Supplier calling the public no-arg constructor directly, no reflection per message
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends TLVDecodable> Supplier<T> constructorOf(Class<T> clazz) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                constructor, MethodType.methodType(clazz));
+            return (Supplier<T>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("No public no-arg constructor for " + clazz.getName(), e);
+        }
+    }
 }
@@ -7,6 +7,9 @@ import com.server.game.netty.tlv.interf4ce.TLVEncodable;
 import com.server.game.netty.tlv.messageEnum.SendMessageType;
 import com.server.game.util.Util;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
 public class TLVEncoder {
 
     public static byte[] object2Bytes(TLVEncodable sendObj) { // return a full TLV message in byte array format
@@ -23,4 +26,56 @@ public class TLVEncoder {
         
         return result;
     }
+
+    /**
+     * Full TLV message written into a buffer of the allocator, the length is
+     * patched once the value is written. The caller owns the returned buffer.
+     */
+    public static ByteBuf object2ByteBuf(TLVEncodable sendObj, ByteBufAllocator allocator) {
+        ByteBuf buffer = allocator.ioBuffer();
+        try {
+            buffer.writeShort(sendObj.getType().getType());
+            int lengthIndex = buffer.writerIndex();
+            buffer.writeInt(0); // placeholder
+
+            int valueStart = buffer.writerIndex();
+            sendObj.encodeTo(buffer);
+            buffer.setInt(lengthIndex, buffer.writerIndex() - valueStart);
+            return buffer;
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Same bytes as DataOutputStream.writeUTF: 2 bytes length, then modified UTF-8
+     */
+    public static void writeUTF(ByteBuf out, String value) {
+        int length = value.length();
+        int utfLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            utfLength += (c >= 0x0001 && c <= 0x007F) ? 1 : (c <= 0x07FF ? 2 : 3);
+        }
+        if (utfLength > 0xFFFF) {
+            throw new IllegalArgumentException("Encoded string too long: " + utfLength + " bytes");
+        }
+
+        out.ensureWritable(Util.SHORT_SIZE + utfLength);
+        out.writeShort(utfLength);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                out.writeByte(c);
+            } else if (c <= 0x07FF) {
+                out.writeByte(0xC0 | (c >> 6));
+                out.writeByte(0x80 | (c & 0x3F));
+            } else {
+                out.writeByte(0xE0 | (c >> 12));
+                out.writeByte(0x80 | ((c >> 6) & 0x3F));
+                out.writeByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,6 +1,17 @@
 package com.server.game.netty.tlv.interf4ce;
 
+import io.netty.buffer.ByteBuf;
 
 public interface TLVDecodable {
     void decode(byte[] value); // buffer only contains the [value] part of the TLV message
+
+    /**
+     * Read the [value] part of the TLV message from the frame buffer, nothing
+     * of the buffer may be kept. Override to skip the intermediate byte array.
+     */
+    default void decode(ByteBuf value) {
+        byte[] bytes = new byte[value.readableBytes()];
+        value.readBytes(bytes);
+        decode(bytes);
+    }
 }
@@ -3,10 +3,19 @@ package com.server.game.netty.tlv.interf4ce;
 import com.server.game.netty.pipelineComponent.outboundSendMessage.SendTarget;
 import com.server.game.netty.tlv.messageEnum.SendMessageType;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 
 public interface TLVEncodable { 
     public SendMessageType getType();
     byte[] encode(); // only return the [value] part of the TLV message
+
+    /**
+     * Write the [value] part of the TLV message straight into the buffer,
+     * same bytes as encode(). Override to skip the intermediate byte array.
+     */
+    default void encodeTo(ByteBuf out) {
+        out.writeBytes(encode());
+    }
     SendTarget getSendTarget(Channel channel);
 }
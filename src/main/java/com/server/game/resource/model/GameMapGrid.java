@@ -1,7 +1,6 @@
 package com.server.game.resource.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -12,19 +11,53 @@ import com.server.game.resource.deserializer.GameMapGridDeserializer;
 import lombok.AccessLevel;
 
 
-@Data
-@AllArgsConstructor
+/**
+ * Walkable grid of a map, immutable.
+ *
+ * The cells are packed in a bitset, one bit per cell and wordsPerRow longs
+ * per row, so a walkability test is a single array read and a mask. Loaded
+ * once per map by GameMapRegistry and shared by every game on the map.
+ */
+@Getter
 @JsonDeserialize(using = GameMapGridDeserializer.class)
-@FieldDefaults(level = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class GameMapGrid {
     short id;
     String name;
     Vector2 cornerA;
     Vector2 cornerB;
-    Integer nRows;
-    Integer nCols;
+    int nRows;
+    int nCols;
     float cellSize;
-    boolean[][] grid;
+
+    @Getter(AccessLevel.NONE)
+    int wordsPerRow;
+    // Bit (col & 63) of word (row * wordsPerRow + col / 64) is set if the cell is walkable
+    @Getter(AccessLevel.NONE)
+    long[] walkable;
+
+
+    public GameMapGrid(short id, String name, Vector2 cornerA, Vector2 cornerB,
+        int nRows, int nCols, float cellSize, boolean[][] grid) {
+
+        this.id = id;
+        this.name = name;
+        this.cornerA = cornerA;
+        this.cornerB = cornerB;
+        this.nRows = nRows;
+        this.nCols = nCols;
+        this.cellSize = cellSize;
+
+        this.wordsPerRow = (nCols + 63) >>> 6;
+        this.walkable = new long[nRows * wordsPerRow];
+        for (int row = 0; row < nRows; row++) {
+            for (int col = 0; col < nCols; col++) {
+                if (grid[row][col]) {
+                    walkable[row * wordsPerRow + (col >>> 6)] |= 1L << col;
+                }
+            }
+        }
+    }
 
     public Vector2 getOrigin() {
         return cornerA;
@@ -35,6 +68,26 @@ public class GameMapGrid {
     }
 
     public boolean isWalkable(GridCell cell) {
-        return grid[cell.r()][cell.c()];
+        return isWalkable(cell.r(), cell.c());
+    }
+
+    /**
+     * The cell must be inside the grid
+     */
+    public boolean isWalkable(int row, int col) {
+        return (walkable[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Unpacked copy of the grid, for saving and tools, not for the game loop
+     */
+    public boolean[][] getGrid() {
+        boolean[][] grid = new boolean[nRows][nCols];
+        for (int row = 0; row < nRows; row++) {
+            for (int col = 0; col < nCols; col++) {
+                grid[row][col] = isWalkable(row, col);
+            }
+        }
+        return grid;
     }
 }
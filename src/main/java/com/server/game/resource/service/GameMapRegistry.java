@@ -0,0 +1,70 @@
+package com.server.game.resource.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.server.game.resource.model.GameMap;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.service.pathfinding.ClusterGraphService;
+import com.server.game.service.pathfinding.FlowFieldService;
+import com.server.game.service.pathfinding.MapQueryTablesService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Process wide cache of the maps. Each map and its grid are loaded from the
+ * database once, then every match on the map shares the same instances, they
+ * must be treated as read-only.
+ *
+ * A map saved again must be evicted, with the pathfinding data built from it.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GameMapRegistry {
+
+    private final GameMapService gameMapService;
+    private final GameMapGridService gameMapGridService;
+    private final ClusterGraphService clusterGraphService;
+    private final FlowFieldService flowFieldService;
+    private final MapQueryTablesService mapQueryTablesService;
+
+    private final Map<Short, GameMap> gameMaps = new ConcurrentHashMap<>();
+    private final Map<Short, GameMapGrid> gameMapGrids = new ConcurrentHashMap<>();
+
+
+    /**
+     * @return the map, null if it does not exist (not cached, so it can be added later)
+     */
+    public GameMap getGameMap(short id) {
+        return gameMaps.computeIfAbsent(id, gameMapService::getGameMapById);
+    }
+
+    /**
+     * @return the grid of the map, null if it does not exist (not cached, so it can be added later)
+     */
+    public GameMapGrid getGameMapGrid(short id) {
+        return gameMapGrids.computeIfAbsent(id, key -> {
+            GameMapGrid gameMapGrid = gameMapGridService.getGameMapGridById(key);
+            if (gameMapGrid != null) {
+                log.info("Loaded grid of map {} ({}x{})", key, gameMapGrid.getNRows(), gameMapGrid.getNCols());
+            }
+            return gameMapGrid;
+        });
+    }
+
+    /**
+     * Drop the cached map and grid and everything built from them, the next
+     * game on the map loads them again. Running games keep their instances.
+     */
+    public void evict(short id) {
+        gameMaps.remove(id);
+        gameMapGrids.remove(id);
+        clusterGraphService.evict(id);
+        flowFieldService.evict(id);
+        mapQueryTablesService.evict(id);
+    }
+}
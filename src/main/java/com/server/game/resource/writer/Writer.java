@@ -17,6 +17,7 @@ import com.server.game.resource.repository.ChampionDBRepository;
 import com.server.game.resource.repository.GameMapRepository;
 import com.server.game.resource.repository.TroopDBRepository;
 import com.server.game.resource.service.GameMapGridService;
+import com.server.game.resource.service.GameMapRegistry;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,7 @@ public class Writer {
     TroopDBRepository troopDBRepository;
 
     GameMapGridService gameMapGridService;
+    GameMapRegistry gameMapRegistry;
 
 
     private final List<String> mapNames = new ArrayList<>(Arrays.asList(
@@ -74,6 +76,7 @@ public class Writer {
             return;
         }
         mapRepository.save(map);
+        gameMapRegistry.evict(map.getId());
         log.info("Map saved successfully: " + map.getName());
     }
     
@@ -98,6 +101,7 @@ public class Writer {
             return;
         }
         gameMapGridService.saveGameMapGrid(mapGrid);
+        gameMapRegistry.evict(mapGrid.getId());
         log.info("Game map grid saved successfully: " + mapGrid.getId());
     }
 
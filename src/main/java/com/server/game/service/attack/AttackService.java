@@ -1,8 +1,5 @@
 package com.server.game.service.attack;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import org.springframework.stereotype.Service;
 
 import com.server.game.model.game.Entity;
@@ -30,8 +27,8 @@ public class AttackService {
 
 
     public void processAttacks(GameState gameState) {
-        Set<Entity> entities = new HashSet<>(gameState.getEntities());
-        for (Entity entity : entities) {
+        // Snapshot, entities killed during the loop do not break the iteration
+        for (Entity entity : gameState.getEntities()) {
             this.processAttackOf(entity);
         }
     }
@@ -48,8 +45,7 @@ public class AttackService {
 
 
     public void clearGameAttackContexts(GameState gameState) {
-        Set<Entity> entities = new HashSet<>(gameState.getEntities());
-        for (Entity entity : entities) {
+        for (Entity entity : gameState.getEntities()) {
             entity.setAttackContext(null);
         }
     }
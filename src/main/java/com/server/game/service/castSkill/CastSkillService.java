@@ -1,7 +1,5 @@
 package com.server.game.service.castSkill;
 
-import java.util.HashSet;
-import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
@@ -32,8 +30,7 @@ public class CastSkillService {
 
     public void updateDurationSkills(GameState gameState) {
         // Only process cast skills for champions
-        Set<Champion> champions = new HashSet<>(gameState.getChampions());
-        for (Champion caster : champions) {
+        for (Champion caster : gameState.getChampions()) {
             this.processDurationSkillOf(caster);
         }
     }
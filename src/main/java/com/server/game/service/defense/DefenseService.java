@@ -1,6 +1,5 @@
 package com.server.game.service.defense;
 
-import java.util.Comparator;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
@@ -9,9 +8,11 @@ import com.server.game.factory.AttackContextFactory;
 import com.server.game.model.game.Champion;
 import com.server.game.model.game.Entity;
 import com.server.game.model.game.GameState;
+import com.server.game.model.game.NearestQuery;
 import com.server.game.model.game.Troop;
 import com.server.game.model.game.building.Burg;
 import com.server.game.model.game.building.Tower;
+import com.server.game.model.map.component.Vector2;
 import com.server.game.service.attack.AttackService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,16 +33,14 @@ public class DefenseService {
      */
     public void updateDefenses(GameState gameState) {
         // Process tower defenses
-        gameState.getEntities().stream()
-            .filter(entity -> entity instanceof Tower)
-            .map(entity -> (Tower) entity)
-            .forEach(tower -> processTowerDefense(tower, gameState));
+        for (Tower tower : gameState.getTowers()) {
+            processTowerDefense(tower, gameState);
+        }
         
         // Process burg defenses
-        gameState.getEntities().stream()
-            .filter(entity -> entity instanceof Burg)
-            .map(entity -> (Burg) entity)
-            .forEach(burg -> processBurgDefense(burg, gameState));
+        for (Burg burg : gameState.getBurgs()) {
+            processBurgDefense(burg, gameState);
+        }
     }
 
     /**
@@ -117,26 +116,20 @@ public class DefenseService {
      * Priority order: Troops first, then Champions
      */
     private Optional<Entity> findPriorityTargetInRange(Entity defender, float attackRange, GameState gameState) {
+        // Targets are points, so distanceTo(target) <= attackRange means the center
+        // of the target is within attackRange + the radius of the defender
+        Vector2 origin = defender.getCurrentPosition();
+        float maxDistance = attackRange + defender.getBoundingRadius();
+
         // First, look for troops (highest priority)
-        Optional<Entity> troopTarget = gameState.getEntities().stream()
-            .filter(Entity::isAlive)
-            .filter(e -> e.getOwnerSlot() != null)
-            .filter(e -> e.getOwnerSlot().getSlot() != defender.getOwnerSlot().getSlot()) // Is an enemy
-            .filter(e -> e instanceof Troop)
-            .filter(e -> defender.distanceTo(e) <= attackRange)
-            .min(Comparator.comparing(e -> defender.distanceTo(e)));
-
-        if (troopTarget.isPresent()) {
-            return troopTarget;
+        Entity troopTarget = NearestQuery.findNearestEnemy(
+            gameState, origin, maxDistance, defender.getOwnerSlot(), Troop.class);
+        if (troopTarget != null) {
+            return Optional.of(troopTarget);
         }
 
         // If no troops found, look for champions
-        return gameState.getEntities().stream()
-            .filter(Entity::isAlive)
-            .filter(e -> e.getOwnerSlot() != null)
-            .filter(e -> e.getOwnerSlot().getSlot() != defender.getOwnerSlot().getSlot()) // Is an enemy
-            .filter(e -> e instanceof Champion)
-            .filter(e -> defender.distanceTo(e) <= attackRange)
-            .min(Comparator.comparing(e -> defender.distanceTo(e)));
+        return Optional.ofNullable(NearestQuery.findNearestEnemy(
+            gameState, origin, maxDistance, defender.getOwnerSlot(), Champion.class));
     }
 }
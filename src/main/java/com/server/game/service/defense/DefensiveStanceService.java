@@ -3,6 +3,7 @@ package com.server.game.service.defense;
 import com.server.game.factory.AttackContextFactory;
 import com.server.game.model.game.Entity;
 import com.server.game.model.game.GameState;
+import com.server.game.model.game.NearestQuery;
 import com.server.game.model.game.Troop;
 import com.server.game.service.attack.AttackService;
 import com.server.game.service.move.MoveService;
@@ -10,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.Optional;
 
 @Slf4j
@@ -22,15 +22,12 @@ public class DefensiveStanceService {
     private final AttackContextFactory attackContextFactory;
 
     public void updateDefensiveStances(GameState gameState) {
-        gameState.getEntities().stream()
-            .filter(e -> e instanceof Troop)
-            .map(e -> (Troop) e)
-            .forEach(troop -> {
-                // First check if troop should re-enable defensive stance
-                troop.checkAndEnableDefensiveStance();
-                // Then process defense logic
-                processTroopDefense(troop, gameState);
-            });
+        for (Troop troop : gameState.getTroops()) {
+            // First check if troop should re-enable defensive stance
+            troop.checkAndEnableDefensiveStance();
+            // Then process defense logic
+            processTroopDefense(troop, gameState);
+        }
     }
 
     private void processTroopDefense(Troop troop, GameState gameState) {
@@ -97,11 +94,7 @@ public class DefensiveStanceService {
     }
 
     private Optional<Entity> findNearestEnemyInDetectionRange(Troop troop, GameState gameState) {
-        return gameState.getEntities().stream()
-            .filter(Entity::isAlive)
-            .filter(e -> e.getOwnerSlot() != null) // Ensure entity has an owner slot
-            .filter(e -> e.getOwnerSlot().getSlot() != troop.getOwnerSlot().getSlot()) // Is an enemy
-            .filter(e -> troop.getCurrentPosition().distance(e.getCurrentPosition()) <= troop.getDetectionRange())
-            .min(Comparator.comparing(e -> troop.getCurrentPosition().distance(e.getCurrentPosition())));
+        return Optional.ofNullable(NearestQuery.findNearestEnemy(gameState,
+            troop.getCurrentPosition(), troop.getDetectionRange(), troop.getOwnerSlot(), Entity.class));
     }
 }
\ No newline at end of file
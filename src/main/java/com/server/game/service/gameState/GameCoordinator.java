@@ -9,7 +9,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import com.server.game.model.game.GameState;
-import com.server.game.netty.messageHandler.TroopMessageHandler;
+import com.server.game.service.scheduler.GameTickEngine;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,15 +18,17 @@ import lombok.extern.slf4j.Slf4j;
 public class GameCoordinator {
     
     private final GameStateService gameStateService;
-    private final TroopMessageHandler troopMessageHandler;
+    private final GameTickEngine gameTickEngine;
 
-    // Store all currently active GameStates
+    // Store all currently active GameStates, by id for lookups
+    // and in a copy-on-write registry for allocation free iteration
     private final Map<String, GameState> gameStates = new ConcurrentHashMap<>();
+    private final GameRegistry gameRegistry = new GameRegistry();
 
 
-    public GameCoordinator(@Lazy GameStateService gameStateService, @Lazy TroopMessageHandler troopMessageHandler) {
+    public GameCoordinator(@Lazy GameStateService gameStateService, @Lazy GameTickEngine gameTickEngine) {
         this.gameStateService = gameStateService;
-        this.troopMessageHandler = troopMessageHandler;
+        this.gameTickEngine = gameTickEngine;
     }
     
     /**
@@ -34,6 +36,8 @@ public class GameCoordinator {
      */
     public boolean registerGame(GameState gameState) {
         gameStates.put(gameState.getGameId(), gameState);
+        gameRegistry.add(gameState);
+        gameTickEngine.assign(gameState); // Pin the game to one tick shard
         log.info("Registered game with all schedulers: {}", gameState.getGameId());
         return true;
     }
@@ -42,15 +46,19 @@ public class GameCoordinator {
      * Hủy đăng ký game khỏi cả hai schedulers và cleanup
      */
     public void unregisterGame(String gameId) {
+        GameState gameState = gameStates.get(gameId);
+        if (gameState != null) {
+            gameTickEngine.release(gameState); // Stop ticking before cleanup
+        }
         gameStateService.cleanupGameState(gameId);
         // pvpService.cleanupGameCooldowns(gameId); // Clean up attack cooldowns
-        troopMessageHandler.cleanupGameCooldowns(gameId); // Clean up troop spawn cooldowns
-        gameStates.remove(gameId); // Remove GameState (model)
+        // Troop spawn cooldowns and respawns live on the game's timer wheel and go away with it
+        this.popGameState(gameId); // Remove GameState (model)
         log.info("Unregistered game from all schedulers and cleaned up game state: {}", gameId);
     }
 
     public int getActiveGameCount() {
-        return this.gameStates.size();
+        return this.gameRegistry.size();
     }
 
     
@@ -61,8 +69,22 @@ public class GameCoordinator {
         return new HashSet<>(gameStates.keySet());
     }
 
-    public Set<GameState> getAllActiveGameStates() {
-        return new HashSet<>(gameStates.values());
+    /**
+     * Snapshot of the active games in registration order, must not be modified
+     */
+    public GameState[] getAllActiveGameStates() {
+        return gameRegistry.snapshot();
+    }
+
+    public boolean isActive(GameState gameState) {
+        return gameRegistry.contains(gameState);
+    }
+
+    /**
+     * Bumped every time a game is registered or removed
+     */
+    public long getRegistryVersion() {
+        return gameRegistry.getVersion();
     }
 
     
@@ -75,6 +97,10 @@ public class GameCoordinator {
     }
 
     public GameState popGameState(String gameId) {
-        return gameStates.remove(gameId);
+        GameState removed = gameStates.remove(gameId);
+        if (removed != null) {
+            gameRegistry.remove(removed);
+        }
+        return removed;
     }
 }
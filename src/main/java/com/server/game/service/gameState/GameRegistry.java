@@ -0,0 +1,77 @@
+package com.server.game.service.gameState;
+
+import com.server.game.model.game.GameState;
+
+/**
+ * Copy-on-write, array backed set of games.
+ * Registering or removing a game copies the array (rare), iterating the
+ * snapshot allocates nothing, keeps registration order and never sees a
+ * concurrent modification. The version is bumped on every change.
+ */
+public class GameRegistry {
+
+    private static final GameState[] EMPTY = new GameState[0];
+
+    private volatile GameState[] games = EMPTY;
+    private volatile long version = 0;
+
+
+    public synchronized boolean add(GameState gameState) {
+        GameState[] current = games;
+        if (indexOf(current, gameState) >= 0) {
+            return false;
+        }
+
+        GameState[] updated = new GameState[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = gameState;
+
+        games = updated;
+        version++;
+        return true;
+    }
+
+    public synchronized boolean remove(GameState gameState) {
+        GameState[] current = games;
+        int index = indexOf(current, gameState);
+        if (index < 0) {
+            return false;
+        }
+
+        GameState[] updated = current.length == 1 ? EMPTY : new GameState[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+
+        games = updated;
+        version++;
+        return true;
+    }
+
+    /**
+     * The current games, must not be modified by the caller
+     */
+    public GameState[] snapshot() {
+        return games;
+    }
+
+    public boolean contains(GameState gameState) {
+        return indexOf(games, gameState) >= 0;
+    }
+
+    public int size() {
+        return games.length;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    private static int indexOf(GameState[] array, GameState gameState) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == gameState) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
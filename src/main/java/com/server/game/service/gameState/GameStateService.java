@@ -1,28 +1,20 @@
 package com.server.game.service.gameState;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
 import com.server.game.model.game.Champion;
 import com.server.game.model.game.GameState;
 import com.server.game.model.game.SlotState;
+import com.server.game.model.game.ShapeQuery;
+import com.server.game.model.game.ShapeQuery.TeamFilter;
 import com.server.game.model.game.building.Tower;
 import com.server.game.model.game.context.AttackContext;
 import com.server.game.model.game.context.CastSkillContext;
 import com.server.game.model.game.entityIface.HasFixedPosition;
 import com.server.game.model.game.entityIface.SkillReceivable;
-import com.server.game.model.map.component.GridCell;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.model.map.shape.Shape;
 import com.server.game.netty.ChannelManager;
@@ -54,9 +46,6 @@ public class GameStateService {
     private final GameStateMessageHandler gameStateMessageHandler;
     private final MoveService moveService;
 
-    // Track active respawn schedulers to prevent duplicates: gameId:slot -> scheduler
-    private final Map<String, ScheduledExecutorService> activeRespawnSchedulers = new ConcurrentHashMap<>();
-
     
     public GameState getGameStateById(String gameId) {
         GameState gameState = gameCoordinator.getGameState(gameId);
@@ -67,7 +56,7 @@ public class GameStateService {
         return gameState;
     }
 
-    public Set<GameState> getAllActiveGameStates() {
+    public GameState[] getAllActiveGameStates() {
         return gameCoordinator.getAllActiveGameStates();
     }
 
@@ -160,21 +149,15 @@ public class GameStateService {
         }
 
         EntityDeathSend deathMessage = new EntityDeathSend(towerId);
-        Channel channel = ChannelManager.getAnyChannelByGameId(gameId);
-        if (channel != null) {
-            channel.writeAndFlush(deathMessage);
-            //log.info("Sent tower death message for gameId: {}, towerId: {}", gameId, towerId);
-        } else {
+        if (!ChannelManager.broadcastToGame(gameId, deathMessage)) {
             log.warn("No channel found for gameId: {} when sending tower death message", gameId);
         }
     }
 
     public void sendEntitiesRemoved(String gameId, List<String> removedEntityIds, long timestamp) {
         EntitiesRemovedSend entitiesRemovedSend = new EntitiesRemovedSend(removedEntityIds, timestamp);
-        Channel channel = ChannelManager.getAnyChannelByGameId(gameId);
-        if (channel != null) {
+        if (ChannelManager.broadcastToGame(gameId, entitiesRemovedSend)) {
             log.info("Sending remove entities");
-            channel.writeAndFlush(entitiesRemovedSend);
             // log.info("Sent entities removed message for gameId: {}", gameId);
         } else {
             log.warn("No channel found for gameId: {} when sending entities removed message", gameId);
@@ -208,14 +191,12 @@ public class GameStateService {
 
     public void scheduleChampionRespawn(SlotState slotState, short respawnTime) {
 
-        String gameId = slotState.getGameState().getGameId();
+        GameState gameState = slotState.getGameState();
+        String gameId = gameState.getGameId();
         short slot = slotState.getSlot();
-
-        // Create a unique key for this respawn
-        String respawnKey = gameId + ":" + slot;
         
         // Check if a respawn is already scheduled for this champion
-        if (activeRespawnSchedulers.containsKey(respawnKey)) {
+        if (slotState.getPendingRespawn() != null && slotState.getPendingRespawn().isPending()) {
             log.warn("Respawn already scheduled for gameId: {}, slot: {}, ignoring duplicate", gameId, slot);
             return;
         }
@@ -230,18 +211,8 @@ public class GameStateService {
             log.warn("No channel found for gameId: {}, slot: {}", gameId, slot);
         }
 
-        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-        activeRespawnSchedulers.put(respawnKey, scheduler);
-        
-        scheduler.schedule(() -> {
-            try {
-                respawnChampion(gameId, slot);
-            } finally {
-                // Clean up the scheduler from tracking map
-                activeRespawnSchedulers.remove(respawnKey);
-                scheduler.shutdown();
-            }
-        }, respawnTime, TimeUnit.SECONDS);
+        slotState.setPendingRespawn(
+            gameState.schedule(Util.seconds2GameTick(respawnTime), () -> respawnChampion(gameId, slot)));
     }
 
     /**
@@ -274,10 +245,7 @@ public class GameStateService {
         ChampionRespawnSend respawnSend = new ChampionRespawnSend(
             slotState.getChampion().getStringId(), 
             initialPosition, rotateAngle, maxHealth);
-        Channel channel = ChannelManager.getAnyChannelByGameId(gameId);
-        if (channel != null) {
-            channel.writeAndFlush(respawnSend);
-        }
+        ChannelManager.broadcastToGame(gameId, respawnSend);
     }
 
     /**
@@ -360,145 +328,29 @@ public class GameStateService {
         gameState.incrementTick();
     }
 
-    public Set<Entity> getEntitiesByGridCell(GameState gameState, GridCell gridCell) {
-        if (gameState == null || gridCell == null) {
-            // log.info("Invalid parameters for getting entities by grid cell");
-            return null;
-        }
-        
-        return gameState.getGrid2Entity().get(gridCell);
-    }
-
-    // called before update Entity's current position 
-    public void removeEntityFromGridCellMapping(Entity entity) {
-        if (entity == null) {
-            log.warn("Invalid entity for removing from grid cell mapping");
-            return;
-        }
-
-        GridCell oldGridCell = entity.getCurrentGridCell();
-        if (oldGridCell == null) {
-            log.warn("Entity {} has no current grid cell, cannot remove from mapping", entity.getStringId());
-            return;
-        }
-
-        GameState gameState = entity.getGameState();
-        gameState.getGrid2Entity().computeIfPresent(oldGridCell, (cell, entities) -> {
-            entities.remove(entity);
-            // // log.info("Removed entity {} from grid cell {}", entity.getStringId(), cell);
-
-            if (entities.isEmpty()) {
-                gameState.getGrid2Entity().remove(cell);
-                // // log.info("Removed empty grid cell {} from gameId: {}", cell, gameState.getGameId());
-            }
-            return entities; // no need
-        });
-    }
-
-
     /**
-     * Update the entity-grid cell mapping for an entity in the game state
-     * Called after the entity's current position is updated
-     * @param gameState The game state to update
-     * @param entity The entity to update
+     * Entities whose position is inside the scope, written to the given buffer
+     * @return the number of entities found
      */
-    public void addEntityToGridCellMapping(Entity entity) {
-        if (entity == null) {
-            log.warn("Invalid parameters for updating entity grid cell mapping");
-            return;
-        }
-
-        GridCell newGridCell = entity.getCurrentGridCell();
-
-        // // log.info("Updating entity, new position: {} to grid cell {}", 
-        //         // entity.getCurrentPosition(), newGridCell);
-        
-        GameState gameState = entity.getGameState();
-        gameState.getGrid2Entity().computeIfAbsent(newGridCell, k -> ConcurrentHashMap.newKeySet()).add(entity);        
-    }
-
-
-    public Set<Entity> getEntitiesInScope(GameState gameState, Shape scope) {
-        
-        int dir[][] = Util.EIGHT_DIRECTIONS;
-
-        HashSet<GridCell> visitedCells = new HashSet<>();
-        
-        // Use BFS to find all GridCells that inside the ShapeInterface scope
-        Set<Entity> entitiesInScope = ConcurrentHashMap.newKeySet();
-        
-        Queue<GridCell> cellsToCheck = new ConcurrentLinkedQueue<>();
-        GridCell initialCell = gameState.toGridCell(scope.getCenter());
-        cellsToCheck.offer(initialCell);
-        visitedCells.add(initialCell);
-
-        while(!cellsToCheck.isEmpty()) {
-            GridCell currentCell = cellsToCheck.poll();
-            if (currentCell == null) {
-                continue;
-            }
-
-
-            Set<Entity> entities = this.getEntitiesByGridCell(gameState, currentCell);
-            if (entities != null) {
-                entitiesInScope.addAll(entities);
-            }
-
-            Vector2 cellCenter = gameState.toPosition(currentCell);
-            if (scope.contains(cellCenter)) {
-                // Add all entities in this cell to the result set
-                
-            }
-
-            // Check neighboring cells
-            for (int[] direction : dir) {
-                GridCell neighborCell = currentCell.add(direction[0], direction[1]);
-                
-                if (!gameState.isValidGridCell(neighborCell) || 
-                    visitedCells.contains(neighborCell) ||
-                    !scope.contains(gameState.toPosition(neighborCell))) {
-                    continue; // Skip invalid grid cells, already visited cells, or cells outside the scope
-                }
-                
-                cellsToCheck.offer(neighborCell);
-                visitedCells.add(neighborCell);
-            }
-        }
-    
-        return entitiesInScope;
+    public int getEntitiesInScope(GameState gameState, Shape scope, List<Entity> out) {
+        return ShapeQuery.query(gameState, scope, null, TeamFilter.ALL, Entity.class, out);
     }
 
-    public Set<Entity> getEnemiesInScope(GameState gameState, Shape scope, SlotState slotState) {
-        Set<Entity> res = this.getEntitiesInScope(gameState, scope);
-        for (Entity entity : res) {
-            if (slotState.equals(entity.getOwnerSlot())) {
-                res.remove(entity);
-            }
-        }
-        return res;
+    public int getEnemiesInScope(GameState gameState, Shape scope, SlotState slotState, List<Entity> out) {
+        return ShapeQuery.query(gameState, scope, slotState, TeamFilter.ENEMIES, Entity.class, out);
     }
 
-    public Set<Entity> getAlliesInScope(GameState gameState, Shape scope, SlotState slotState) {
-        Set<Entity> res = this.getEntitiesInScope(gameState, scope);
-        for (Entity entity : res) {
-            if (!slotState.equals(entity.getOwnerSlot())) {
-                res.remove(entity);
-            }
-        }
-        return res;
+    public int getAlliesInScope(GameState gameState, Shape scope, SlotState slotState, List<Entity> out) {
+        return ShapeQuery.query(gameState, scope, slotState, TeamFilter.ALLIES, Entity.class, out);
     }
 
-    public Set<SkillReceivable> getSkillReceivableEnemiesInScope(GameState gameState, Shape scope, SlotState slotState) {
-        Set<Entity> entities = this.getEnemiesInScope(gameState, scope, slotState);
-        return entities.stream()
-            .filter(entity -> entity instanceof SkillReceivable)
-            .map(SkillReceivable.class::cast)
-            .collect(Collectors.toSet());
+    public int getSkillReceivableEnemiesInScope(GameState gameState, Shape scope, SlotState slotState,
+        List<SkillReceivable> out) {
+        return ShapeQuery.query(gameState, scope, slotState, TeamFilter.ENEMIES, SkillReceivable.class, out);
     }
 
     public void stopChampionsAttackingTo(GameState gameState, Entity entity) {
-        Set<Champion> champions = gameState.getChampions();
-        for (Champion champion : champions) {
+        for (Champion champion : gameState.getChampions()) {
             Entity attackTarget = champion.getAttackTarget();
             if (entity.equals(attackTarget)) {
                 this.setStopAttacking(champion);
@@ -513,6 +365,14 @@ public class GameStateService {
         }
         moveService.setMove(mover, toPosition, false);
     }
+
+    public void setChase(Entity mover, Entity target) {
+        if (mover instanceof HasFixedPosition) {
+            log.debug("Cannot set chase for entity: {}", mover.getStringId());
+            return;
+        }
+        moveService.setChase(mover, target);
+    }
     
     public void setStopMoving(Entity mover, boolean isForced) {
         if (mover instanceof HasFixedPosition) {
@@ -538,8 +398,29 @@ public class GameStateService {
     }
 
 
-    public void sendPositionUpdate(GameState gameState, Entity mover) {
-        this.gameStateMessageHandler.sendPositionUpdate(gameState, mover);
+    /**
+     * The position is sent with the others at the end of the tick, see flushPositionUpdates
+     */
+    public void queuePositionUpdate(GameState gameState, Entity mover) {
+        gameState.getMovedEntities().add(mover);
+    }
+
+    /**
+     * Send the positions of all entities that moved during this tick in one message.
+     * Entities that died or were removed after moving are left out, the queue
+     * is always cleared.
+     */
+    public void flushPositionUpdates(GameState gameState) {
+        List<Entity> movedEntities = gameState.getMovedEntities();
+        try {
+            movedEntities.removeIf(mover -> !mover.isAlive()
+                || gameState.getEntityByStringId(mover.getStringId()) != mover);
+            if (!movedEntities.isEmpty()) {
+                this.gameStateMessageHandler.sendPositionUpdates(gameState, movedEntities);
+            }
+        } finally {
+            movedEntities.clear();
+        }
     }
 
     public void sendInPlaygroundUpdateMessage(GameState gameState, SlotState slot, boolean isInPlayground) {
@@ -9,6 +9,7 @@ import com.server.game.model.game.GoldMine;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.resource.model.GameMap.Playground;
 import com.server.game.service.gameState.GameStateService;
+import com.server.game.util.MapQueryTables;
 import com.server.game.util.Util;
 
 import lombok.AccessLevel;
@@ -45,6 +46,28 @@ public class GoldService {
         }
 
         boolean isSmallGoldMine = Util.randomBoolean();
+        Vector2 randomGoldMinePosition = this.randomWalkablePlaygroundPosition(gameState);
+        if (randomGoldMinePosition == null) {
+            log.warn("No walkable position in the playground of game {}, cannot generate gold mine.", gameState.getGameId());
+            return;
+        }
+
+        // this method already push the gold mine to gameState's entities list
+        GoldMine goldMine = goldMineFactory.createGoldMine(gameState, isSmallGoldMine, randomGoldMinePosition);
+
+        gameState.getGameStateService()
+            .sendGoldMineSpawnMessage(gameState.getGameId(), goldMine.getStringId(), isSmallGoldMine, randomGoldMinePosition, goldMine.getInitialHP());
+
+        gameState.increaseCurrentNumGoldMine();
+        gameState.updateNextGoldMineGenerationTick();
+    }
+
+    private Vector2 randomWalkablePlaygroundPosition(GameState gameState) {
+        MapQueryTables mapQueryTables = gameState.getMapQueryTables();
+        if (mapQueryTables != null) {
+            return mapQueryTables.getPlayground().randomPosition();
+        }
+
         Playground playground = gameState.getPlayground();
         Vector2 playgroundCenter = playground.getPosition();
         Float playgroundLength = playground.getLength();
@@ -63,14 +86,6 @@ public class GoldService {
             );
         } while (!gameState.isWalkable(randomGoldMinePosition));
 
-        // this method already push the gold mine to gameState's entities list
-        GoldMine goldMine = goldMineFactory.createGoldMine(gameState, isSmallGoldMine, randomGoldMinePosition);
-
-        gameState.getGameStateService()
-            .sendGoldMineSpawnMessage(gameState.getGameId(), goldMine.getStringId(), isSmallGoldMine, randomGoldMinePosition, goldMine.getInitialHP());
-
-        gameState.increaseCurrentNumGoldMine();
-        gameState.updateNextGoldMineGenerationTick();
-    }       
-        
-}
\ No newline at end of file
+        return randomGoldMinePosition;
+    }
+}
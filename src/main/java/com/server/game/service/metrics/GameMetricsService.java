@@ -0,0 +1,83 @@
+package com.server.game.service.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.server.game.dto.response.GameTickMetricsResponse;
+import com.server.game.dto.response.GameTickMetricsResponse.PhaseMetrics;
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.TickProfiler;
+import com.server.game.model.game.TickSnapshot;
+import com.server.game.model.game.TickStats;
+import com.server.game.service.gameState.GameCoordinator;
+import com.server.game.util.LatencyHistogram;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Read-only view of the tick profiler of running games.
+ * Values are read while the tick threads keep writing, so they can be slightly stale.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GameMetricsService {
+
+    GameCoordinator gameCoordinator;
+
+    public List<GameTickMetricsResponse> getAllGameTickMetrics() {
+        List<GameTickMetricsResponse> metrics = new ArrayList<>();
+        for (GameState gameState : gameCoordinator.getAllActiveGameStates()) {
+            metrics.add(this.toResponse(gameState));
+        }
+        return metrics;
+    }
+
+    public GameTickMetricsResponse getGameTickMetrics(String gameId) {
+        GameState gameState = gameCoordinator.getGameState(gameId);
+        return gameState != null ? this.toResponse(gameState) : null;
+    }
+
+    private GameTickMetricsResponse toResponse(GameState gameState) {
+        // Counters published by the tick thread, the collections themselves belong to it
+        TickSnapshot snapshot = gameState.getTickSnapshot();
+
+        Map<String, PhaseMetrics> phases = new LinkedHashMap<>();
+        TickProfiler profiler = gameState.getTickProfiler();
+        for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+            LatencyHistogram histogram = profiler.getHistogram(phase);
+            phases.put(phase.name(), new PhaseMetrics(
+                histogram.getTotalCount(),
+                toMicros(histogram.getValueAtPercentile(50)),
+                toMicros(histogram.getValueAtPercentile(99)),
+                toMicros(histogram.getMaxValue())));
+        }
+
+        TickStats tickStats = gameState.getTickStats();
+
+        return new GameTickMetricsResponse(
+            gameState.getGameId(),
+            gameState.getTickShard(),
+            snapshot.getTick(),
+            snapshot.getNumEntities(),
+            gameState.getNumPlayers(),
+            snapshot.getNumTroops(),
+            snapshot.getNumTowers(),
+            snapshot.getNumGoldMines(),
+            tickStats.getOverrunCount(),
+            tickStats.getSkippedTicks(),
+            toMicros(tickStats.getAverageLatenessNanos()),
+            toMicros(tickStats.getMaxLatenessNanos()),
+            phases);
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1000;
+    }
+}
@@ -2,8 +2,10 @@ package com.server.game.service.move;
 
 import org.springframework.stereotype.Service;
 
+import com.server.game.model.game.Champion;
 import com.server.game.model.game.Entity;
 import com.server.game.model.game.GameState;
+import com.server.game.model.game.Troop;
 import com.server.game.model.game.context.MoveContext;
 import com.server.game.model.map.component.Vector2;
 import com.server.game.service.attack.AttackService;
@@ -37,6 +39,21 @@ public class MoveService {
         this.setMove(ctx, needStopAttack);
     }
 
+    /**
+     * Đuổi theo một entity đang di chuyển.
+     * The current chase of the same target keeps its path, repaired as the
+     * target moves, a new search only runs when the repair fails
+     */
+    public void setChase(Entity entity, Entity target) {
+        MoveContext current = entity.getMoveContext();
+        if (current != null && current.getChaseTarget() == target && current.followTarget()) {
+            return;
+        }
+
+        MoveContext ctx = MoveContext.chase(entity.getGameState(), entity, target, System.currentTimeMillis());
+        this.setMove(ctx, false);
+    }
+
     public void setStopMoving(Entity entity) {
         entity.setMoveContext(null, true);
     }
@@ -46,8 +63,12 @@ public class MoveService {
      * Được gọi mỗi lần trước khi broadcast vị trí
      */
     public void updatePositions(GameState gameState) {
-        for (Entity entity : gameState.getEntities()) {
-            this.updatePositionOf(entity);
+        // Only champions and troops can move
+        for (Champion champion : gameState.getChampions()) {
+            this.updatePositionOf(champion);
+        }
+        for (Troop troop : gameState.getTroops()) {
+            this.updatePositionOf(troop);
         }
     }
 
@@ -0,0 +1,163 @@
+package com.server.game.service.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.command.GameCommand;
+import com.server.game.model.game.context.MoveContext;
+import com.server.game.model.map.component.GridCell;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.util.ClusterGraph;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs path searches on a bounded worker pool instead of the tick thread.
+ *
+ * A MoveContext asks for its path here and starts with an empty one, the
+ * result is handed back to the game as a command, so it is applied by the
+ * tick thread at the start of the next tick. Identical requests in flight
+ * (same map, start and target cell) share one search, a request whose
+ * MoveContexts have all been replaced is skipped before it starts, and a
+ * result for a replaced MoveContext is dropped. When the queue is full the
+ * search runs on the calling thread.
+ */
+@Service
+@Slf4j
+public class AsyncPathfinder {
+
+    private record PathKey(short mapId, boolean hierarchical, GridCell start, GridCell target) {}
+
+    private final ThreadPoolExecutor executor;
+    private final Map<PathKey, PathRequest> inFlight = new ConcurrentHashMap<>();
+
+
+    public AsyncPathfinder(
+        @Value("${game.pathfinding.threads:2}") int numThreads,
+        @Value("${game.pathfinding.queue-size:256}") int queueSize) {
+
+        int threads = Math.max(1, numThreads);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "pathfinding-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+        log.info("Async pathfinder started with {} threads, queue size {}", threads, queueSize);
+    }
+
+    /**
+     * Search a path for the MoveContext, it gets it through MoveContext.applyPath
+     * on the tick thread of its game
+     */
+    public void requestPath(MoveContext ctx, GridCell startCell, GridCell targetCell) {
+        GameState gameState = ctx.getGameState();
+        ClusterGraph clusterGraph = gameState.getClusterGraph();
+        PathKey key = new PathKey(gameState.getGameMapGrid().getId(), clusterGraph != null, startCell, targetCell);
+
+        while (true) {
+            PathRequest created = new PathRequest(key, gameState.getGameMapGrid(), clusterGraph);
+            PathRequest existing = inFlight.putIfAbsent(key, created);
+            PathRequest request = existing != null ? existing : created;
+
+            if (request.addWaiter(ctx)) {
+                if (request == created) {
+                    executor.execute(request);
+                }
+                return;
+            }
+            // It finished in the meantime, start a new one
+            inFlight.remove(key, request);
+        }
+    }
+
+    public int getQueuedRequests() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    private final class PathRequest implements Runnable {
+        private final PathKey key;
+        private final GameMapGrid gameMapGrid;
+        private final ClusterGraph clusterGraph;
+
+        // Guarded by this, no waiter is added once the request is closed
+        private final List<MoveContext> waiters = new ArrayList<>(2);
+        private boolean closed = false;
+
+        PathRequest(PathKey key, GameMapGrid gameMapGrid, ClusterGraph clusterGraph) {
+            this.key = key;
+            this.gameMapGrid = gameMapGrid;
+            this.clusterGraph = clusterGraph;
+        }
+
+        synchronized boolean addWaiter(MoveContext ctx) {
+            if (closed) {
+                return false;
+            }
+            waiters.add(ctx);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            if (allCancelled()) {
+                inFlight.remove(key, this);
+                return;
+            }
+
+            List<GridCell> path;
+            try {
+                path = MoveContext.computePath(gameMapGrid, clusterGraph, key.start(), key.target());
+            } catch (RuntimeException e) {
+                log.error("Pathfinding from {} to {} failed", key.start(), key.target(), e);
+                path = List.of();
+            }
+
+            List<MoveContext> results;
+            synchronized (this) {
+                closed = true;
+                results = new ArrayList<>(waiters);
+            }
+            inFlight.remove(key, this);
+
+            // Shared by all waiters, only read by them
+            List<GridCell> result = path;
+            for (MoveContext ctx : results) {
+                if (!ctx.isPathRequestCancelled()) {
+                    ctx.getGameState().submitCommand(GameCommand.Type.PATH_RESULT, null, () -> ctx.applyPath(result));
+                }
+            }
+        }
+
+        private synchronized boolean allCancelled() {
+            for (MoveContext ctx : waiters) {
+                if (!ctx.isPathRequestCancelled()) {
+                    return false;
+                }
+            }
+            closed = true;
+            return true;
+        }
+    }
+}
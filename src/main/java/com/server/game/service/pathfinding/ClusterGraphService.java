@@ -0,0 +1,64 @@
+package com.server.game.service.pathfinding;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.util.ClusterGraph;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds and caches the HPA* cluster graph of the maps configured for
+ * hierarchical pathfinding. A graph is built the first time its map is
+ * loaded and shared by every game on that map.
+ */
+@Service
+@Slf4j
+public class ClusterGraphService {
+
+    private final Set<Short> hpaMapIds;
+    private final int clusterSize;
+    private final Map<Short, ClusterGraph> clusterGraphs = new ConcurrentHashMap<>();
+
+
+    public ClusterGraphService(
+        @Value("${game.pathfinding.hpa-map-ids:}") short[] hpaMapIds,
+        @Value("${game.pathfinding.hpa-cluster-size:10}") int clusterSize) {
+
+        this.hpaMapIds = new HashSet<>();
+        for (short id : hpaMapIds) {
+            this.hpaMapIds.add(id);
+        }
+        this.clusterSize = Math.max(2, clusterSize);
+    }
+
+    /**
+     * @return the cluster graph of the map, null if the map uses flat Theta*
+     */
+    public ClusterGraph getClusterGraph(GameMapGrid gameMapGrid) {
+        if (gameMapGrid == null || !hpaMapIds.contains(gameMapGrid.getId())) {
+            return null;
+        }
+
+        return clusterGraphs.computeIfAbsent(gameMapGrid.getId(), id -> {
+            long start = System.nanoTime();
+            ClusterGraph clusterGraph = ClusterGraph.build(gameMapGrid, clusterSize);
+            log.info("Built cluster graph of map {}: {} nodes, cluster size {}, in {}ms",
+                id, clusterGraph.getNumNodes(), clusterSize, (System.nanoTime() - start) / 1_000_000);
+            return clusterGraph;
+        });
+    }
+
+    /**
+     * Drop the graph of the map, it is built again from the next grid loaded
+     */
+    public void evict(short mapId) {
+        clusterGraphs.remove(mapId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.server.game.service.pathfinding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.util.FlowField;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared flow fields, for the many movers sent to the same place (troop
+ * group orders, minions of a slot). A field is keyed by the grid it was built
+ * on and its goal cell, and reused by every request whose goal is within the
+ * tolerance of an existing goal, so a wave of N troops costs one search
+ * instead of N. Games still running on a grid replaced by a map update keep
+ * their own fields, they never get one built on the new grid, or the reverse.
+ *
+ * The least recently used fields are evicted once the cache is full.
+ */
+@Service
+@Slf4j
+public class FlowFieldService {
+
+    // GameMapGrid has identity equality, each loaded grid gets its own entries
+    private record FlowKey(GameMapGrid gameMapGrid, int goalRow, int goalCol) {}
+
+    private final int goalTolerance;
+    // Access ordered, guarded by itself
+    private final LinkedHashMap<FlowKey, FlowField> flowFields;
+
+
+    public FlowFieldService(
+        @Value("${game.pathfinding.flow-field-cache-size:32}") int maxFlowFields,
+        @Value("${game.pathfinding.flow-field-goal-tolerance:8}") int goalTolerance) {
+
+        this.goalTolerance = Math.max(0, goalTolerance);
+        int capacity = Math.max(1, maxFlowFields);
+        this.flowFields = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FlowKey, FlowField> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * A flow field that leads to the goal: a cached one whose goal is within
+     * the tolerance and in line of sight of the goal, or a new one
+     * @return the field, null if the goal is not walkable
+     */
+    public FlowField getFlowField(GameMapGrid gameMapGrid, GridCell goal) {
+        if (gameMapGrid.isOutGrid(goal) || !gameMapGrid.isWalkable(goal)) {
+            return null;
+        }
+
+        FlowField cached = findCached(gameMapGrid, goal);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Built outside the lock, two games asking for the same goal at once
+        // may both build it, the last one wins
+        FlowField flowField = FlowField.build(gameMapGrid, goal, goalTolerance);
+        if (flowField == null) {
+            return null;
+        }
+        synchronized (flowFields) {
+            flowFields.put(new FlowKey(gameMapGrid, goal.r(), goal.c()), flowField);
+        }
+        log.debug("Built flow field of map {} to {}", gameMapGrid.getId(), goal);
+        return flowField;
+    }
+
+    /**
+     * Drop the fields of every grid of the map
+     */
+    public void evict(short mapId) {
+        synchronized (flowFields) {
+            flowFields.keySet().removeIf(key -> key.gameMapGrid().getId() == mapId);
+        }
+    }
+
+    private FlowField findCached(GameMapGrid gameMapGrid, GridCell goal) {
+        synchronized (flowFields) {
+            FlowField exact = flowFields.get(new FlowKey(gameMapGrid, goal.r(), goal.c()));
+            if (exact != null) {
+                return exact;
+            }
+
+            FlowKey bestKey = null;
+            int bestDistance = Integer.MAX_VALUE;
+            for (Map.Entry<FlowKey, FlowField> entry : flowFields.entrySet()) {
+                FlowKey key = entry.getKey();
+                int distance = Math.max(Math.abs(key.goalRow() - goal.r()), Math.abs(key.goalCol() - goal.c()));
+                if (key.gameMapGrid() != gameMapGrid || distance > goalTolerance || distance >= bestDistance) {
+                    continue;
+                }
+                FlowField flowField = entry.getValue();
+                if (flowField.isReachable(goal) && flowField.hasLineOfSight(flowField.getGoal(), goal)) {
+                    bestKey = key;
+                    bestDistance = distance;
+                }
+            }
+
+            // get() marks it as recently used
+            return bestKey != null ? flowFields.get(bestKey) : null;
+        }
+    }
+}
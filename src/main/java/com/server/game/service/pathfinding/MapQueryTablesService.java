@@ -0,0 +1,45 @@
+package com.server.game.service.pathfinding;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.server.game.resource.model.GameMap;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.util.MapQueryTables;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the MapQueryTables of a map the first time it is loaded,
+ * every game on the map then shares them.
+ */
+@Service
+@Slf4j
+public class MapQueryTablesService {
+
+    private final Map<Short, MapQueryTables> mapQueryTables = new ConcurrentHashMap<>();
+
+
+    public MapQueryTables getMapQueryTables(GameMap gameMap, GameMapGrid gameMapGrid) {
+        if (gameMap == null || gameMapGrid == null) {
+            return null;
+        }
+
+        return mapQueryTables.computeIfAbsent(gameMapGrid.getId(), id -> {
+            long start = System.nanoTime();
+            MapQueryTables tables = MapQueryTables.build(gameMap, gameMapGrid);
+            log.info("Built query tables of map {}: {} walkable playground cells, in {}ms",
+                id, tables.getPlayground().size(), (System.nanoTime() - start) / 1_000_000);
+            return tables;
+        });
+    }
+
+    /**
+     * Drop the tables of the map, they are built again from the next map loaded
+     */
+    public void evict(short mapId) {
+        mapQueryTables.remove(mapId);
+    }
+}
@@ -45,13 +45,13 @@ public class GameCleanupScheduler {
         long currentTime = System.currentTimeMillis();
         
         // Get all games that are currently tracked by GameCoordinator
-        Set<GameState> activeGameStates = gameCoordinator.getAllActiveGameStates();
+        GameState[] activeGameStates = gameCoordinator.getAllActiveGameStates();
 
-        if (activeGameStates.isEmpty()) {
+        if (activeGameStates.length == 0) {
             return; // No games to check
         }
 
-        log.debug("Checking {} games for empty channels", activeGameStates.size());
+        log.debug("Checking {} games for empty channels", activeGameStates.length);
 
         for (GameState gameState : activeGameStates) {
             Set<Channel> gameChannels = ChannelManager.getChannelsByGameId(gameState.getGameId());
@@ -69,7 +69,7 @@ public class GameCleanupScheduler {
         
         // Clean up tracking for games that no longer exist
         emptyGameTimestamps.keySet().removeIf(emptyGameState -> {
-            if (!activeGameStates.contains(emptyGameState)) {
+            if (!gameCoordinator.isActive(emptyGameState)) {
                 log.debug("Game {} no longer exists, removing from cleanup tracking", emptyGameState.getGameId());
                 return true;
             }
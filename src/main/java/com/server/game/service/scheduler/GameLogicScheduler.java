@@ -6,6 +6,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.server.game.model.game.GameState;
+import com.server.game.model.game.TickProfiler;
 import com.server.game.netty.ChannelManager;
 import com.server.game.netty.sendObject.HeartbeatMessage;
 import com.server.game.service.attack.AttackService;
@@ -17,6 +18,7 @@ import com.server.game.service.gold.GoldService;
 import com.server.game.service.move.MoveService;
 import com.server.game.service.tower.TowerDefenseService;
 import com.server.game.service.troop.TroopManager;
+import com.server.game.util.Util;
 
 import io.netty.channel.Channel;
 import lombok.AccessLevel;
@@ -38,35 +40,93 @@ public class GameLogicScheduler {
     DefensiveStanceService defensiveStanceService;
     DefenseService defenseService;
     TroopManager troopManager;
+
+    static final long SLOW_LOOP_INTERVAL_MS = 200;
+    static final long GOLD_LOOP_INTERVAL_MS = 1000;
+    static final long BACKGROUND_LOOP_INTERVAL_MS = 1000;
     
     /**
-     * Main game logic loop - runs every 33ms (~30 FPS)
+     * Run one tick for a single game, called by the tick shard the game is pinned to.
+     * The main logic runs every tick (33ms ~ 30 FPS), the slower systems run
+     * every few ticks so that all updates of a game stay on the same thread.
+     */
+    public void runTick(GameState gameState) {
+        TickProfiler profiler = gameState.getTickProfiler();
+        long tickStart = System.nanoTime();
+
+        gameLogicLoop(gameState, profiler, tickStart);
+
+        long currentTick = gameState.getCurrentTick();
+
+        if (currentTick % ticksEvery(SLOW_LOOP_INTERVAL_MS) == 0) {
+            long slowStart = System.nanoTime();
+            slowGameLogicLoop(gameState);
+            profiler.record(TickProfiler.Phase.SLOW_LOOP, slowStart);
+        }
+
+        if (currentTick % ticksEvery(GOLD_LOOP_INTERVAL_MS) == 0) {
+            goldGenerationLoop(gameState);
+        }
+
+        if (currentTick % ticksEvery(BACKGROUND_LOOP_INTERVAL_MS) == 0) {
+            backgroundGameLogicLoop(gameState);
+        }
+
+        gameState.publishTickSnapshot();
+        profiler.record(TickProfiler.Phase.TICK, tickStart);
+    }
+
+    private static long ticksEvery(long intervalMs) {
+        return Math.max(1, Math.round((double) intervalMs / Util.getGameTickIntervalMs()));
+    }
+
+    /**
+     * Main game logic loop - runs every tick
      * Handles movement updates and combat logic
      */
-    @Scheduled(fixedDelayString = "${game.tick-interval-ms}") // 33ms ~ 30 FPS for responsive gameplay
-    public void gameLogicLoop() {
-        for (GameState gameState : gameStateService.getAllActiveGameStates()) {
-            try {
+    private void gameLogicLoop(GameState gameState, TickProfiler profiler, long phaseStart) {
+        try {
+
+            // Update game tick
+            gameStateService.incrementTick(gameState);
+
+            // Fire timers due at this tick (respawns, cooldowns, skill expiries)
+            gameState.getTimerWheel().advance(gameState.getCurrentTick());
+            phaseStart = profiler.record(TickProfiler.Phase.TIMERS, phaseStart);
 
-                // Update game tick
-                gameStateService.incrementTick(gameState);
+            // Apply player commands received since the last tick
+            gameState.getCommandQueue().drain();
+            phaseStart = profiler.record(TickProfiler.Phase.COMMANDS, phaseStart);
 
-                // Process attack targeting and continuous combat
-                attackService.processAttacks(gameState);
+            // Process attack targeting and continuous combat
+            attackService.processAttacks(gameState);
+            phaseStart = profiler.record(TickProfiler.Phase.ATTACKS, phaseStart);
 
-                // Check for troop deaths and handle cleanup
-                troopManager.checkAndHandleAllTroopDeaths(gameState);
+            // Check for troop deaths and handle cleanup
+            troopManager.checkAndHandleAllTroopDeaths(gameState);
+            phaseStart = profiler.record(TickProfiler.Phase.TROOP_DEATHS, phaseStart);
 
-                // Update movement positions
-                moveService.updatePositions(gameState);
+            // Update movement positions
+            moveService.updatePositions(gameState);
+            phaseStart = profiler.record(TickProfiler.Phase.POSITIONS, phaseStart);
 
-                castSkillService.updateDurationSkills(gameState);
+            castSkillService.updateDurationSkills(gameState);
+            phaseStart = profiler.record(TickProfiler.Phase.DURATION_SKILLS, phaseStart);
 
-                goldService.randomlyGenerateGoldMine(gameState);
+            goldService.randomlyGenerateGoldMine(gameState);
+            phaseStart = profiler.record(TickProfiler.Phase.GOLD_MINE, phaseStart);
 
+        } catch (Exception e) {
+            log.error("Error in game logic loop for game: {}", gameState.getGameId(), e);
+        } finally {
+            // One position snapshot per tick for all entities that moved, also when
+            // a phase failed, so the queue never carries over to the next tick
+            try {
+                gameStateService.flushPositionUpdates(gameState);
             } catch (Exception e) {
-                log.error("Error in game logic loop for game: {}", gameState.getGameId(), e);
+                log.error("Error sending position updates for game: {}", gameState.getGameId(), e);
             }
+            profiler.record(TickProfiler.Phase.REPLICATION, phaseStart);
         }
     }
 
@@ -75,15 +135,12 @@ public class GameLogicScheduler {
      * Handles gold auto-generation when slot is in playground,
      * update every 1000ms (1 second)
      */
-    @Scheduled(fixedDelay = 1000) // 1000ms = 1 FPS for gold generation
-    public void goldGenerationLoop() {
-        for (GameState gameState : gameStateService.getAllActiveGameStates()) {
-            try {
-                goldService.autoIncreaseGold(gameState);
+    private void goldGenerationLoop(GameState gameState) {
+        try {
+            goldService.autoIncreaseGold(gameState);
 
-            } catch (Exception e) {
-                // log.error("Error in game logic loop for game: {}", gameState.getGameId(), e);
-            }
+        } catch (Exception e) {
+            // log.error("Error in game logic loop for game: {}", gameState.getGameId(), e);
         }
     }
 
@@ -92,22 +149,19 @@ public class GameLogicScheduler {
      * Slower game logic loop - runs every 200ms (5 FPS)
      * Handles less critical game systems
      */
-    @Scheduled(fixedDelay = 200) // 200ms = 5 FPS for non-critical systems
-    public void slowGameLogicLoop() {
-        for (GameState gameState : gameStateService.getAllActiveGameStates()) {
-            try {
-                defensiveStanceService.updateDefensiveStances(gameState);
-                defenseService.updateDefenses(gameState);
-                // NOTE: Add slower update systems here
-                // - Resource generation
-                // - AI decision making
-                // - Game statistics updates
-                // - Health regeneration
-                // - Status effect updates
-                
-            } catch (Exception e) {
-                log.error("Error in slow game logic loop for game: {}", gameState.getGameId(), e);
-            }
+    private void slowGameLogicLoop(GameState gameState) {
+        try {
+            defensiveStanceService.updateDefensiveStances(gameState);
+            defenseService.updateDefenses(gameState);
+            // NOTE: Add slower update systems here
+            // - Resource generation
+            // - AI decision making
+            // - Game statistics updates
+            // - Health regeneration
+            // - Status effect updates
+            
+        } catch (Exception e) {
+            log.error("Error in slow game logic loop for game: {}", gameState.getGameId(), e);
         }
     }
     
@@ -115,19 +169,16 @@ public class GameLogicScheduler {
      * Very slow game logic loop - runs every 1000ms (1 FPS)
      * Handles background game systems
      */
-    @Scheduled(fixedDelay = 1000) // 1000ms = 1 FPS for background systems
-    public void backgroundGameLogicLoop() {
-        for (GameState gameState : gameStateService.getAllActiveGameStates()) {
-            try {
-                // NOTE: Add background systems here
-                // - Game session cleanup
-                // - Performance metrics collection
-                // - Anti-cheat validation
-                // - Database persistence
-                
-            } catch (Exception e) {
-                log.error("Error in background game logic loop for game: {}", gameState.getGameId(), e);
-            }
+    private void backgroundGameLogicLoop(GameState gameState) {
+        try {
+            // NOTE: Add background systems here
+            // - Game session cleanup
+            // - Performance metrics collection
+            // - Anti-cheat validation
+            // - Database persistence
+            
+        } catch (Exception e) {
+            log.error("Error in background game logic loop for game: {}", gameState.getGameId(), e);
         }
     }
 
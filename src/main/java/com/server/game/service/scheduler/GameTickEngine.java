@@ -0,0 +1,180 @@
+package com.server.game.service.scheduler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.server.game.model.game.GameState;
+import com.server.game.service.gameState.GameRegistry;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the per-game tick on a fixed set of single-threaded shards.
+ * Each GameState is pinned to exactly one shard for its whole lifetime,
+ * so its tick always runs on the same thread and games on different
+ * shards tick in parallel.
+ *
+ * Ticks are fired at absolute deadlines (start + n * interval) so the
+ * tick rate does not drift with the tick duration. A shard that falls
+ * behind runs at most maxCatchUpTicks extra ticks back to back, the rest
+ * of the missed ticks are dropped.
+ */
+@Service
+@Slf4j
+public class GameTickEngine {
+
+    private final GameLogicScheduler gameLogicScheduler;
+    private final TickShard[] shards;
+    private final int maxCatchUpTicks;
+
+
+    public GameTickEngine(GameLogicScheduler gameLogicScheduler,
+        @Value("${game.tick-shards:0}") int configuredShards,
+        @Value("${game.tick-interval-ms}") long tickIntervalMs,
+        @Value("${game.tick-max-catch-up:3}") int maxCatchUpTicks) {
+
+        this.gameLogicScheduler = gameLogicScheduler;
+        this.maxCatchUpTicks = Math.max(0, maxCatchUpTicks);
+
+        // 0 (default) means one shard per available core
+        int numShards = configuredShards > 0
+            ? configuredShards
+            : Runtime.getRuntime().availableProcessors();
+
+        this.shards = new TickShard[numShards];
+        for (int i = 0; i < numShards; i++) {
+            this.shards[i] = new TickShard(i, tickIntervalMs);
+        }
+
+        log.info("Game tick engine started with {} shards, tick interval {}ms", numShards, tickIntervalMs);
+    }
+
+    /**
+     * Pin the game to the least loaded shard
+     */
+    public void assign(GameState gameState) {
+        if (gameState.getTickShard() >= 0) {
+            log.warn("Game {} is already assigned to tick shard {}", gameState.getGameId(), gameState.getTickShard());
+            return;
+        }
+
+        TickShard target = shards[0];
+        for (TickShard shard : shards) {
+            if (shard.games.size() < target.games.size()) {
+                target = shard;
+            }
+        }
+
+        gameState.assignTickShard(target.index);
+        target.games.add(gameState);
+        log.info("Assigned game {} to tick shard {}", gameState.getGameId(), target.index);
+    }
+
+    /**
+     * Remove the game from its shard, the game will not be ticked anymore
+     */
+    public void release(GameState gameState) {
+        int index = gameState.getTickShard();
+        if (index < 0 || index >= shards.length) {
+            return;
+        }
+
+        shards[index].games.remove(gameState);
+        gameState.assignTickShard(-1);
+        log.info("Released game {} from tick shard {}", gameState.getGameId(), index);
+    }
+
+    public int getNumShards() {
+        return shards.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (TickShard shard : shards) {
+            shard.executor.shutdown();
+        }
+    }
+
+    /**
+     * A game that throws (Errors included) is logged and skipped, it never
+     * stops the other games of the shard
+     */
+    private void tickShard(TickShard shard, long deadlineNanos, long periodNanos) {
+        for (GameState gameState : shard.games.snapshot()) {
+            try {
+                long startNanos = System.nanoTime();
+                gameLogicScheduler.runTick(gameState);
+                long endNanos = System.nanoTime();
+
+                gameState.getTickStats().recordTick(startNanos - deadlineNanos,
+                    endNanos - (deadlineNanos + periodNanos));
+            } catch (Throwable e) {
+                log.error("Error in tick shard {} for game: {}", shard.index, gameState.getGameId(), e);
+            }
+        }
+    }
+
+
+    private class TickShard {
+        final int index;
+        final GameRegistry games = new GameRegistry();
+        final ScheduledExecutorService executor;
+        final long periodNanos;
+        long nextDeadlineNanos;
+
+        TickShard(int index, long tickIntervalMs) {
+            this.index = index;
+            this.periodNanos = TimeUnit.MILLISECONDS.toNanos(tickIntervalMs);
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-tick-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            this.nextDeadlineNanos = System.nanoTime() + periodNanos;
+            this.executor.schedule(this::runDueTicks, periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Always schedules the next run, whatever is thrown meanwhile, an
+         * exception escaping the task would silently stop the whole shard
+         */
+        private void runDueTicks() {
+            try {
+                long now = System.nanoTime();
+                int ticksRun = 0;
+
+                // Run every tick whose deadline has passed, bounded by the catch-up budget
+                while (now - nextDeadlineNanos >= 0 && ticksRun <= maxCatchUpTicks) {
+                    long deadlineNanos = nextDeadlineNanos;
+                    nextDeadlineNanos += periodNanos;
+                    ticksRun++;
+                    tickShard(this, deadlineNanos, periodNanos);
+                    now = System.nanoTime();
+                }
+
+                // Still behind after catching up, drop the missed ticks and realign
+                if (now - nextDeadlineNanos >= 0) {
+                    long missedTicks = (now - nextDeadlineNanos) / periodNanos + 1;
+                    nextDeadlineNanos += missedTicks * periodNanos;
+                    for (GameState gameState : games.snapshot()) {
+                        gameState.getTickStats().recordSkippedTicks(missedTicks);
+                    }
+                    log.warn("Tick shard {} is behind, skipped {} ticks", index, missedTicks);
+                }
+            } catch (Throwable e) {
+                log.error("Error in tick shard {}", index, e);
+            } finally {
+                if (!executor.isShutdown()) {
+                    long delayNanos = Math.max(0, nextDeadlineNanos - System.nanoTime());
+                    executor.schedule(this::runDueTicks, delayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
@@ -22,8 +22,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
 
-import io.netty.channel.Channel;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -84,8 +82,11 @@ public class TroopManager {
 
     /** 
      * Set move position for a troop instance
+     * @param sharedTarget true if other movers are sent to the same place at once
+     * (a group order, the minion wave), they share a flow field instead of each
+     * searching a path
      */
-    public void setMovePosition(String gameId, String troopInstanceId, Vector2 position) {
+    public void setMovePosition(String gameId, String troopInstanceId, Vector2 position, boolean sharedTarget) {
         GameState gameState = gameStateService.getGameStateById(gameId);
         if (gameState == null) {
             log.warn("Game state not found for game ID: {}", gameId);
@@ -103,7 +104,10 @@ public class TroopManager {
         troop.updateDefensePosition(position);
         troop.setInDefensiveStance(false); // Disable defensive stance on manual move
         
-        MoveContext moveContext = moveContextFactory.createMoveContext(gameState, troopInstance, position, System.currentTimeMillis());
+        long timestamp = System.currentTimeMillis();
+        MoveContext moveContext = sharedTarget
+            ? moveContextFactory.createFlowMoveContext(gameState, troopInstance, position, timestamp)
+            : moveContextFactory.createMoveContext(gameState, troopInstance, position, timestamp);
         moveService.setMove(moveContext, true);
         
         log.debug("Manual move set for troop {} to position {}. Defensive stance disabled.", troopInstanceId, position);
@@ -141,24 +145,23 @@ public class TroopManager {
      * This is more efficient than checking troops one by one
      */
     public void checkAndHandleAllTroopDeaths(GameState gameState) {
-        // Collect all dead troops to avoid concurrent modification
-        var deadTroops = gameState.getEntities().stream()
-            .filter(entity -> entity.getStringId().startsWith("troop_"))
-            .filter(entity -> entity.getCurrentHP() <= 0)
-            .map(Entity::getStringId)
-            .toList();
-
-        // Process each dead troop
-        for (String troopId : deadTroops) {
+        // Iterate the snapshot, removing dead troops does not affect it
+        int numDeadTroops = 0;
+        for (Troop troop : gameState.getTroops()) {
+            if (troop.getCurrentHP() > 0) {
+                continue;
+            }
+
+            numDeadTroops++;
             try {
-                this.checkAndHandleTroopDeath(gameState, troopId);
+                this.checkAndHandleTroopDeath(gameState, troop.getStringId());
             } catch (Exception e) {
-                log.error("Error processing death for troop {} in game {}: {}", troopId, gameState.getGameId(), e.getMessage(), e);
+                log.error("Error processing death for troop {} in game {}: {}", troop.getStringId(), gameState.getGameId(), e.getMessage(), e);
             }
         }
 
-        if (!deadTroops.isEmpty()) {
-            log.info("Processed {} troop deaths in game {}", deadTroops.size(), gameState.getGameId());
+        if (numDeadTroops > 0) {
+            log.info("Processed {} troop deaths in game {}", numDeadTroops, gameState.getGameId());
         }
     }
 
@@ -167,9 +170,7 @@ public class TroopManager {
      */
     private void sendTroopDeathMessage(String gameId, String troopInstanceId) {
         EntityDeathSend deathMessage = new EntityDeathSend(troopInstanceId);
-        Channel channel = ChannelManager.getAnyChannelByGameId(gameId);
-        if (channel != null) {
-            channel.writeAndFlush(deathMessage);
+        if (ChannelManager.broadcastToGame(gameId, deathMessage)) {
             log.info("Sent troop death message for gameId: {}, troopId: {}", gameId, troopInstanceId);
         } else {
             log.warn("No channel found for gameId: {} when sending troop death message", gameId);
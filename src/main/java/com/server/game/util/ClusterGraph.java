@@ -0,0 +1,324 @@
+package com.server.game.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import com.server.game.resource.model.GameMapGrid;
+
+import lombok.Getter;
+
+/**
+ * Abstract graph of a map grid for hierarchical pathfinding (HPA*).
+ *
+ * The grid is split into square clusters. Along each border between two
+ * adjacent clusters, every run of cells walkable on both sides is an
+ * entrance, with one transition in its middle, or one at each end when the
+ * run is long. Each transition adds a node on both sides of the border,
+ * linked by an inter edge of cost 1. The nodes of a cluster are linked by
+ * intra edges whose cost is the shortest path inside the cluster. That
+ * path is stored, so a refined path is just the concatenation of the
+ * stored cell paths.
+ *
+ * Built once per map and immutable afterwards, shared by all games on the map.
+ */
+@Getter
+public class ClusterGraph {
+
+    // Runs of at least this many cells get a transition at each end
+    private static final int LONG_ENTRANCE = 6;
+
+    private final int rows;
+    private final int cols;
+    private final int clusterSize;
+    private final int clusterRows;
+    private final int clusterCols;
+
+    // node -> cell (row * cols + col)
+    private final int[] nodeCell;
+    // cluster -> nodes
+    private final int[][] clusterNodes;
+    // node -> edges (target, cost, cells from the node to the target inclusive)
+    private final int[][] edgeTarget;
+    private final double[][] edgeCost;
+    private final int[][][] edgePath;
+
+
+    private ClusterGraph(int rows, int cols, int clusterSize, int[] nodeCell, int[][] clusterNodes,
+        int[][] edgeTarget, double[][] edgeCost, int[][][] edgePath) {
+
+        this.rows = rows;
+        this.cols = cols;
+        this.clusterSize = clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+        this.nodeCell = nodeCell;
+        this.clusterNodes = clusterNodes;
+        this.edgeTarget = edgeTarget;
+        this.edgeCost = edgeCost;
+        this.edgePath = edgePath;
+    }
+
+    public int getNumNodes() {
+        return nodeCell.length;
+    }
+
+    public int clusterOf(int row, int col) {
+        return (row / clusterSize) * clusterCols + col / clusterSize;
+    }
+
+    public int clusterOfCell(int cell) {
+        return clusterOf(cell / cols, cell % cols);
+    }
+
+
+    public static ClusterGraph build(GameMapGrid grid, int clusterSize) {
+        int rows = grid.getNRows();
+        int cols = grid.getNCols();
+        int clusterRows = (rows + clusterSize - 1) / clusterSize;
+        int clusterCols = (cols + clusterSize - 1) / clusterSize;
+
+        // cell -> node, a cell can be a transition of several entrances
+        int[] cellNode = new int[rows * cols];
+        Arrays.fill(cellNode, -1);
+        List<Integer> nodeCells = new ArrayList<>();
+        List<int[]> interEdges = new ArrayList<>();
+
+        // Horizontal borders, between cluster rows
+        for (int b = clusterSize; b < rows; b += clusterSize) {
+            int border = b;
+            int above = border - 1;
+            int runStart = -1;
+            for (int col = 0; col <= cols; col++) {
+                boolean open = col < cols && grid.isWalkable(above, col) && grid.isWalkable(border, col)
+                    && (runStart < 0 || col % clusterSize != 0); // runs stop at cluster corners
+                if (open && runStart < 0) {
+                    runStart = col;
+                } else if (!open && runStart >= 0) {
+                    addEntrance(runStart, col - 1, c -> above * cols + c, c -> border * cols + c,
+                        cellNode, nodeCells, interEdges);
+                    runStart = (col < cols && grid.isWalkable(above, col) && grid.isWalkable(border, col)) ? col : -1;
+                }
+            }
+        }
+
+        // Vertical borders, between cluster columns
+        for (int b = clusterSize; b < cols; b += clusterSize) {
+            int border = b;
+            int left = border - 1;
+            int runStart = -1;
+            for (int row = 0; row <= rows; row++) {
+                boolean open = row < rows && grid.isWalkable(row, left) && grid.isWalkable(row, border)
+                    && (runStart < 0 || row % clusterSize != 0);
+                if (open && runStart < 0) {
+                    runStart = row;
+                } else if (!open && runStart >= 0) {
+                    addEntrance(runStart, row - 1, r -> r * cols + left, r -> r * cols + border,
+                        cellNode, nodeCells, interEdges);
+                    runStart = (row < rows && grid.isWalkable(row, left) && grid.isWalkable(row, border)) ? row : -1;
+                }
+            }
+        }
+
+        int numNodes = nodeCells.size();
+        int[] nodeCell = new int[numNodes];
+        List<List<Integer>> nodesByCluster = new ArrayList<>();
+        for (int c = 0; c < clusterRows * clusterCols; c++) {
+            nodesByCluster.add(new ArrayList<>());
+        }
+        for (int node = 0; node < numNodes; node++) {
+            int cell = nodeCells.get(node);
+            nodeCell[node] = cell;
+            nodesByCluster.get((cell / cols / clusterSize) * clusterCols + (cell % cols) / clusterSize).add(node);
+        }
+
+        List<List<Integer>> edges = new ArrayList<>();
+        List<List<Double>> costs = new ArrayList<>();
+        List<List<int[]>> paths = new ArrayList<>();
+        for (int node = 0; node < numNodes; node++) {
+            edges.add(new ArrayList<>());
+            costs.add(new ArrayList<>());
+            paths.add(new ArrayList<>());
+        }
+
+        for (int[] edge : interEdges) {
+            int a = edge[0];
+            int b = edge[1];
+            addEdge(edges, costs, paths, a, b, 1.0, new int[] { nodeCell[a], nodeCell[b] });
+            addEdge(edges, costs, paths, b, a, 1.0, new int[] { nodeCell[b], nodeCell[a] });
+        }
+
+        // Intra edges, one search inside the cluster from each of its nodes
+        ClusterSearch search = new ClusterSearch(clusterSize);
+        int[][] clusterNodes = new int[nodesByCluster.size()][];
+        for (int cluster = 0; cluster < nodesByCluster.size(); cluster++) {
+            List<Integer> nodes = nodesByCluster.get(cluster);
+            clusterNodes[cluster] = nodes.stream().mapToInt(Integer::intValue).toArray();
+
+            int minRow = (cluster / clusterCols) * clusterSize;
+            int minCol = (cluster % clusterCols) * clusterSize;
+            for (int from : clusterNodes[cluster]) {
+                search.run(grid, minRow, minCol, nodeCell[from]);
+                for (int to : clusterNodes[cluster]) {
+                    if (to == from || !search.reached(nodeCell[to])) {
+                        continue;
+                    }
+                    int[] path = search.pathFromSource(nodeCell[to]);
+                    addEdge(edges, costs, paths, from, to, search.distance(nodeCell[to]), path);
+                }
+            }
+        }
+
+        int[][] edgeTarget = new int[numNodes][];
+        double[][] edgeCost = new double[numNodes][];
+        int[][][] edgePath = new int[numNodes][][];
+        for (int node = 0; node < numNodes; node++) {
+            edgeTarget[node] = edges.get(node).stream().mapToInt(Integer::intValue).toArray();
+            edgeCost[node] = costs.get(node).stream().mapToDouble(Double::doubleValue).toArray();
+            edgePath[node] = paths.get(node).toArray(new int[0][]);
+        }
+
+        return new ClusterGraph(rows, cols, clusterSize, nodeCell, clusterNodes, edgeTarget, edgeCost, edgePath);
+    }
+
+    private static void addEntrance(int first, int last,
+        IntUnaryOperator sideA, IntUnaryOperator sideB,
+        int[] cellNode, List<Integer> nodeCells, List<int[]> interEdges) {
+
+        if (last - first + 1 >= LONG_ENTRANCE) {
+            addTransition(sideA.applyAsInt(first), sideB.applyAsInt(first), cellNode, nodeCells, interEdges);
+            addTransition(sideA.applyAsInt(last), sideB.applyAsInt(last), cellNode, nodeCells, interEdges);
+        } else {
+            int middle = (first + last) / 2;
+            addTransition(sideA.applyAsInt(middle), sideB.applyAsInt(middle), cellNode, nodeCells, interEdges);
+        }
+    }
+
+    private static void addTransition(int cellA, int cellB, int[] cellNode, List<Integer> nodeCells, List<int[]> interEdges) {
+        interEdges.add(new int[] { nodeOf(cellA, cellNode, nodeCells), nodeOf(cellB, cellNode, nodeCells) });
+    }
+
+    private static int nodeOf(int cell, int[] cellNode, List<Integer> nodeCells) {
+        if (cellNode[cell] < 0) {
+            cellNode[cell] = nodeCells.size();
+            nodeCells.add(cell);
+        }
+        return cellNode[cell];
+    }
+
+    private static void addEdge(List<List<Integer>> edges, List<List<Double>> costs, List<List<int[]>> paths,
+        int from, int to, double cost, int[] path) {
+        edges.get(from).add(to);
+        costs.get(from).add(cost);
+        paths.get(from).add(path);
+    }
+
+
+    /**
+     * Dijkstra restricted to one cluster, with the same 8 directions, costs and
+     * corner rule as ThetaStarPathfinder. Reused between runs.
+     */
+    static final class ClusterSearch {
+        private final int clusterSize;
+        private final double[] dist;
+        private final int[] parent;
+        private final PrimitiveMinHeap heap;
+
+        private int cols;
+        private int minRow;
+        private int minCol;
+        private int maxRow;
+        private int maxCol;
+
+        ClusterSearch(int clusterSize) {
+            int size = clusterSize * clusterSize;
+            this.clusterSize = clusterSize;
+            this.dist = new double[size];
+            this.parent = new int[size];
+            this.heap = new PrimitiveMinHeap(size);
+        }
+
+        int getClusterSize() {
+            return clusterSize;
+        }
+
+        void run(GameMapGrid grid, int minRow, int minCol, int sourceCell) {
+            this.cols = grid.getNCols();
+            this.minRow = minRow;
+            this.minCol = minCol;
+            this.maxRow = Math.min(minRow + clusterSize, grid.getNRows()) - 1;
+            this.maxCol = Math.min(minCol + clusterSize, cols) - 1;
+
+            Arrays.fill(dist, Double.MAX_VALUE);
+            Arrays.fill(parent, -1);
+            heap.clear();
+
+            int sourceLocal = local(sourceCell / cols, sourceCell % cols);
+            dist[sourceLocal] = 0;
+            heap.push(0, sourceLocal);
+
+            while (heap.size() > 0) {
+                double d = heap.peekKey();
+                int current = heap.pop();
+                if (d > dist[current]) {
+                    continue; // stale entry
+                }
+
+                int row = minRow + current / clusterSize;
+                int col = minCol + current % clusterSize;
+                for (int[] dir : Util.EIGHT_DIRECTIONS) {
+                    int newRow = row + dir[0];
+                    int newCol = col + dir[1];
+                    if (newRow < this.minRow || newRow > maxRow || newCol < this.minCol || newCol > maxCol
+                        || !grid.isWalkable(newRow, newCol)) {
+                        continue;
+                    }
+                    boolean diagonal = dir[0] != 0 && dir[1] != 0;
+                    if (diagonal && !grid.isWalkable(newRow, col) && !grid.isWalkable(row, newCol)) {
+                        continue;
+                    }
+
+                    int neighbor = local(newRow, newCol);
+                    double newDist = d + (diagonal ? Math.sqrt(2) : 1.0);
+                    if (newDist < dist[neighbor]) {
+                        dist[neighbor] = newDist;
+                        parent[neighbor] = current;
+                        heap.push(newDist, neighbor);
+                    }
+                }
+            }
+        }
+
+        boolean reached(int cell) {
+            int row = cell / cols;
+            int col = cell % cols;
+            return row >= minRow && row <= maxRow && col >= minCol && col <= maxCol
+                && dist[local(row, col)] < Double.MAX_VALUE;
+        }
+
+        double distance(int cell) {
+            return dist[local(cell / cols, cell % cols)];
+        }
+
+        /**
+         * Cells from the source to the given cell, both included
+         */
+        int[] pathFromSource(int cell) {
+            int length = 0;
+            for (int l = local(cell / cols, cell % cols); l >= 0; l = parent[l]) {
+                length++;
+            }
+            int[] path = new int[length];
+            int i = length;
+            for (int l = local(cell / cols, cell % cols); l >= 0; l = parent[l]) {
+                path[--i] = (minRow + l / clusterSize) * cols + minCol + l % clusterSize;
+            }
+            return path;
+        }
+
+        private int local(int row, int col) {
+            return (row - minRow) * clusterSize + (col - minCol);
+        }
+    }
+}
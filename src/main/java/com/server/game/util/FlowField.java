@@ -0,0 +1,152 @@
+package com.server.game.util;
+
+import java.util.Arrays;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.resource.model.GameMapGrid;
+
+import lombok.Getter;
+
+/**
+ * Integration field towards one goal cell: the distance of every cell to the
+ * goal (Dijkstra with the same 8 directions, costs and corner rule as
+ * ThetaStarPathfinder) and the next cell to step to from it.
+ *
+ * Computed once and shared by every mover heading to the goal, a mover reads
+ * its next waypoint from the field in constant time instead of running its
+ * own search. Immutable after build.
+ */
+public class FlowField {
+
+    // Cells followed ahead of the mover while they stay in line of sight
+    private static final int MAX_LOOKAHEAD = 8;
+    private static final int UNREACHABLE = -1;
+
+    @Getter
+    private final short mapId;
+    @Getter
+    private final GridCell goal;
+    // Movers whose target is this close to the goal (in cells) share the field
+    @Getter
+    private final int goalTolerance;
+
+    private final GameMapGrid grid;
+    private final int cols;
+    private final int goalCell;
+    // cell -> next cell towards the goal, the goal points to itself
+    private final int[] next;
+    private final float[] distance;
+
+
+    private FlowField(GameMapGrid gameMapGrid, GridCell goal, int goalTolerance, int[] next, float[] distance) {
+        this.mapId = gameMapGrid.getId();
+        this.goal = goal;
+        this.goalTolerance = goalTolerance;
+        this.grid = gameMapGrid;
+        this.cols = grid.getNCols();
+        this.goalCell = goal.r() * cols + goal.c();
+        this.next = next;
+        this.distance = distance;
+    }
+
+    /**
+     * @return the field, or null if the goal is outside the grid or not walkable
+     */
+    public static FlowField build(GameMapGrid grid, GridCell goal, int goalTolerance) {
+        if (grid.isOutGrid(goal) || !grid.isWalkable(goal)) {
+            return null;
+        }
+
+        int rows = grid.getNRows();
+        int cols = grid.getNCols();
+
+        int[] next = new int[rows * cols];
+        float[] distance = new float[rows * cols];
+        Arrays.fill(next, UNREACHABLE);
+        Arrays.fill(distance, Float.MAX_VALUE);
+
+        int goalCell = goal.r() * cols + goal.c();
+        next[goalCell] = goalCell;
+        distance[goalCell] = 0;
+
+        PrimitiveMinHeap heap = new PrimitiveMinHeap(rows * cols / 4);
+        heap.push(0, goalCell);
+        while (heap.size() > 0) {
+            double d = heap.peekKey();
+            int current = heap.pop();
+            if (d > distance[current]) {
+                continue; // stale entry
+            }
+
+            int row = current / cols;
+            int col = current % cols;
+            for (int[] dir : Util.EIGHT_DIRECTIONS) {
+                int newRow = row + dir[0];
+                int newCol = col + dir[1];
+                if (newRow < 0 || newRow >= rows || newCol < 0 || newCol >= cols || !grid.isWalkable(newRow, newCol)) {
+                    continue;
+                }
+                boolean diagonal = dir[0] != 0 && dir[1] != 0;
+                if (diagonal && !grid.isWalkable(newRow, col) && !grid.isWalkable(row, newCol)) {
+                    continue;
+                }
+
+                int neighbor = newRow * cols + newCol;
+                float newDistance = (float) (d + (diagonal ? Math.sqrt(2) : 1.0));
+                if (newDistance < distance[neighbor]) {
+                    distance[neighbor] = newDistance;
+                    next[neighbor] = current;
+                    heap.push(newDistance, neighbor);
+                }
+            }
+        }
+
+        return new FlowField(grid, goal, goalTolerance, next, distance);
+    }
+
+    public boolean isGoal(GridCell cell) {
+        return cell.r() == goal.r() && cell.c() == goal.c();
+    }
+
+    public boolean isReachable(GridCell cell) {
+        return cell.r() >= 0 && cell.r() < grid.getNRows() && cell.c() >= 0 && cell.c() < cols
+            && next[cell.r() * cols + cell.c()] != UNREACHABLE;
+    }
+
+    /**
+     * Path length from the cell to the goal, Float.MAX_VALUE if unreachable
+     */
+    public float distanceToGoal(GridCell cell) {
+        return distance[cell.r() * cols + cell.c()];
+    }
+
+    public boolean hasLineOfSight(GridCell from, GridCell to) {
+        return ThetaStarPathfinder.lineOfSight(from.r(), from.c(), to.r(), to.c(), grid);
+    }
+
+    /**
+     * Next waypoint from the cell: the farthest of the next few cells towards
+     * the goal that is still in line of sight, so movers cut corners like on
+     * a smoothed path
+     * @return the waypoint, or null if the cell is the goal or cannot reach it
+     */
+    public GridCell nextWaypoint(GridCell from) {
+        if (!isReachable(from)) {
+            return null;
+        }
+        int fromCell = from.r() * cols + from.c();
+        if (fromCell == goalCell) {
+            return null;
+        }
+
+        int waypoint = next[fromCell];
+        for (int i = 1; i < MAX_LOOKAHEAD && waypoint != goalCell; i++) {
+            int candidate = next[waypoint];
+            if (!ThetaStarPathfinder.lineOfSight(from.r(), from.c(), candidate / cols, candidate % cols, grid)) {
+                break;
+            }
+            waypoint = candidate;
+        }
+        return new GridCell(waypoint / cols, waypoint % cols);
+    }
+}
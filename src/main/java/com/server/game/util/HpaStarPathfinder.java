@@ -0,0 +1,284 @@
+package com.server.game.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.resource.model.GameMapGrid;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hierarchical pathfinding (HPA*) on a ClusterGraph.
+ *
+ * The start and the goal are connected to the nodes of their own cluster,
+ * A* runs on the abstract graph, and the result is refined by concatenating
+ * the cell paths stored on the edges. The final path gets the same line of
+ * sight smoothing as Theta*, so both return waypoints from start to end.
+ *
+ * Short queries, queries inside one cluster, and starts or goals on
+ * unwalkable cells go to ThetaStarPathfinder, which handles them well.
+ */
+@Slf4j
+public class HpaStarPathfinder {
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+
+    public static List<GridCell> findPath(ClusterGraph clusterGraph, GameMapGrid gameMapGrid, GridCell start, GridCell end) {
+        List<GridCell> path = new ArrayList<>();
+        findPath(clusterGraph, gameMapGrid, start, end, path);
+        return path;
+    }
+
+    /**
+     * Same as findPath, the path is written to the given list (cleared first)
+     * @return the number of cells in the path, 0 if there is no path
+     */
+    public static int findPath(ClusterGraph clusterGraph, GameMapGrid grid, GridCell start, GridCell end, List<GridCell> out) {
+        out.clear();
+
+        int clusterSize = clusterGraph.getClusterSize();
+        if (grid.isOutGrid(start) || grid.isOutGrid(end)
+            || !grid.isWalkable(start.r(), start.c()) || !grid.isWalkable(end.r(), end.c())
+            || clusterGraph.clusterOf(start.r(), start.c()) == clusterGraph.clusterOf(end.r(), end.c())
+            || Math.max(Math.abs(start.r() - end.r()), Math.abs(start.c() - end.c())) <= clusterSize) {
+            return ThetaStarPathfinder.findPath(grid, start, end, out);
+        }
+
+        int cols = grid.getNCols();
+        int startCell = start.r() * cols + start.c();
+        int endCell = end.r() * cols + end.c();
+
+        Workspace ws = WORKSPACE.get();
+        ws.prepare(clusterGraph);
+
+        int startCluster = clusterGraph.clusterOfCell(startCell);
+        int endCluster = clusterGraph.clusterOfCell(endCell);
+        ws.startSearch.run(grid, clusterMinRow(clusterGraph, startCluster), clusterMinCol(clusterGraph, startCluster), startCell);
+        ws.goalSearch.run(grid, clusterMinRow(clusterGraph, endCluster), clusterMinCol(clusterGraph, endCluster), endCell);
+
+        if (!searchAbstract(ws, clusterGraph, startCluster, endCell, endCluster)) {
+            log.debug(">>> No abstract path from {} to {}, falling back to Theta*", start, end);
+            return ThetaStarPathfinder.findPath(grid, start, end, out);
+        }
+
+        refine(ws, clusterGraph);
+        return smooth(ws, grid, out);
+    }
+
+
+    /**
+     * A* on the abstract nodes, the start is node N and the goal node N + 1
+     * @return true if the goal was reached
+     */
+    private static boolean searchAbstract(Workspace ws, ClusterGraph clusterGraph,
+        int startCluster, int endCell, int endCluster) {
+
+        int numNodes = clusterGraph.getNumNodes();
+        int startNode = numNodes;
+        int goalNode = numNodes + 1;
+        int cols = clusterGraph.getCols();
+        int endRow = endCell / cols;
+        int endCol = endCell % cols;
+        int[] nodeCell = clusterGraph.getNodeCell();
+
+        ws.nextGeneration();
+        ws.open(startNode, 0, -1, -1);
+        ws.heap.push(0, startNode);
+
+        while (ws.heap.size() > 0) {
+            int current = ws.heap.pop();
+            if (ws.closed[current] == ws.generation) {
+                continue; // stale entry
+            }
+            ws.closed[current] = ws.generation;
+            if (current == goalNode) {
+                return true;
+            }
+
+            double g = ws.g[current];
+            if (current == startNode) {
+                for (int node : clusterGraph.getClusterNodes()[startCluster]) {
+                    if (ws.startSearch.reached(nodeCell[node])) {
+                        relax(ws, node, g + ws.startSearch.distance(nodeCell[node]), current, -1, nodeCell[node], endRow, endCol, cols);
+                    }
+                }
+                continue;
+            }
+
+            int[] targets = clusterGraph.getEdgeTarget()[current];
+            double[] costs = clusterGraph.getEdgeCost()[current];
+            for (int e = 0; e < targets.length; e++) {
+                relax(ws, targets[e], g + costs[e], current, e, nodeCell[targets[e]], endRow, endCol, cols);
+            }
+            if (clusterGraph.clusterOfCell(nodeCell[current]) == endCluster && ws.goalSearch.reached(nodeCell[current])) {
+                relax(ws, goalNode, g + ws.goalSearch.distance(nodeCell[current]), current, -1, endCell, endRow, endCol, cols);
+            }
+        }
+        return false;
+    }
+
+    private static void relax(Workspace ws, int node, double g, int parent, int parentEdge,
+        int cell, int endRow, int endCol, int cols) {
+
+        if (ws.closed[node] == ws.generation || g >= ws.gOf(node)) {
+            return;
+        }
+        ws.open(node, g, parent, parentEdge);
+        ws.heap.push(g + Math.hypot(cell / cols - endRow, cell % cols - endCol), node);
+    }
+
+    /**
+     * Concatenate the cell paths of the abstract path into ws.cells
+     */
+    private static void refine(Workspace ws, ClusterGraph clusterGraph) {
+        int numNodes = clusterGraph.getNumNodes();
+        int startNode = numNodes;
+        int goalNode = numNodes + 1;
+
+        // Abstract path, goal back to start
+        ws.nodeCount = 0;
+        for (int node = goalNode; node >= 0; node = ws.parent[node]) {
+            ws.pushNode(node);
+        }
+
+        ws.cellCount = 0;
+        for (int i = ws.nodeCount - 1; i > 0; i--) {
+            int from = ws.nodes[i];
+            int to = ws.nodes[i - 1];
+            int[] segment;
+            if (from == startNode) {
+                segment = ws.startSearch.pathFromSource(clusterGraph.getNodeCell()[to]);
+            } else if (to == goalNode) {
+                // goal -> node, walked backwards
+                int[] reversed = ws.goalSearch.pathFromSource(clusterGraph.getNodeCell()[from]);
+                for (int k = reversed.length - 1; k >= 0; k--) {
+                    ws.pushCell(reversed[k]);
+                }
+                continue;
+            } else {
+                segment = clusterGraph.getEdgePath()[from][ws.parentEdge[to]];
+            }
+            for (int cell : segment) {
+                ws.pushCell(cell);
+            }
+        }
+    }
+
+    /**
+     * Keep the start, then each cell that is the last one visible from the
+     * previous waypoint, and the end
+     */
+    private static int smooth(Workspace ws, GameMapGrid grid, List<GridCell> out) {
+        int cols = grid.getNCols();
+        int[] cells = ws.cells;
+        int count = ws.cellCount;
+
+        int anchor = cells[0];
+        out.add(new GridCell(anchor / cols, anchor % cols));
+        for (int i = 1; i < count - 1; i++) {
+            int next = cells[i + 1];
+            if (!ThetaStarPathfinder.lineOfSight(anchor / cols, anchor % cols, next / cols, next % cols, grid)) {
+                anchor = cells[i];
+                out.add(new GridCell(anchor / cols, anchor % cols));
+            }
+        }
+        int last = cells[count - 1];
+        if (last != anchor) {
+            out.add(new GridCell(last / cols, last % cols));
+        }
+        return out.size();
+    }
+
+    private static int clusterMinRow(ClusterGraph clusterGraph, int cluster) {
+        return (cluster / clusterGraph.getClusterCols()) * clusterGraph.getClusterSize();
+    }
+
+    private static int clusterMinCol(ClusterGraph clusterGraph, int cluster) {
+        return (cluster % clusterGraph.getClusterCols()) * clusterGraph.getClusterSize();
+    }
+
+
+    /**
+     * Search state of one thread, reused by every query on that thread.
+     * A node is known in the current search only if its stamp is the current generation.
+     */
+    private static final class Workspace {
+        ClusterGraph clusterGraph;
+        ClusterGraph.ClusterSearch startSearch;
+        ClusterGraph.ClusterSearch goalSearch;
+
+        int generation = 0;
+        int[] stamp = new int[0];
+        int[] closed = new int[0];
+        double[] g = new double[0];
+        int[] parent = new int[0];
+        int[] parentEdge = new int[0];
+        final PrimitiveMinHeap heap = new PrimitiveMinHeap(64);
+
+        int[] nodes = new int[16];
+        int nodeCount = 0;
+        int[] cells = new int[64];
+        int cellCount = 0;
+
+        void prepare(ClusterGraph clusterGraph) {
+            if (this.clusterGraph == clusterGraph) {
+                return;
+            }
+            this.clusterGraph = clusterGraph;
+            if (startSearch == null || startSearch.getClusterSize() != clusterGraph.getClusterSize()) {
+                startSearch = new ClusterGraph.ClusterSearch(clusterGraph.getClusterSize());
+                goalSearch = new ClusterGraph.ClusterSearch(clusterGraph.getClusterSize());
+            }
+            int numNodes = clusterGraph.getNumNodes() + 2;
+            if (stamp.length < numNodes) {
+                stamp = new int[numNodes];
+                closed = new int[numNodes];
+                g = new double[numNodes];
+                parent = new int[numNodes];
+                parentEdge = new int[numNodes];
+                generation = 0;
+            }
+        }
+
+        void nextGeneration() {
+            heap.clear();
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(closed, 0);
+                generation = 1;
+            }
+        }
+
+        double gOf(int node) {
+            return stamp[node] == generation ? g[node] : Double.MAX_VALUE;
+        }
+
+        void open(int node, double gValue, int parentNode, int edge) {
+            stamp[node] = generation;
+            g[node] = gValue;
+            parent[node] = parentNode;
+            parentEdge[node] = edge;
+        }
+
+        void pushNode(int node) {
+            if (nodeCount == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodeCount * 2);
+            }
+            nodes[nodeCount++] = node;
+        }
+
+        // Joints shared by two segments are only kept once
+        void pushCell(int cell) {
+            if (cellCount > 0 && cells[cellCount - 1] == cell) {
+                return;
+            }
+            if (cellCount == cells.length) {
+                cells = Arrays.copyOf(cells, cellCount * 2);
+            }
+            cells[cellCount++] = cell;
+        }
+    }
+}
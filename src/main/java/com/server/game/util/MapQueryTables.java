@@ -0,0 +1,266 @@
+package com.server.game.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.resource.model.GameMap;
+import com.server.game.resource.model.GameMap.Playground;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.resource.model.SlotInfo;
+
+import lombok.Getter;
+
+/**
+ * Lookup tables of a map, computed once when the map is loaded and shared
+ * read-only by every game on it:
+ * - the nearest walkable cell of every cell,
+ * - the clearance of every cell (distance to the nearest obstacle or map edge),
+ * - the walkable cells of the playground and of each slot's minion area,
+ *   to pick a random walkable position in constant time.
+ *
+ * Distances are 8-direction path lengths over the grid, cardinal 1 and diagonal sqrt(2).
+ */
+public class MapQueryTables {
+
+    private static final int NONE = -1;
+
+    @Getter
+    private final short mapId;
+    private final int rows;
+    private final int cols;
+    private final float originX;
+    private final float originY;
+    private final float cellSize;
+
+    // cell -> nearest walkable cell, itself if walkable, NONE if the map has no walkable cell
+    private final int[] nearestWalkable;
+    // cell -> distance to the nearest blocked cell or to the map edge, 0 if blocked
+    private final float[] clearance;
+
+    @Getter
+    private final WalkableRegion playground;
+    private final Map<Short, WalkableRegion> minionAreas;
+
+
+    private MapQueryTables(GameMap gameMap, GameMapGrid grid) {
+        this.mapId = grid.getId();
+        this.rows = grid.getNRows();
+        this.cols = grid.getNCols();
+        this.originX = grid.getOrigin().x();
+        this.originY = grid.getOrigin().y();
+        this.cellSize = grid.getCellSize();
+
+        this.nearestWalkable = new int[rows * cols];
+        this.clearance = new float[rows * cols];
+        computeNearestWalkable(grid);
+        computeClearance(grid);
+
+        Playground playgroundInfo = gameMap.getPlayground();
+        if (playgroundInfo != null) {
+            Vector2 center = playgroundInfo.getPosition();
+            float halfX = playgroundInfo.getLength() / 2;
+            float halfY = playgroundInfo.getWidth() / 2;
+            this.playground = new WalkableRegion(grid,
+                center.x() - halfX, center.x() + halfX, center.y() - halfY, center.y() + halfY);
+        } else {
+            this.playground = new WalkableRegion(grid, 0, -1, 0, -1);
+        }
+
+        this.minionAreas = new HashMap<>();
+        for (Map.Entry<Short, SlotInfo> entry : gameMap.getSlot2SlotInfo().entrySet()) {
+            List<Vector2> corners = entry.getValue().getMinionPositions();
+            if (corners == null || corners.isEmpty()) {
+                continue;
+            }
+            float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE;
+            float minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+            for (Vector2 corner : corners) {
+                minX = Math.min(minX, corner.x());
+                maxX = Math.max(maxX, corner.x());
+                minY = Math.min(minY, corner.y());
+                maxY = Math.max(maxY, corner.y());
+            }
+            minionAreas.put(entry.getKey(), new WalkableRegion(grid, minX, maxX, minY, maxY));
+        }
+    }
+
+    public static MapQueryTables build(GameMap gameMap, GameMapGrid gameMapGrid) {
+        return new MapQueryTables(gameMap, gameMapGrid);
+    }
+
+    /**
+     * @return the nearest walkable cell (the cell itself if walkable), null if there is none
+     */
+    public GridCell nearestWalkable(GridCell cell) {
+        int nearest = nearestWalkable[clampedCell(cell)];
+        if (nearest == NONE) {
+            return null;
+        }
+        return nearest == cell.r() * cols + cell.c() ? cell : new GridCell(nearest / cols, nearest % cols);
+    }
+
+    /**
+     * Distance in cells from the cell to the nearest obstacle or map edge, 0 for a blocked cell
+     */
+    public float clearance(GridCell cell) {
+        return clearance[clampedCell(cell)];
+    }
+
+    /**
+     * @return the walkable cells of the slot's minion area, null if the slot has none
+     */
+    public WalkableRegion getMinionArea(short slot) {
+        return minionAreas.get(slot);
+    }
+
+    private int clampedCell(GridCell cell) {
+        int row = Math.max(0, Math.min(cell.r(), rows - 1));
+        int col = Math.max(0, Math.min(cell.c(), cols - 1));
+        return row * cols + col;
+    }
+
+
+    /**
+     * Multi-source Dijkstra from every walkable cell, through blocked cells too
+     */
+    private void computeNearestWalkable(GameMapGrid grid) {
+        float[] distance = new float[rows * cols];
+        Arrays.fill(distance, Float.MAX_VALUE);
+        Arrays.fill(nearestWalkable, NONE);
+
+        PrimitiveMinHeap heap = new PrimitiveMinHeap(rows * cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (grid.isWalkable(row, col)) {
+                    int cell = row * cols + col;
+                    distance[cell] = 0;
+                    nearestWalkable[cell] = cell;
+                    heap.push(0, cell);
+                }
+            }
+        }
+        propagate(heap, distance, nearestWalkable);
+    }
+
+    /**
+     * Multi-source Dijkstra from every blocked cell, the cells on the map edge
+     * start at 1 as if the outside of the map was blocked
+     */
+    private void computeClearance(GameMapGrid grid) {
+        Arrays.fill(clearance, Float.MAX_VALUE);
+
+        PrimitiveMinHeap heap = new PrimitiveMinHeap(rows * cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int cell = row * cols + col;
+                if (!grid.isWalkable(row, col)) {
+                    clearance[cell] = 0;
+                    heap.push(0, cell);
+                } else if (row == 0 || col == 0 || row == rows - 1 || col == cols - 1) {
+                    clearance[cell] = 1;
+                    heap.push(1, cell);
+                }
+            }
+        }
+        propagate(heap, clearance, null);
+    }
+
+    private void propagate(PrimitiveMinHeap heap, float[] distance, int[] source) {
+        while (heap.size() > 0) {
+            double d = heap.peekKey();
+            int current = heap.pop();
+            if (d > distance[current]) {
+                continue; // stale entry
+            }
+
+            int row = current / cols;
+            int col = current % cols;
+            for (int[] dir : Util.EIGHT_DIRECTIONS) {
+                int newRow = row + dir[0];
+                int newCol = col + dir[1];
+                if (newRow < 0 || newRow >= rows || newCol < 0 || newCol >= cols) {
+                    continue;
+                }
+                int neighbor = newRow * cols + newCol;
+                float newDistance = (float) (d + (dir[0] != 0 && dir[1] != 0 ? Math.sqrt(2) : 1.0));
+                if (newDistance < distance[neighbor]) {
+                    distance[neighbor] = newDistance;
+                    if (source != null) {
+                        source[neighbor] = source[current];
+                    }
+                    heap.push(newDistance, neighbor);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Walkable cells whose center is inside an axis aligned rectangle of the world
+     */
+    public final class WalkableRegion {
+        private final float minX;
+        private final float maxX;
+        private final float minY;
+        private final float maxY;
+        private final int[] cells;
+
+        private WalkableRegion(GameMapGrid grid, float minX, float maxX, float minY, float maxY) {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minY = minY;
+            this.maxY = maxY;
+
+            int[] found = new int[rows * cols];
+            int count = 0;
+            for (int row = 0; row < rows; row++) {
+                float centerY = originY - row * cellSize - cellSize / 2; // flip Y axis
+                if (centerY < minY || centerY > maxY) {
+                    continue;
+                }
+                for (int col = 0; col < cols; col++) {
+                    float centerX = originX + col * cellSize + cellSize / 2;
+                    if (centerX >= minX && centerX <= maxX && grid.isWalkable(row, col)) {
+                        found[count++] = row * cols + col;
+                    }
+                }
+            }
+            this.cells = Arrays.copyOf(found, count);
+        }
+
+        public int size() {
+            return cells.length;
+        }
+
+        public boolean isEmpty() {
+            return cells.length == 0;
+        }
+
+        /**
+         * A uniformly picked walkable cell, then a random point of that cell
+         * inside the rectangle
+         * @return the position, null if the region has no walkable cell
+         */
+        public Vector2 randomPosition() {
+            if (cells.length == 0) {
+                return null;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int cell = cells[random.nextInt(cells.length)];
+
+            float cellMinX = Math.max(minX, originX + (cell % cols) * cellSize);
+            float cellMaxX = Math.min(maxX, originX + (cell % cols + 1) * cellSize);
+            float cellMaxY = Math.min(maxY, originY - (cell / cols) * cellSize);
+            float cellMinY = Math.max(minY, originY - (cell / cols + 1) * cellSize);
+            // Rows grow downward, stay off the lower edge that belongs to the next row
+            return new Vector2(
+                cellMinX + random.nextFloat() * (cellMaxX - cellMinX),
+                cellMaxY - random.nextFloat() * (cellMaxY - cellMinY));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.server.game.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of (double key, int value) pairs in two parallel arrays,
+ * grows as needed and never allocates once it reached its working size.
+ * Decrease-key is done by pushing again, callers skip the stale entries.
+ */
+final class PrimitiveMinHeap {
+
+    private double[] keys;
+    private int[] values;
+    private int size = 0;
+
+
+    PrimitiveMinHeap(int initialCapacity) {
+        this.keys = new double[Math.max(initialCapacity, 16)];
+        this.values = new int[keys.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    void push(double key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int k = size++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (key >= keys[parent]) {
+                break;
+            }
+            keys[k] = keys[parent];
+            values[k] = values[parent];
+            k = parent;
+        }
+        keys[k] = key;
+        values[k] = value;
+    }
+
+    int pop() {
+        int result = values[0];
+        int n = --size;
+        if (n > 0) {
+            double key = keys[n];
+            int value = values[n];
+            int k = 0;
+            while ((k << 1) + 1 < n) {
+                int child = (k << 1) + 1;
+                if (child + 1 < n && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                keys[k] = keys[child];
+                values[k] = values[child];
+                k = child;
+            }
+            keys[k] = key;
+            values[k] = value;
+        }
+        return result;
+    }
+}
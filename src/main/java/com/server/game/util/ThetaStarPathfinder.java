@@ -1,7 +1,9 @@
 package com.server.game.util;
 
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import com.server.game.model.game.GameState;
 import com.server.game.model.map.component.GridCell;
@@ -10,153 +12,183 @@ import com.server.game.resource.model.GameMapGrid;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Theta* on the walkable grid of a map.
+ *
+ * Nodes are flat cell indices (row * cols + col). The search state lives in
+ * a per thread Workspace whose arrays are stamped with a generation number,
+ * so starting a new search is O(1) and a search allocates nothing except
+ * the GridCells of the returned path.
+ *
+ * The open set is a binary heap of cell indices that follows the same sift
+ * rules as java.util.PriorityQueue and compares the live f value of the
+ * cells, so cells are expanded in exactly the same order as the previous
+ * object based version and the paths are identical.
+ */
 @Slf4j
 public class ThetaStarPathfinder {
 
     // 4 directions or 8 directions ???
     private static final int[][] DIRECTIONS = Util.EIGHT_DIRECTIONS;
+    private static final double DIAGONAL_COST = Math.sqrt(2);
+
+    // Số lượng ô tối đa để tìm kiếm
+    private static final int MAX_NODES_TO_EXPLORE = 2000;
+    private static final int MAX_NODES_TO_FIND_WALKABLE = 1000;
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
 
     public static List<GridCell> findPath(GameMapGrid gameMapGrid, GridCell start, GridCell end) {
-        boolean[][] grid = gameMapGrid.getGrid();
-        int rows = grid.length;
-        int cols = grid[0].length;
+        List<GridCell> path = new ArrayList<>();
+        findPath(gameMapGrid, start, end, path);
+        return path;
+    }
+
+    /**
+     * Same as findPath, the path is written to the given list (cleared first)
+     * @return the number of cells in the path, 0 if there is no path
+     */
+    public static int findPath(GameMapGrid grid, GridCell start, GridCell end, List<GridCell> out) {
+        out.clear();
+
+        int rows = grid.getNRows();
+        int cols = grid.getNCols();
 
 
         // Nếu điểm bắt đầu hoặc kết thúc không nằm trong lưới -> vô lý -> trả về danh sách rỗng
         // Nhưng điều này sẽ không xảy ra vì khi chuyển từ Vector2 sang GridCell,
         // nó đã được đảm bảo kẹp giữa trong phạm vi của lưới
-        if (gameMapGrid.isOutGrid(start) || gameMapGrid.isOutGrid(end)) {
-            return Collections.emptyList();
+        if (grid.isOutGrid(start) || grid.isOutGrid(end)) {
+            return 0;
         }
 
+        Workspace ws = WORKSPACE.get();
+        ws.prepare(rows * cols);
+
+        int startCell = start.r() * cols + start.c();
+        int endCell = end.r() * cols + end.c();
+
         // Nếu điểm bắt đầu nằm ở ô không đi được
-        if (!gameMapGrid.isWalkable(start)) {
-            log.info(">>> Start point is not walkable");
-            GridCell closestWalkable = findClosestWalkablePosition(grid, start);
-            if (closestWalkable == null) {
-                log.info(">>> No walkable position found near start point");
-                return Collections.emptyList();
+        if (!grid.isWalkable(start.r(), start.c())) {
+            log.debug(">>> Start point {} is not walkable", start);
+            startCell = findClosestWalkableCell(ws, grid, startCell);
+            if (startCell < 0) {
+                log.debug(">>> No walkable position found near start point");
+                return 0;
             }
-            log.info(">>> Using closest walkable position: " + closestWalkable);
-            start = closestWalkable;
         }
 
         // Nếu điểm kết thúc nằm ở ô không đi được
-        if (!gameMapGrid.isWalkable(end)) {
-            log.info(">>> End point is not walkable");
-            GridCell closestWalkable = findClosestWalkablePosition(grid, end);
-            if (closestWalkable == null) {
-                log.info(">>> No walkable position found near end point");
-                return Collections.emptyList();
+        if (!grid.isWalkable(end.r(), end.c())) {
+            log.debug(">>> End point {} is not walkable", end);
+            endCell = findClosestWalkableCell(ws, grid, endCell);
+            if (endCell < 0) {
+                log.debug(">>> No walkable position found near end point");
+                return 0;
             }
-            log.info(">>> Using closest walkable position: " + closestWalkable);
-            end = closestWalkable;
         }
 
-        // Số lượng ô tối đa để tìm kiếm
-        final int MAX_NODES_TO_EXPLORE = 2000;
+        int found = search(ws, grid, startCell, endCell);
+        return ws.writePath(found, cols, out);
+    }
+
+    private static int search(Workspace ws, GameMapGrid grid, int startCell, int endCell) {
+        int rows = grid.getNRows();
+        int cols = grid.getNCols();
+        int endRow = endCell / cols;
+        int endCol = endCell % cols;
+        int startRow = startCell / cols;
+        int startCol = startCell % cols;
+
+        ws.nextGeneration();
         int nodesExplored = 0;
 
         // Khoảng cách tối đa
-        int distanceLimit = (Math.abs(start.r() - end.r()) + Math.abs(start.c() - end.c())) * 3;
+        int distanceLimit = (Math.abs(startRow - endRow) + Math.abs(startCol - endCol)) * 3;
         distanceLimit = Math.min(distanceLimit, rows * cols / 4); // Cap to 1/4 of map size
 
         // openSet: hàng đợi ưu tiên theo f(n)
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.f));
-        Map<String, Node> allNodes = new HashMap<>();
-        boolean[][] visited = new boolean[rows][cols];
+        double startH = heuristic(startRow, startCol, endRow, endCol);
+        ws.open(startCell, 0, startH, -1);
+        ws.push(startCell);
 
-        Node startNode = new Node(start.r(), start.c(), null, 0, 
-                                    heuristic(start.r(), start.c(), end.r(), end.c()));
-        openSet.add(startNode);
-        allNodes.put(key(start.r(), start.c()), startNode);
+        int closest = startCell;
+        double closestDistance = startH;
 
-        Node closest = startNode;
-        double closestDistance = heuristic(start.r(), start.c(), end.r(), end.c());
-
-        while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
+        while (ws.heapSize > 0) {
+            int current = ws.poll();
             nodesExplored++;
 
-            if (current.row == end.r() && current.col == end.c()) {
-                log.info(">>> Found path to end point after exploring " + nodesExplored + " nodes");
-                return reconstructPath(current);
+            if (current == endCell) {
+                log.debug(">>> Found path to end point after exploring {} nodes", nodesExplored);
+                return current;
             }
 
-            visited[current.row][current.col] = true;
+            int currentRow = current / cols;
+            int currentCol = current % cols;
+            ws.visited[current] = ws.generation;
 
             // Optimization
-            double currentDistance = heuristic(current.row, current.col, end.r(), end.c());
+            double currentDistance = heuristic(currentRow, currentCol, endRow, endCol);
             if (currentDistance < closestDistance) {
                 closest = current;
                 closestDistance = currentDistance;
             }
 
             if (currentDistance > distanceLimit && nodesExplored > MAX_NODES_TO_EXPLORE) {
-                log.info(">>> Stopping search due to distance limit or max nodes explored");
+                log.debug(">>> Stopping search due to distance limit or max nodes explored");
                 break; // Stop if we exceed distance limit or max nodes explored
             }
 
-            // Cập nhật node gần nhất với end (nếu không tìm được end)
-            if (heuristic(current.row, current.col, end.r(), end.c()) <
-                heuristic(closest.row, closest.col, end.r(), end.c())) {
-                closest = current;
-            }
+            int parent = ws.parent[current];
+            int parentRow = parent / cols;
+            int parentCol = parent % cols;
 
             for (int[] dir : DIRECTIONS) {
-                int newRow = current.row + dir[0];
-                int newCol = current.col + dir[1];
+                int newRow = currentRow + dir[0];
+                int newCol = currentCol + dir[1];
 
-                if (!isValid(newRow, newCol, grid) || visited[newRow][newCol] || !grid[newRow][newCol]) {
+                if (!isValid(newRow, newCol, grid) || !grid.isWalkable(newRow, newCol)) {
+                    continue;
+                }
+                int neighbor = newRow * cols + newCol;
+                if (ws.visited[neighbor] == ws.generation) {
                     continue;
                 }
 
                 // Kiểm tra chéo không cắt góc
                 if (dir[0] != 0 && dir[1] != 0) {
-                    int checkRow1 = current.row + dir[0];
-                    int checkCol1 = current.col;
-                    int checkRow2 = current.row;
-                    int checkCol2 = current.col + dir[1];
-
-                    if (!isValid(checkRow1, checkCol1, grid) || !isValid(checkRow2, checkCol2, grid)
-                            || (!grid[checkRow1][checkCol1] && !grid[checkRow2][checkCol2])) {
+                    if (!grid.isWalkable(newRow, currentCol) && !grid.isWalkable(currentRow, newCol)) {
                         continue;
                     }
                 }
 
-                String key = key(newRow, newCol);
-                Node neighbor = allNodes.getOrDefault(key, new Node(newRow, newCol));
-
                 double tentativeG;
-                Node pathParent;
+                int pathParent;
 
-                if (current.parent != null && lineOfSight(current.parent.row, current.parent.col, newRow, newCol, grid)) {
-                    double directCost = Math.hypot(current.parent.row - newRow, current.parent.col - newCol);
-                    tentativeG = current.parent.g + directCost;
-                    pathParent = current.parent;
+                if (parent >= 0 && lineOfSight(parentRow, parentCol, newRow, newCol, grid)) {
+                    double directCost = Math.hypot(parentRow - newRow, parentCol - newCol);
+                    tentativeG = ws.g[parent] + directCost;
+                    pathParent = parent;
                 } else {
-                    double moveCost = (dir[0] != 0 && dir[1] != 0 ) ? Math.sqrt(2) : 1.0;
-                    tentativeG = current.g + moveCost;
+                    double moveCost = (dir[0] != 0 && dir[1] != 0) ? DIAGONAL_COST : 1.0;
+                    tentativeG = ws.g[current] + moveCost;
                     pathParent = current;
                 }
 
-                if (tentativeG < neighbor.g) {
-                    neighbor.g = tentativeG;
-                    neighbor.h = heuristic(newRow, newCol, end.r(), end.c());
-                    neighbor.f = neighbor.g + neighbor.h;
-                    neighbor.parent = pathParent;
-
-                    allNodes.put(key, neighbor);
-                    openSet.add(neighbor);
+                if (tentativeG < ws.gOf(neighbor)) {
+                    ws.open(neighbor, tentativeG, heuristic(newRow, newCol, endRow, endCol), pathParent);
+                    ws.push(neighbor);
                 }
             }
         }
         if (nodesExplored >= MAX_NODES_TO_EXPLORE) {
-            log.info("Pathfinding stopped after exploring " + nodesExplored + " nodes, returning closest path");
+            log.debug("Pathfinding stopped after exploring {} nodes, returning closest path", nodesExplored);
         }
 
         // Không tìm được đường đi đến end ⇒ trả về đường đi gần nhất
-        return reconstructPath(closest);
+        return closest;
     }
 
     public static Vector2 findClosestWalkablePosition(GameState gameState, Vector2 position) {
@@ -164,83 +196,94 @@ public class ThetaStarPathfinder {
         if (gameState.getGameMapGrid().isWalkable(currentCell)) {
             return position; // Nếu ô hiện tại có thể đi được
         }
-        GridCell closestWalkable = findClosestWalkablePosition(
-            gameState.getGameMapGrid().getGrid(), currentCell);
-        
-        if (closestWalkable != null) {
-            return gameState.toPosition(closestWalkable);
+
+        MapQueryTables mapQueryTables = gameState.getMapQueryTables();
+        if (mapQueryTables != null) {
+            GridCell nearest = mapQueryTables.nearestWalkable(currentCell);
+            return nearest != null ? gameState.toPosition(nearest) : null;
+        }
+
+        GameMapGrid grid = gameState.getGameMapGrid();
+        int cols = grid.getNCols();
+        Workspace ws = WORKSPACE.get();
+        ws.prepare(grid.getNRows() * cols);
+
+        int closestWalkable = findClosestWalkableCell(ws, grid, currentCell.r() * cols + currentCell.c());
+        if (closestWalkable >= 0) {
+            return gameState.toPosition(new GridCell(closestWalkable / cols, closestWalkable % cols));
         } else {
             log.info(">>> No walkable position found near " + position);
             return null; // Không tìm thấy ô đi được gần nhất
         }
     }
 
-    private static GridCell findClosestWalkablePosition(boolean[][] grid, GridCell target) {
-        int rows = grid.length;
-        int cols = grid[0].length;
-        
-        // Use A* to find closest walkable position
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.f));
-        Map<String, Node> allNodes = new HashMap<>();
-        boolean[][] visited = new boolean[rows][cols];
-        
-        // Start from target position
-        Node startNode = new Node(target.r(), target.c(), null, 0, 0);
-        startNode.f = 0; // Initial f-value is 0
-        openSet.add(startNode);
-        allNodes.put(key(target.r(), target.c()), startNode);
-        
-        int maxNodes = 1000; // Limit search to prevent excessive exploration
+    /**
+     * Dijkstra from the target until a walkable cell is reached
+     * @return the walkable cell, -1 if none was found
+     */
+    private static int findClosestWalkableCell(Workspace ws, GameMapGrid grid, int target) {
+        int cols = grid.getNCols();
+
+        ws.nextGeneration();
+        ws.open(target, 0, 0, -1);
+        ws.push(target);
+
         int nodesExplored = 0;
-        
-        while (!openSet.isEmpty() && nodesExplored < maxNodes) {
-            Node current = openSet.poll();
+
+        while (ws.heapSize > 0 && nodesExplored < MAX_NODES_TO_FIND_WALKABLE) {
+            int current = ws.poll();
             nodesExplored++;
-            
+
+            int currentRow = current / cols;
+            int currentCol = current % cols;
+
             // If current position is walkable, return it immediately
-            if (grid[current.row][current.col]) {
-                log.info(">>> Found walkable position after exploring " + 
-                    nodesExplored + " nodes: (" + current.row + "," + current.col + ")");
-                return new GridCell(current.row, current.col);
+            if (grid.isWalkable(currentRow, currentCol)) {
+                log.debug(">>> Found walkable position after exploring {} nodes: ({},{})",
+                    nodesExplored, currentRow, currentCol);
+                return current;
             }
-            
-            visited[current.row][current.col] = true;
-            
+
+            ws.visited[current] = ws.generation;
+
             // Check all 8 directions
             for (int[] dir : DIRECTIONS) {
-                int newRow = current.row + dir[0];
-                int newCol = current.col + dir[1];
-                
-                if (!isValid(newRow, newCol, grid) || visited[newRow][newCol]) {
+                int newRow = currentRow + dir[0];
+                int newCol = currentCol + dir[1];
+
+                if (!isValid(newRow, newCol, grid)) {
                     continue;
                 }
-                
-                String key = key(newRow, newCol);
-                Node neighbor = allNodes.getOrDefault(key, new Node(newRow, newCol));
-                
+                int neighbor = newRow * cols + newCol;
+                if (ws.visited[neighbor] == ws.generation) {
+                    continue;
+                }
+
                 // Calculate movement cost (diagonal is sqrt(2), cardinal is 1)
-                double moveCost = (dir[0] != 0 && dir[1] != 0) ? Math.sqrt(2) : 1.0;
-                double tentativeG = current.g + moveCost;
-                
-                if (tentativeG < neighbor.g) {
-                    neighbor.g = tentativeG;
-                    
+                double moveCost = (dir[0] != 0 && dir[1] != 0) ? DIAGONAL_COST : 1.0;
+                double tentativeG = ws.g[current] + moveCost;
+
+                if (tentativeG < ws.gOf(neighbor)) {
                     // For finding closest walkable position:
                     // - g = distance from target
                     // - h = 0 (we're not trying to reach a specific goal)
                     // - f = g (prioritize cells closer to target)
-                    neighbor.h = 0;
-                    neighbor.f = neighbor.g;
-                    neighbor.parent = current;
-                    
-                    allNodes.put(key, neighbor);
-                    openSet.add(neighbor);
+                    ws.open(neighbor, tentativeG, 0, current);
+                    ws.push(neighbor);
                 }
             }
         }
 
-        log.info(">>> No walkable position found after exploring " + nodesExplored + " nodes");
-        return null; // No walkable position found
+        log.debug(">>> No walkable position found after exploring {} nodes", nodesExplored);
+        return -1; // No walkable position found
+    }
+
+    /**
+     * The straight line between the cells only crosses walkable cells, both ends included
+     */
+    public static boolean hasLineOfSight(GameMapGrid grid, GridCell from, GridCell to) {
+        return isValid(to.r(), to.c(), grid) && grid.isWalkable(to.r(), to.c())
+            && lineOfSight(from.r(), from.c(), to.r(), to.c(), grid);
     }
 
     private static double heuristic(int r1, int c1, int r2, int c2) {
@@ -248,7 +291,7 @@ public class ThetaStarPathfinder {
         return Math.hypot(r1 - r2, c1 - c2);
     }
 
-    private static boolean lineOfSight(int x0, int y0, int x1, int y1, boolean[][] grid) {
+    static boolean lineOfSight(int x0, int y0, int x1, int y1, GameMapGrid grid) {
         int dx = Math.abs(x1-x0);
         int dy = Math.abs(y1-y0);
         int sx = (x0 < x1) ? 1 : -1;
@@ -259,7 +302,7 @@ public class ThetaStarPathfinder {
         int y = y0;
 
         while (x != x1 || y != y1) {
-            if (!isValid(x, y, grid) || !grid[x][y]) {
+            if (!isValid(x, y, grid) || !grid.isWalkable(x, y)) {
                 return false; // Không có đường đi
             }
             int err2 = err * 2;
@@ -275,51 +318,119 @@ public class ThetaStarPathfinder {
         return true; // Đã đến đích
     }
 
-    private static boolean isValid(int row, int col, boolean[][] grid) {
-        return row >= 0 && row < grid.length && col >= 0 && col < grid[0].length;
+    private static boolean isValid(int row, int col, GameMapGrid grid) {
+        return row >= 0 && row < grid.getNRows() && col >= 0 && col < grid.getNCols();
     }
 
-    private static String key(int row, int col) {
-        return row + "," + col;
-    }
 
-    private static List<GridCell> reconstructPath(Node node) {
-        // Use LinkedList to efficiently add elements at the beginning
-        LinkedList<GridCell> path = new LinkedList<>();
-        while (node != null) {
-            path.addFirst(new GridCell(node.row, node.col));
-            node = node.parent;
+    /**
+     * Search state of one thread, reused by every search on that thread.
+     * A cell is known in the current search only if its stamp is the current
+     * generation, otherwise its g is +infinity and it has no parent.
+     */
+    private static final class Workspace {
+        int generation = 0;
+        int[] stamp = new int[0];
+        int[] visited = new int[0];
+        double[] g = new double[0];
+        double[] f = new double[0];
+        int[] parent = new int[0];
+
+        // Binary heap of cells, a cell can be in it more than once
+        int[] heap = new int[64];
+        int heapSize = 0;
+
+        // Cells of the path from the end back to the start
+        int[] pathBuffer = new int[0];
+
+        void prepare(int numCells) {
+            if (stamp.length < numCells) {
+                stamp = new int[numCells];
+                visited = new int[numCells];
+                g = new double[numCells];
+                f = new double[numCells];
+                parent = new int[numCells];
+                pathBuffer = new int[numCells];
+                generation = 0;
+            }
         }
 
-        // print path for debugging
-        log.info("Path found: " + path);
+        void nextGeneration() {
+            heapSize = 0;
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(visited, 0);
+                generation = 1;
+            }
+        }
 
-        // Convert LinkedList to ArrayList to access by index later
-        return new ArrayList<>(path);
-    }
+        double gOf(int cell) {
+            return stamp[cell] == generation ? g[cell] : Double.MAX_VALUE;
+        }
 
+        void open(int cell, double gValue, double hValue, int parentCell) {
+            stamp[cell] = generation;
+            g[cell] = gValue;
+            f[cell] = gValue + hValue;
+            parent[cell] = parentCell;
+        }
 
-    
-    // Inner class đại diện cho mỗi node
-    private static class Node {
-        int row, col;
-        double g = Double.MAX_VALUE;
-        double h = 0;
-        double f = Double.MAX_VALUE;
-        Node parent;
+        // Same sift up / sift down as PriorityQueue with Comparator.comparingDouble(f)
+        void push(int cell) {
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+            int k = heapSize++;
+            while (k > 0) {
+                int parentIndex = (k - 1) >>> 1;
+                int e = heap[parentIndex];
+                if (Double.compare(f[cell], f[e]) >= 0) {
+                    break;
+                }
+                heap[k] = e;
+                k = parentIndex;
+            }
+            heap[k] = cell;
+        }
 
-        Node(int row, int col) {
-            this.row = row;
-            this.col = col;
+        int poll() {
+            int result = heap[0];
+            int n = --heapSize;
+            if (n > 0) {
+                int x = heap[n];
+                int k = 0;
+                int half = n >>> 1;
+                while (k < half) {
+                    int child = (k << 1) + 1;
+                    int c = heap[child];
+                    int right = child + 1;
+                    if (right < n && Double.compare(f[c], f[heap[right]]) > 0) {
+                        c = heap[child = right];
+                    }
+                    if (Double.compare(f[x], f[c]) <= 0) {
+                        break;
+                    }
+                    heap[k] = c;
+                    k = child;
+                }
+                heap[k] = x;
+            }
+            return result;
         }
 
-        Node(int row, int col, Node parent, double g, double h) {
-            this.row = row;
-            this.col = col;
-            this.parent = parent;
-            this.g = g;
-            this.h = h;
-            this.f = g + h;
+        int writePath(int lastCell, int cols, List<GridCell> out) {
+            int length = 0;
+            for (int cell = lastCell; cell >= 0 && length < pathBuffer.length; cell = parent[cell]) {
+                pathBuffer[length++] = cell;
+            }
+
+            if (out instanceof ArrayList<GridCell> arrayList) {
+                arrayList.ensureCapacity(length);
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                out.add(new GridCell(pathBuffer[i] / cols, pathBuffer[i] % cols));
+            }
+            return length;
         }
     }
 }
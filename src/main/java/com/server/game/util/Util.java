@@ -4,11 +4,13 @@ import java.io.DataInputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.netty.buffer.ByteBuf;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -143,6 +145,14 @@ public class Util {
         return Util.bytesToString(bytes);
     }
 
+    /**
+     * Same as readString(DataInputStream, Short.class), read straight from the buffer
+     */
+    public static String readString(ByteBuf buf) {
+        int lengthByte = buf.readShort();
+        return buf.readCharSequence(lengthByte, StandardCharsets.UTF_8).toString();
+    }
+
     public static boolean randomBoolean() {
         return Math.random() < 0.5;
     }
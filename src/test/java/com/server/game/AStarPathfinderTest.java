@@ -1,7 +1,255 @@
 package com.server.game;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.server.game.config.JacksonConfig;
+import com.server.game.model.map.component.GridCell;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.resource.reader.JsonReader;
+import com.server.game.util.ThetaStarPathfinder;
+
+/**
+ * Regression test of ThetaStarPathfinder, the pinned paths are the ones the
+ * current search returns. A change of the expansion order, the line of sight
+ * or the fallbacks shows up here as a different path.
+ */
 class AStarPathfinderTest {
 
+    private static GameMapGrid map2;
+
+    @BeforeAll
+    static void loadMap() {
+        map2 = new JsonReader(new JacksonConfig().objectMapper()).readGameMapGridFromJson("map_2");
+        assertNotNull(map2, "map_2 grid should be on the classpath");
+    }
+
+    /**
+     * '.' is walkable, anything else is blocked
+     */
+    private static GameMapGrid grid(String... rows) {
+        boolean[][] walkable = new boolean[rows.length][rows[0].length()];
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                walkable[row][col] = rows[row].charAt(col) == '.';
+            }
+        }
+        return grid(walkable);
+    }
+
+    private static GameMapGrid grid(boolean[][] walkable) {
+        int nRows = walkable.length;
+        int nCols = walkable[0].length;
+        return new GameMapGrid((short) 0, "test", new Vector2(0, nRows), new Vector2(nCols, 0),
+            nRows, nCols, 1f, walkable);
+    }
+
+    /**
+     * Path from pairs of (row, col)
+     */
+    private static List<GridCell> path(int... rowCols) {
+        List<GridCell> cells = new ArrayList<>();
+        for (int i = 0; i < rowCols.length; i += 2) {
+            cells.add(new GridCell(rowCols[i], rowCols[i + 1]));
+        }
+        return cells;
+    }
+
+    private static List<GridCell> findPath(GameMapGrid grid, int startRow, int startCol, int endRow, int endCol) {
+        List<GridCell> found = ThetaStarPathfinder.findPath(grid,
+            new GridCell(startRow, startCol), new GridCell(endRow, endCol));
+        assertValidPath(grid, found);
+        return found;
+    }
+
+    // Every waypoint is walkable and sees the next one
+    private static void assertValidPath(GameMapGrid grid, List<GridCell> found) {
+        for (int i = 0; i < found.size(); i++) {
+            GridCell cell = found.get(i);
+            assertTrue(grid.isWalkable(cell), "waypoint " + cell + " is not walkable in " + found);
+            if (i > 0) {
+                assertTrue(ThetaStarPathfinder.hasLineOfSight(grid, found.get(i - 1), cell),
+                    "no line of sight between " + found.get(i - 1) + " and " + cell + " in " + found);
+            }
+        }
+    }
+
+    // ========== map_2 ==========
+
+    @Test
+    void map2AcrossTheLane() {
+        assertEquals(path(38, 10, 39, 92, 37, 94, 38, 190),
+            findPath(map2, 38, 10, 38, 190));
+    }
+
+    @Test
+    void map2TopToBottomThroughTheMiddle() {
+        assertEquals(path(5, 90, 10, 92, 15, 94, 22, 97, 32, 102, 33, 103, 53, 107, 72, 100),
+            findPath(map2, 5, 90, 72, 100));
+    }
+
+    @Test
+    void map2DirectLineOfSight() {
+        assertEquals(path(40, 60, 40, 70), findPath(map2, 40, 60, 40, 70));
+        assertEquals(path(30, 20, 60, 100), findPath(map2, 30, 20, 60, 100));
+    }
+
+    @Test
+    void map2BlockedEndMovesToTheClosestWalkableCell() {
+        assertTrue(!map2.isWalkable(new GridCell(40, 95)));
+        assertEquals(path(40, 10, 39, 82, 37, 94, 39, 96),
+            findPath(map2, 40, 10, 40, 95));
+    }
+
+    @Test
+    void map2BlockedStartAndEnd() {
+        assertTrue(!map2.isWalkable(new GridCell(10, 130)) && !map2.isWalkable(new GridCell(65, 60)));
+        assertEquals(path(12, 127, 15, 112, 28, 101, 32, 97, 44, 81, 59, 67),
+            findPath(map2, 10, 130, 65, 60));
+    }
+
+    @Test
+    void map2StartInTheOuterWall() {
+        assertEquals(path(23, 5, 31, 42, 39, 83, 37, 97, 38, 100),
+            findPath(map2, 0, 0, 38, 100));
+    }
+
+    // ========== Synthetic grids ==========
+
+    @Test
+    void openGridIsAStraightLine() {
+        GameMapGrid open = grid(
+            "..........",
+            "..........",
+            "..........",
+            "..........",
+            "..........");
+        assertEquals(path(0, 0, 4, 9), findPath(open, 0, 0, 4, 9));
+        assertEquals(path(2, 3), findPath(open, 2, 3, 2, 3));
+    }
+
+    @Test
+    void aroundTheEndOfAWall() {
+        GameMapGrid wall = grid(
+            "..........",
+            "..........",
+            "..........",
+            "#######...",
+            "..........",
+            "..........",
+            "..........");
+        assertEquals(path(0, 0, 2, 6, 3, 7, 4, 6, 6, 0), findPath(wall, 0, 0, 6, 0));
+    }
+
+    @Test
+    void blockedStartMovesToTheClosestWalkableCell() {
+        GameMapGrid blocked = grid(
+            "....#.....",
+            "....#.....",
+            "..#.#.....",
+            "....#.....",
+            "..........");
+        assertEquals(path(1, 2, 2, 3, 4, 4, 0, 9), findPath(blocked, 2, 2, 0, 9));
+    }
+
+    @Test
+    void blockedEndMovesToTheClosestWalkableCell() {
+        GameMapGrid blocked = grid(
+            "....#.....",
+            "....#.....",
+            "..#.#.....",
+            "....#.....",
+            "..........");
+        // (1, 3) and (1, 5) are both one step away, the Dijkstra order picks the one across the wall
+        assertEquals(path(0, 0, 2, 3, 4, 4, 3, 5, 1, 5), findPath(blocked, 0, 0, 1, 4));
+    }
+
+    @Test
+    void unreachableGoalReturnsThePathToTheClosestCell() {
+        GameMapGrid closed = grid(
+            "..........",
+            "......###.",
+            "......#.#.",
+            "......###.",
+            "..........");
+        assertEquals(path(2, 0, 2, 5), findPath(closed, 2, 0, 2, 7));
+
+        // Start enclosed, nothing to explore
+        assertEquals(path(2, 7), findPath(closed, 2, 7, 0, 0));
+    }
+
+    @Test
+    void noWalkableCellGivesAnEmptyPath() {
+        GameMapGrid none = grid(
+            "###",
+            "###");
+        assertEquals(List.of(), findPath(none, 0, 0, 1, 2));
+    }
+
+    @Test
+    void outOfGridGivesAnEmptyPath() {
+        GameMapGrid open = grid("....", "....");
+        assertEquals(List.of(), ThetaStarPathfinder.findPath(open, new GridCell(-1, 0), new GridCell(1, 3)));
+        assertEquals(List.of(), ThetaStarPathfinder.findPath(open, new GridCell(0, 0), new GridCell(2, 3)));
+    }
+
+    @Test
+    void searchGivesUpAfterMaxNodesNearAnUnreachableLookingGoal() {
+        // A box around the goal, only open far away on the right wall
+        boolean[][] walkable = new boolean[120][120];
+        for (boolean[] row : walkable) {
+            Arrays.fill(row, true);
+        }
+        for (int i = 10; i <= 110; i++) {
+            walkable[i][40] = false;
+            walkable[i][110] = false;
+        }
+        for (int i = 40; i <= 110; i++) {
+            walkable[10][i] = false;
+            walkable[110][i] = false;
+        }
+        walkable[60][110] = true;
+        GameMapGrid box = grid(walkable);
+
+        // The goal is reachable, from a start whose distance limit covers the detour
+        assertEquals(path(5, 38, 9, 110, 10, 111, 59, 111, 60, 110, 60, 42),
+            findPath(box, 5, 38, 60, 42));
+
+        // From just outside the wall the distance limit is tiny, the search stops
+        // after MAX_NODES_TO_EXPLORE and returns the path to the closest cell
+        List<GridCell> partial = findPath(box, 60, 38, 60, 42);
+        assertEquals(path(60, 38, 60, 39), partial);
+        assertNotEquals(new GridCell(60, 42), partial.get(partial.size() - 1));
+    }
+
+    @Test
+    void outputListVariantClearsTheList() {
+        GameMapGrid open = grid("....", "....");
+        List<GridCell> out = new ArrayList<>(path(9, 9, 9, 9));
+
+        assertEquals(2, ThetaStarPathfinder.findPath(open, new GridCell(0, 0), new GridCell(1, 3), out));
+        assertEquals(path(0, 0, 1, 3), out);
+
+        assertEquals(0, ThetaStarPathfinder.findPath(open, new GridCell(5, 5), new GridCell(1, 3), out));
+        assertTrue(out.isEmpty());
+    }
+
+    @Test
+    void repeatedSearchesOnOneThreadGiveTheSamePath() {
+        // The workspace is reused between searches and grids of different sizes
+        List<GridCell> first = findPath(map2, 5, 90, 72, 100);
+        findPath(grid("...", "..."), 0, 0, 1, 2);
+        findPath(map2, 38, 10, 38, 190);
+        assertEquals(first, findPath(map2, 5, 90, 72, 100));
+    }
 }
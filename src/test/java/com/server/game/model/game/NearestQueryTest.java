@@ -0,0 +1,250 @@
+package com.server.game.model.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.game.context.AttackContext;
+import com.server.game.model.map.component.Vector2;
+
+class NearestQueryTest {
+
+    // 25 rows x 40 cols of 2 units, x in [0, 80] and y in [0, 50]
+    private static final int N_ROWS = 25;
+    private static final int N_COLS = 40;
+    private static final float CELL_SIZE = 2f;
+    private static final float WIDTH = N_COLS * CELL_SIZE;
+    private static final float HEIGHT = N_ROWS * CELL_SIZE;
+
+    private final SpatialIndex index = new SpatialIndex(TestEntity.openGrid(N_ROWS, N_COLS, CELL_SIZE));
+    private final SlotState slot0 = TestEntity.slot(0);
+    private final SlotState slot1 = TestEntity.slot(1);
+    private final List<TestEntity> entities = new ArrayList<>();
+    private GameState gameState;
+
+    @BeforeEach
+    void setUp() {
+        gameState = mock(GameState.class);
+        when(gameState.getSpatialIndex()).thenReturn(index);
+    }
+
+    private TestEntity add(TestEntity entity) {
+        entities.add(entity);
+        index.insert(entity);
+        return entity;
+    }
+
+    private TestEntity enemyAt(String id, float x, float y) {
+        return add(new TestEntity(id, new Vector2(x, y), slot1));
+    }
+
+    private TestEntity findNearest(float x, float y, float maxDistance) {
+        return NearestQuery.findNearestEnemy(gameState, new Vector2(x, y), maxDistance, slot0, TestEntity.class);
+    }
+
+    @Test
+    void noCandidateReturnsNull() {
+        assertNull(findNearest(40f, 25f, 100f));
+
+        enemyAt("far", 70f, 25f);
+        assertNull(findNearest(40f, 25f, 29.9f));
+    }
+
+    @Test
+    void candidateExactlyAtMaxDistanceIsFound() {
+        TestEntity enemy = enemyAt("enemy", 46f, 25f);
+        assertSame(enemy, findNearest(40f, 25f, 6f));
+    }
+
+    @Test
+    void skipsAlliesNeutralsAndDeadEntities() {
+        add(new TestEntity("ally", new Vector2(40.5f, 25f), slot0));
+        add(new TestEntity("neutral", new Vector2(40f, 25.5f), null));
+        enemyAt("dead", 39.5f, 25f).setAlive(false);
+        TestEntity enemy = enemyAt("enemy", 44f, 25f);
+
+        assertSame(enemy, findNearest(40f, 25f, 50f));
+    }
+
+    @Test
+    void skipsOtherTypes() {
+        index.insert(new OtherEntity("other", new Vector2(40.5f, 25f), slot1));
+        TestEntity enemy = enemyAt("enemy", 44f, 25f);
+
+        assertSame(enemy, findNearest(40f, 25f, 50f));
+        OtherEntity other = NearestQuery.findNearestEnemy(gameState, new Vector2(40f, 25f), 50f, slot0, OtherEntity.class);
+        assertEquals("other", other.getStringId());
+    }
+
+    @Test
+    void closerEntityInTheNextRingWins() {
+        // Origin near the right edge of its cell, a candidate in the same cell
+        // is farther than one just across the boundary
+        enemyAt("sameCell", 40.1f, 25f);
+        TestEntity acrossBoundary = enemyAt("acrossBoundary", 42.05f, 25f);
+
+        assertSame(acrossBoundary, findNearest(41.95f, 25f, 50f));
+    }
+
+    @Test
+    void closerEntityAcrossACornerWins() {
+        enemyAt("sameCell", 40.1f, 22.1f);
+        TestEntity diagonal = enemyAt("diagonal", 42.1f, 24.1f);
+
+        // Origin near the top right corner of its cell (x in [40, 42), y in (22, 24])
+        assertSame(diagonal, findNearest(41.9f, 23.8f, 50f));
+    }
+
+    @Test
+    void farCandidateIsFoundByLaterRings() {
+        TestEntity far = enemyAt("far", 75f, 48f);
+        assertSame(far, findNearest(2f, 2f, 200f));
+    }
+
+    @Test
+    void searchStopsOnceNoFartherRingCanBeCloser() {
+        TestEntity near = enemyAt("near", 41f, 25f);
+        CountingEntity far = new CountingEntity("far", new Vector2(60f, 25f), slot1);
+        add(far);
+        far.positionReads = 0;
+
+        assertSame(near, findNearest(40f, 25f, 100f));
+        assertEquals(0, far.positionReads, "the ring of the far entity should not be searched");
+    }
+
+    @Test
+    void tiesReturnOneOfTheClosest() {
+        // Exactly the same distance on both sides of the origin
+        TestEntity left = enemyAt("left", 36f, 25f);
+        TestEntity right = enemyAt("right", 44f, 25f);
+        TestEntity up = enemyAt("up", 40f, 29f);
+        enemyAt("farther", 40f, 20f);
+
+        TestEntity nearest = findNearest(40f, 25f, 50f);
+        assertTrue(Set.of(left, right, up).contains(nearest), "got " + nearest);
+        assertEquals(4f, nearest.getCurrentPosition().distance(new Vector2(40f, 25f)), 0f);
+
+        // Deterministic, the same query gives the same answer
+        assertSame(nearest, findNearest(40f, 25f, 50f));
+    }
+
+    @Test
+    void originOutsideTheGrid() {
+        TestEntity corner = enemyAt("corner", 1f, 1f);
+        enemyAt("other", 10f, 10f);
+
+        assertSame(corner, findNearest(-5f, -5f, 100f));
+    }
+
+    @Test
+    void randomQueriesMatchABruteForceNearest() {
+        SplittableRandom random = new SplittableRandom(5);
+        SlotState[] owners = {slot0, slot1, slot1, null};
+        for (int i = 0; i < 300; i++) {
+            TestEntity entity = add(new TestEntity("e" + i,
+                new Vector2((float) random.nextDouble(0, WIDTH), (float) random.nextDouble(0, HEIGHT)),
+                owners[random.nextInt(owners.length)]));
+            entity.setAlive(random.nextInt(5) != 0);
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            Vector2 origin = new Vector2(
+                (float) random.nextDouble(-5, WIDTH + 5), (float) random.nextDouble(-5, HEIGHT + 5));
+            float maxDistance = (float) random.nextDouble(0.5, 40);
+
+            TestEntity expected = bruteForceNearest(origin, maxDistance);
+            TestEntity actual = NearestQuery.findNearestEnemy(gameState, origin, maxDistance, slot0, TestEntity.class);
+
+            String query = "origin " + origin + ", max " + maxDistance;
+            if (expected == null) {
+                assertNull(actual, query);
+            } else {
+                // Compare distances, ties may resolve to either entity
+                assertEquals(origin.distance(expected.getCurrentPosition()),
+                    origin.distance(actual.getCurrentPosition()), 0f, query);
+            }
+        }
+    }
+
+    private TestEntity bruteForceNearest(Vector2 origin, float maxDistance) {
+        TestEntity nearest = null;
+        float nearestDistance = Float.MAX_VALUE;
+        for (TestEntity entity : entities) {
+            if (!entity.isAlive() || entity.getOwnerSlot() == null || slot0.equals(entity.getOwnerSlot())) {
+                continue;
+            }
+            float distance = origin.distance(entity.getCurrentPosition());
+            if (distance <= maxDistance && distance < nearestDistance) {
+                nearest = entity;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+
+    private static class OtherEntity extends Entity {
+        private final Vector2 position;
+        private final SlotState ownerSlot;
+
+        OtherEntity(String stringId, Vector2 position, SlotState ownerSlot) {
+            super(stringId, null);
+            this.position = position;
+            this.ownerSlot = ownerSlot;
+        }
+
+        @Override
+        public Vector2 getCurrentPosition() {
+            return position;
+        }
+
+        @Override
+        public SlotState getOwnerSlot() {
+            return ownerSlot;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return true;
+        }
+
+        @Override
+        protected void addAllComponents() {
+        }
+
+        @Override
+        protected void handleDeath(Entity killer) {
+        }
+
+        @Override
+        public boolean receiveAttack(AttackContext ctx) {
+            return false;
+        }
+    }
+
+    // Counts the reads of its position, the index also reads it on insert
+    private static class CountingEntity extends TestEntity {
+        private int positionReads = 0;
+
+        CountingEntity(String stringId, Vector2 position, SlotState ownerSlot) {
+            super(stringId, position, ownerSlot);
+        }
+
+        @Override
+        public Vector2 getCurrentPosition() {
+            positionReads++;
+            return super.getCurrentPosition();
+        }
+    }
+}
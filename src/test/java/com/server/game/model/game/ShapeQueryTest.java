@@ -0,0 +1,233 @@
+package com.server.game.model.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.game.ShapeQuery.TeamFilter;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.model.map.shape.CircleShape;
+import com.server.game.model.map.shape.RectShape;
+import com.server.game.model.map.shape.Shape;
+
+class ShapeQueryTest {
+
+    // 20 rows x 30 cols of 1.5 units, x in [0, 45] and y in [0, 30]
+    private static final int N_ROWS = 20;
+    private static final int N_COLS = 30;
+    private static final float CELL_SIZE = 1.5f;
+    private static final float WIDTH = N_COLS * CELL_SIZE;
+    private static final float HEIGHT = N_ROWS * CELL_SIZE;
+
+    private final SpatialIndex index = new SpatialIndex(TestEntity.openGrid(N_ROWS, N_COLS, CELL_SIZE));
+    private final SlotState slot0 = TestEntity.slot(0);
+    private final SlotState slot1 = TestEntity.slot(1);
+    private final List<TestEntity> entities = new ArrayList<>();
+    private GameState gameState;
+
+    @BeforeEach
+    void setUp() {
+        gameState = mock(GameState.class);
+        when(gameState.getSpatialIndex()).thenReturn(index);
+
+        SplittableRandom random = new SplittableRandom(7);
+        SlotState[] owners = {slot0, slot1, null};
+        for (int i = 0; i < 400; i++) {
+            Vector2 position = new Vector2(
+                (float) random.nextDouble(0, WIDTH), (float) random.nextDouble(0, HEIGHT));
+            SlotState owner = owners[random.nextInt(owners.length)];
+            TestEntity entity = i % 4 == 0
+                ? new MarkedEntity("marked_" + i, position, owner)
+                : new TestEntity("e" + i, position, owner);
+            entities.add(entity);
+            index.insert(entity);
+        }
+    }
+
+    @Test
+    void circlesMatchABruteForceScan() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 200; i++) {
+            assertMatchesBruteForce(new CircleShape(randomCenter(random), (float) random.nextDouble(0.2, 12)));
+        }
+    }
+
+    @Test
+    void axisAlignedRectsMatchABruteForceScan() {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < 200; i++) {
+            assertMatchesBruteForce(new RectShape(randomCenter(random),
+                (float) random.nextDouble(0.2, 10), (float) random.nextDouble(0.2, 20)));
+        }
+    }
+
+    @Test
+    void rotatedRectsMatchABruteForceScan() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 200; i++) {
+            double angle = random.nextDouble(0, 2 * Math.PI);
+            Vector2 direction = new Vector2((float) Math.cos(angle), (float) Math.sin(angle));
+            assertMatchesBruteForce(new RectShape(randomCenter(random),
+                (float) random.nextDouble(0.2, 6), (float) random.nextDouble(0.2, 25), direction));
+        }
+    }
+
+    @Test
+    void sectorsMatchABruteForceScan() {
+        // Shapes other than circles and rects are bounded by their bounding radius
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 200; i++) {
+            double angle = random.nextDouble(0, 2 * Math.PI);
+            assertMatchesBruteForce(new SectorShape(randomCenter(random), (float) random.nextDouble(0.5, 15),
+                (float) angle, (float) random.nextDouble(0.1, Math.PI)));
+        }
+    }
+
+    @Test
+    void shapesReachingOutsideTheGrid() {
+        assertMatchesBruteForce(new CircleShape(new Vector2(-3f, -3f), 8f));
+        assertMatchesBruteForce(new CircleShape(new Vector2(WIDTH + 2f, HEIGHT / 2), 6f));
+        assertMatchesBruteForce(new RectShape(new Vector2(WIDTH / 2, HEIGHT / 2), 4f, 500f, new Vector2(1, 1)));
+        assertMatchesBruteForce(new CircleShape(new Vector2(WIDTH / 2, HEIGHT / 2), 1000f));
+    }
+
+    @Test
+    void teamFilters() {
+        Shape everything = new CircleShape(new Vector2(WIDTH / 2, HEIGHT / 2), 1000f);
+        List<Entity> out = new ArrayList<>();
+
+        int all = ShapeQuery.query(gameState, everything, null, TeamFilter.ALL, Entity.class, out);
+        assertEquals(entities.size(), all);
+
+        int allies = ShapeQuery.query(gameState, everything, slot0, TeamFilter.ALLIES, Entity.class, out);
+        for (Entity entity : out) {
+            assertEquals(slot0, entity.getOwnerSlot());
+        }
+
+        // Neutral entities count as enemies
+        int enemies = ShapeQuery.query(gameState, everything, slot0, TeamFilter.ENEMIES, Entity.class, out);
+        assertTrue(out.stream().anyMatch(entity -> entity.getOwnerSlot() == null));
+        assertTrue(out.stream().noneMatch(entity -> slot0.equals(entity.getOwnerSlot())));
+
+        assertEquals(all, allies + enemies);
+    }
+
+    @Test
+    void typeFilter() {
+        Shape everything = new CircleShape(new Vector2(WIDTH / 2, HEIGHT / 2), 1000f);
+        List<MarkedEntity> out = new ArrayList<>();
+
+        int count = ShapeQuery.query(gameState, everything, null, TeamFilter.ALL, MarkedEntity.class, out);
+        assertEquals(entities.size() / 4, count);
+    }
+
+    @Test
+    void outputBufferIsClearedFirst() {
+        List<Entity> out = new ArrayList<>();
+        out.add(new TestEntity("stale", new Vector2(0, 0)));
+
+        // Empty area in the corner, nothing there after the entities are moved out
+        Shape corner = new CircleShape(new Vector2(0.1f, 0.1f), 0.05f);
+        for (TestEntity entity : entities) {
+            if (corner.contains(entity.getCurrentPosition())) {
+                index.remove(entity);
+            }
+        }
+
+        assertEquals(0, ShapeQuery.query(gameState, corner, null, TeamFilter.ALL, Entity.class, out));
+        assertTrue(out.isEmpty());
+
+        out.add(new TestEntity("stale", new Vector2(0, 0)));
+        assertEquals(0, ShapeQuery.query(gameState, null, null, TeamFilter.ALL, Entity.class, out));
+        assertTrue(out.isEmpty());
+
+        out.add(new TestEntity("stale", new Vector2(0, 0)));
+        assertEquals(0, ShapeQuery.query(gameState, new CircleShape(null, 5f), null, TeamFilter.ALL, Entity.class, out));
+        assertTrue(out.isEmpty());
+    }
+
+    private void assertMatchesBruteForce(Shape shape) {
+        assertMatchesBruteForce(shape, null, TeamFilter.ALL, Entity.class);
+        assertMatchesBruteForce(shape, slot0, TeamFilter.ALLIES, Entity.class);
+        assertMatchesBruteForce(shape, slot0, TeamFilter.ENEMIES, Entity.class);
+        assertMatchesBruteForce(shape, slot1, TeamFilter.ENEMIES, MarkedEntity.class);
+    }
+
+    private <T> void assertMatchesBruteForce(Shape shape, SlotState slotState, TeamFilter teamFilter, Class<T> type) {
+        Set<Entity> expected = new HashSet<>();
+        for (TestEntity entity : entities) {
+            if (type.isInstance(entity)
+                && teamFilter.accepts(entity, slotState)
+                && shape.contains(entity.getCurrentPosition())) {
+                expected.add(entity);
+            }
+        }
+
+        List<T> out = new ArrayList<>();
+        int count = ShapeQuery.query(gameState, shape, slotState, teamFilter, type, out);
+
+        String query = shape.getClass().getSimpleName() + " at " + shape.getCenter() + " " + teamFilter;
+        assertEquals(expected.size(), count, query);
+        assertEquals(count, out.size(), query);
+        assertEquals(expected, new HashSet<>(out), query);
+    }
+
+    private static Vector2 randomCenter(SplittableRandom random) {
+        return new Vector2((float) random.nextDouble(-2, WIDTH + 2), (float) random.nextDouble(-2, HEIGHT + 2));
+    }
+
+
+    private static class MarkedEntity extends TestEntity {
+        MarkedEntity(String stringId, Vector2 position, SlotState ownerSlot) {
+            super(stringId, position, ownerSlot);
+        }
+    }
+
+    /**
+     * Circular sector, the points within radius of the center and within
+     * halfAngle of the direction angle
+     */
+    private static class SectorShape extends Shape {
+        private final float radius;
+        private final float angle;
+        private final float halfAngle;
+
+        SectorShape(Vector2 center, float radius, float angle, float halfAngle) {
+            super(center);
+            this.radius = radius;
+            this.angle = angle;
+            this.halfAngle = halfAngle;
+        }
+
+        @Override
+        public boolean contains(Vector2 point) {
+            float dx = point.x() - center.x();
+            float dy = point.y() - center.y();
+            if (dx * dx + dy * dy > radius * radius) {
+                return false;
+            }
+            double offset = Math.abs(Math.atan2(dy, dx) - angle) % (2 * Math.PI);
+            return Math.min(offset, 2 * Math.PI - offset) <= halfAngle;
+        }
+
+        @Override
+        public boolean intersects(Vector2 thisPos, Shape other, Vector2 otherPos) {
+            return false;
+        }
+
+        @Override
+        public float getBoundingRadius() {
+            return radius;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.server.game.model.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.map.component.Vector2;
+
+class SpatialIndexTest {
+
+    // 10 rows x 15 cols of 2 units, x in [0, 30] and y in [0, 20]
+    private static final int N_ROWS = 10;
+    private static final int N_COLS = 15;
+    private static final float CELL_SIZE = 2f;
+
+    private final SpatialIndex index = new SpatialIndex(TestEntity.openGrid(N_ROWS, N_COLS, CELL_SIZE));
+
+    private Set<Entity> entitiesIn(int cell) {
+        Set<Entity> found = new HashSet<>();
+        for (int h = index.first(cell); h != -1; h = index.next(h)) {
+            assertTrue(found.add(index.entityAt(h)), "entity listed twice in cell " + cell);
+        }
+        return found;
+    }
+
+    private int cellOf(float x, float y) {
+        return index.toCell(new Vector2(x, y));
+    }
+
+    @Test
+    void positionsMapToCellsWithTheYAxisFlipped() {
+        assertEquals(0, index.toRow(19.9f));
+        assertEquals(N_ROWS - 1, index.toRow(0.1f));
+        assertEquals(0, index.toCol(0.1f));
+        assertEquals(N_COLS - 1, index.toCol(29.9f));
+
+        // On a boundary the position belongs to the next cell
+        assertEquals(1, index.toCol(2f));
+        assertEquals(1, index.toRow(18f));
+
+        // Outside the grid is clamped to the border cells
+        assertEquals(0, index.toRow(100f));
+        assertEquals(N_ROWS - 1, index.toRow(-100f));
+        assertEquals(0, index.toCol(-5f));
+        assertEquals(N_COLS - 1, index.toCol(500f));
+
+        assertEquals(3 * N_COLS + 4, cellOf(9f, 13f));
+    }
+
+    @Test
+    void insertThenRemove() {
+        TestEntity a = new TestEntity("a", new Vector2(9f, 13f));
+        TestEntity b = new TestEntity("b", new Vector2(9.5f, 12.5f));
+        TestEntity c = new TestEntity("c", new Vector2(1f, 1f));
+
+        index.insert(a);
+        index.insert(b);
+        index.insert(c);
+        assertEquals(3, index.size());
+        assertTrue(index.contains(a));
+        assertEquals(Set.of(a, b), entitiesIn(cellOf(9f, 13f)));
+        assertEquals(Set.of(c), entitiesIn(cellOf(1f, 1f)));
+
+        index.remove(a);
+        assertEquals(2, index.size());
+        assertFalse(index.contains(a));
+        assertEquals(Set.of(b), entitiesIn(cellOf(9f, 13f)));
+
+        // Removing twice, or an entity never inserted, changes nothing
+        index.remove(a);
+        index.remove(new TestEntity("d", new Vector2(9f, 13f)));
+        assertEquals(2, index.size());
+        assertEquals(Set.of(b), entitiesIn(cellOf(9f, 13f)));
+    }
+
+    @Test
+    void removeFromTheMiddleOfACellList() {
+        List<TestEntity> sameCell = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TestEntity entity = new TestEntity("e" + i, new Vector2(5f + i * 0.1f, 5f));
+            sameCell.add(entity);
+            index.insert(entity);
+        }
+
+        index.remove(sameCell.get(1));
+        assertEquals(Set.of(sameCell.get(0), sameCell.get(2)), entitiesIn(cellOf(5f, 5f)));
+
+        index.remove(sameCell.get(2)); // head of the list
+        assertEquals(Set.of(sameCell.get(0)), entitiesIn(cellOf(5f, 5f)));
+
+        index.remove(sameCell.get(0));
+        assertEquals(-1, index.first(cellOf(5f, 5f)));
+    }
+
+    @Test
+    void moveWithinACellIsANoOp() {
+        TestEntity entity = new TestEntity("a", new Vector2(4.2f, 4.2f));
+        index.insert(entity);
+
+        entity.moveTo(new Vector2(5.9f, 5.9f));
+        assertFalse(index.update(entity));
+        assertEquals(Set.of(entity), entitiesIn(cellOf(4.2f, 4.2f)));
+    }
+
+    @Test
+    void moveAcrossCellBoundaries() {
+        TestEntity entity = new TestEntity("a", new Vector2(3.99f, 10f));
+        TestEntity neighbour = new TestEntity("b", new Vector2(3.5f, 10f));
+        index.insert(entity);
+        index.insert(neighbour);
+        int startCell = cellOf(3.99f, 10f);
+
+        // Onto the boundary of the next column
+        entity.moveTo(new Vector2(4f, 10f));
+        assertTrue(index.update(entity));
+        assertEquals(Set.of(neighbour), entitiesIn(startCell));
+        assertEquals(Set.of(entity), entitiesIn(startCell + 1));
+
+        // Diagonally to the cell above and to the left of the start cell
+        entity.moveTo(new Vector2(1.5f, 11.5f));
+        assertTrue(index.update(entity));
+        assertEquals(Set.of(entity), entitiesIn(startCell - N_COLS - 1));
+        assertEquals(Set.of(), entitiesIn(startCell + 1));
+
+        // Back to the start cell
+        entity.moveTo(new Vector2(3f, 9f));
+        assertTrue(index.update(entity));
+        assertEquals(Set.of(entity, neighbour), entitiesIn(startCell));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void insertingAnIndexedEntityUpdatesIt() {
+        TestEntity entity = new TestEntity("a", new Vector2(1f, 1f));
+        index.insert(entity);
+
+        entity.moveTo(new Vector2(21f, 15f));
+        index.insert(entity);
+        assertEquals(1, index.size());
+        assertEquals(Set.of(), entitiesIn(cellOf(1f, 1f)));
+        assertEquals(Set.of(entity), entitiesIn(cellOf(21f, 15f)));
+    }
+
+    @Test
+    void releasedHandlesAreReused() {
+        TestEntity removed = new TestEntity("removed", new Vector2(1f, 1f));
+        index.insert(removed);
+        int handle = index.first(cellOf(1f, 1f));
+        index.remove(removed);
+
+        TestEntity reusing = new TestEntity("reusing", new Vector2(7f, 7f));
+        index.insert(reusing);
+        assertEquals(handle, index.first(cellOf(7f, 7f)));
+        assertTrue(index.contains(reusing));
+
+        // The removed entity does not own the handle anymore
+        assertFalse(index.contains(removed));
+        removed.moveTo(new Vector2(7f, 7f));
+        assertFalse(index.update(removed));
+        index.remove(removed);
+        assertEquals(1, index.size());
+        assertEquals(Set.of(reusing), entitiesIn(cellOf(7f, 7f)));
+    }
+
+    @Test
+    void growsPastTheInitialCapacity() {
+        List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            TestEntity entity = new TestEntity("e" + i, new Vector2(i % 30 + 0.5f, (i / 30) * 2 + 0.5f));
+            entities.add(entity);
+            index.insert(entity);
+        }
+        assertEquals(300, index.size());
+
+        List<Entity> all = new ArrayList<>();
+        assertEquals(300, index.collect(0, N_ROWS - 1, 0, N_COLS - 1, all));
+        assertEquals(new HashSet<>(entities), new HashSet<>(all));
+    }
+
+    @Test
+    void collectClampsTheRangeToTheGrid() {
+        TestEntity corner = new TestEntity("corner", new Vector2(0.5f, 19.5f));
+        TestEntity inside = new TestEntity("inside", new Vector2(5f, 15f));
+        TestEntity outside = new TestEntity("outside", new Vector2(20f, 5f));
+        index.insert(corner);
+        index.insert(inside);
+        index.insert(outside);
+
+        List<Entity> found = new ArrayList<>();
+        assertEquals(2, index.collect(-3, 2, -3, 2, found));
+        assertEquals(Set.of(corner, inside), new HashSet<>(found));
+    }
+
+    @Test
+    void randomOperationsMatchABruteForceScan() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<TestEntity> indexed = new ArrayList<>();
+        List<TestEntity> pool = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            pool.add(new TestEntity("e" + i, randomPosition(random)));
+        }
+
+        for (int step = 0; step < 5000; step++) {
+            TestEntity entity = pool.get(random.nextInt(pool.size()));
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    index.insert(entity);
+                    if (!indexed.contains(entity)) {
+                        indexed.add(entity);
+                    }
+                }
+                case 1 -> {
+                    index.remove(entity);
+                    indexed.remove(entity);
+                }
+                default -> {
+                    // Small steps, so most moves stay in the cell or cross one boundary
+                    Vector2 p = entity.getCurrentPosition();
+                    entity.moveTo(new Vector2(
+                        clamp(p.x() + (float) random.nextDouble(-1.5, 1.5), 30f),
+                        clamp(p.y() + (float) random.nextDouble(-1.5, 1.5), 20f)));
+                    index.update(entity);
+                }
+            }
+
+            if (step % 250 == 0) {
+                assertMatchesBruteForce(indexed);
+            }
+        }
+        assertMatchesBruteForce(indexed);
+    }
+
+    private void assertMatchesBruteForce(List<TestEntity> indexed) {
+        assertEquals(indexed.size(), index.size());
+        for (int cell = 0; cell < N_ROWS * N_COLS; cell++) {
+            Set<Entity> expected = new HashSet<>();
+            for (TestEntity entity : indexed) {
+                if (index.toCell(entity.getCurrentPosition()) == cell) {
+                    expected.add(entity);
+                }
+            }
+            assertEquals(expected, entitiesIn(cell), "cell " + cell);
+        }
+    }
+
+    private static Vector2 randomPosition(SplittableRandom random) {
+        return new Vector2((float) random.nextDouble(0, 30), (float) random.nextDouble(0, 20));
+    }
+
+    private static float clamp(float value, float max) {
+        return Math.max(0f, Math.min(value, max - 0.01f));
+    }
+}
@@ -0,0 +1,81 @@
+package com.server.game.model.game;
+
+import com.server.game.model.game.context.AttackContext;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.resource.model.GameMapGrid;
+
+/**
+ * Entity without components for the spatial index and query tests,
+ * its position, owner and liveness are set directly.
+ */
+class TestEntity extends Entity {
+
+    private Vector2 position;
+    private SlotState ownerSlot;
+    private boolean alive = true;
+
+
+    TestEntity(String stringId, Vector2 position) {
+        this(stringId, position, null);
+    }
+
+    TestEntity(String stringId, Vector2 position, SlotState ownerSlot) {
+        super(stringId, null);
+        this.position = position;
+        this.ownerSlot = ownerSlot;
+    }
+
+    /**
+     * Grid of the given size, cornerA (the origin) is its top left corner.
+     * Walkability does not matter to the spatial index.
+     */
+    static GameMapGrid openGrid(int nRows, int nCols, float cellSize) {
+        return new GameMapGrid((short) 0, "test", new Vector2(0, nRows * cellSize),
+            new Vector2(nCols * cellSize, 0), nRows, nCols, cellSize, new boolean[nRows][nCols]);
+    }
+
+    static SlotState slot(int slot) {
+        return new SlotState(null, (short) slot, null, null, null, 0);
+    }
+
+    void moveTo(Vector2 position) {
+        this.position = position;
+    }
+
+    void setAlive(boolean alive) {
+        this.alive = alive;
+    }
+
+    @Override
+    public Vector2 getCurrentPosition() {
+        return position;
+    }
+
+    @Override
+    public SlotState getOwnerSlot() {
+        return ownerSlot;
+    }
+
+    @Override
+    public boolean isAlive() {
+        return alive;
+    }
+
+    @Override
+    protected void addAllComponents() {
+    }
+
+    @Override
+    protected void handleDeath(Entity killer) {
+    }
+
+    @Override
+    public boolean receiveAttack(AttackContext ctx) {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return stringId;
+    }
+}
@@ -0,0 +1,87 @@
+package com.server.game.model.game.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class GameCommandQueueTest {
+
+    private final GameCommandQueue queue = new GameCommandQueue();
+    private final List<String> executed = new ArrayList<>();
+
+    private void offer(GameCommand.Type type, String entityId, String label) {
+        queue.offer(new GameCommand(type, entityId, () -> executed.add(label)));
+    }
+
+    @Test
+    void latestCommandOfSameTypeAndEntityWins() {
+        offer(GameCommand.Type.MOVE, "champion_1", "move-1");
+        offer(GameCommand.Type.MOVE, "champion_1", "move-2");
+        offer(GameCommand.Type.MOVE, "champion_1", "move-3");
+
+        assertEquals(1, queue.drain());
+        assertEquals(List.of("move-3"), executed);
+    }
+
+    @Test
+    void differentTypesOrEntitiesAreNotCoalesced() {
+        offer(GameCommand.Type.MOVE, "champion_1", "move-1");
+        offer(GameCommand.Type.ATTACK, "champion_1", "attack-1");
+        offer(GameCommand.Type.MOVE, "champion_2", "move-2");
+        offer(GameCommand.Type.MOVE, "champion_1", "move-1b");
+
+        assertEquals(3, queue.drain());
+        // The surviving commands keep their arrival order
+        assertEquals(List.of("attack-1", "move-2", "move-1b"), executed);
+    }
+
+    @Test
+    void nullEntityIdIsNeverCoalesced() {
+        offer(GameCommand.Type.TROOP_SPAWN, null, "spawn-1");
+        offer(GameCommand.Type.TROOP_SPAWN, null, "spawn-2");
+        offer(GameCommand.Type.TROOP_SPAWN, null, "spawn-3");
+
+        assertEquals(3, queue.drain());
+        assertEquals(List.of("spawn-1", "spawn-2", "spawn-3"), executed);
+    }
+
+    @Test
+    void coalescingIsScopedToOneDrain() {
+        offer(GameCommand.Type.MOVE, "champion_1", "move-1");
+        assertEquals(1, queue.drain());
+
+        offer(GameCommand.Type.MOVE, "champion_1", "move-2");
+        assertEquals(1, queue.drain());
+
+        assertEquals(List.of("move-1", "move-2"), executed);
+        assertEquals(0, queue.drain());
+    }
+
+    @Test
+    void failingCommandDoesNotStopTheDrain() {
+        queue.offer(new GameCommand(GameCommand.Type.ATTACK, "troop_1", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        offer(GameCommand.Type.ATTACK, "troop_2", "attack-2");
+
+        assertEquals(1, queue.drain());
+        assertEquals(List.of("attack-2"), executed);
+    }
+
+    @Test
+    void commandsOfferedWhileDrainingRunOnTheNextDrain() {
+        queue.offer(new GameCommand(GameCommand.Type.MOVE, "champion_1", () -> {
+            executed.add("move-1");
+            offer(GameCommand.Type.MOVE, "champion_1", "move-2");
+        }));
+
+        assertEquals(1, queue.drain());
+        assertEquals(List.of("move-1"), executed);
+
+        assertEquals(1, queue.drain());
+        assertEquals(List.of("move-1", "move-2"), executed);
+    }
+}
@@ -0,0 +1,193 @@
+package com.server.game.model.game.timer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final TimerWheel wheel = new TimerWheel(0);
+    private final List<Long> firedAt = new ArrayList<>();
+    private long tick = 0;
+
+    private void advanceTo(long target) {
+        // One tick at a time, like the game loop
+        while (tick < target) {
+            tick++;
+            wheel.advance(tick);
+        }
+    }
+
+    private TimerWheel.Timeout scheduleRecording(long delayTicks) {
+        return wheel.schedule(delayTicks, () -> firedAt.add(tick));
+    }
+
+    @Test
+    void firesExactlyAtTheDeadline() {
+        TimerWheel.Timeout timeout = scheduleRecording(10);
+        assertEquals(10, timeout.getDeadlineTick());
+        assertEquals(10, timeout.getRemainingTicks());
+
+        advanceTo(9);
+        assertTrue(firedAt.isEmpty());
+        assertEquals(1, timeout.getRemainingTicks());
+
+        advanceTo(10);
+        assertEquals(List.of(10L), firedAt);
+        assertFalse(timeout.isPending());
+        assertEquals(0, wheel.getNumPending());
+    }
+
+    @Test
+    void delayBelowOneTickFiresOnTheNextTick() {
+        scheduleRecording(0);
+        scheduleRecording(-5);
+
+        advanceTo(1);
+        assertEquals(List.of(1L, 1L), firedAt);
+    }
+
+    @Test
+    void delaysLongerThanTheWheelWaitForTheirRound() {
+        // Same bucket as tick 100, but one and two rounds later
+        scheduleRecording(100 + WHEEL_SIZE);
+        scheduleRecording(100 + 2 * WHEEL_SIZE);
+        scheduleRecording(100);
+
+        advanceTo(100);
+        assertEquals(List.of(100L), firedAt);
+        assertEquals(2, wheel.getNumPending());
+
+        advanceTo(100 + WHEEL_SIZE - 1);
+        assertEquals(List.of(100L), firedAt);
+
+        advanceTo(100 + WHEEL_SIZE);
+        assertEquals(List.of(100L, 100L + WHEEL_SIZE), firedAt);
+
+        advanceTo(100 + 2 * WHEEL_SIZE);
+        assertEquals(List.of(100L, 100L + WHEEL_SIZE, 100L + 2 * WHEEL_SIZE), firedAt);
+        assertEquals(0, wheel.getNumPending());
+    }
+
+    @Test
+    void delayOfExactlyOneRoundFiresAfterTheFullRound() {
+        scheduleRecording(WHEEL_SIZE);
+
+        advanceTo(WHEEL_SIZE - 1);
+        assertTrue(firedAt.isEmpty());
+
+        advanceTo(WHEEL_SIZE);
+        assertEquals(List.of((long) WHEEL_SIZE), firedAt);
+    }
+
+    @Test
+    void advanceOverSeveralTicksFiresEveryDueTimeout() {
+        scheduleRecording(3);
+        scheduleRecording(700);
+        scheduleRecording(1200);
+
+        // A single call catching up many ticks
+        wheel.advance(1200);
+        assertEquals(3, firedAt.size());
+        assertEquals(0, wheel.getNumPending());
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() {
+        TimerWheel.Timeout cancelled = scheduleRecording(20);
+        TimerWheel.Timeout kept = scheduleRecording(20);
+        assertEquals(2, wheel.getNumPending());
+
+        cancelled.cancel();
+        assertFalse(cancelled.isPending());
+        assertEquals(0, cancelled.getRemainingTicks());
+        assertEquals(1, wheel.getNumPending());
+
+        advanceTo(20);
+        assertEquals(List.of(20L), firedAt);
+        assertFalse(kept.isPending());
+
+        // Cancelling again, or after expiry, changes nothing
+        cancelled.cancel();
+        kept.cancel();
+        assertEquals(0, wheel.getNumPending());
+    }
+
+    @Test
+    void cancelFromACallbackOfTheSameTick() {
+        // Both are due at the same tick and cancel each other, whichever runs first wins
+        TimerWheel.Timeout[] timeouts = new TimerWheel.Timeout[2];
+        timeouts[0] = wheel.schedule(5, () -> {
+            firedAt.add(0L);
+            timeouts[1].cancel();
+        });
+        timeouts[1] = wheel.schedule(5, () -> {
+            firedAt.add(1L);
+            timeouts[0].cancel();
+        });
+
+        advanceTo(5);
+        assertEquals(1, firedAt.size());
+        assertFalse(timeouts[0].isPending());
+        assertFalse(timeouts[1].isPending());
+        assertEquals(0, wheel.getNumPending());
+    }
+
+    @Test
+    void timeoutsScheduledFromACallbackFireLater() {
+        wheel.schedule(5, () -> {
+            firedAt.add(tick);
+            scheduleRecording(1);
+            scheduleRecording(WHEEL_SIZE); // Lands in the bucket being advanced
+        });
+
+        advanceTo(5);
+        assertEquals(List.of(5L), firedAt);
+        assertEquals(2, wheel.getNumPending());
+
+        advanceTo(6);
+        assertEquals(List.of(5L, 6L), firedAt);
+
+        advanceTo(5 + WHEEL_SIZE - 1);
+        assertEquals(List.of(5L, 6L), firedAt);
+
+        advanceTo(5 + WHEEL_SIZE);
+        assertEquals(List.of(5L, 6L, 5L + WHEEL_SIZE), firedAt);
+        assertEquals(0, wheel.getNumPending());
+    }
+
+    @Test
+    void periodicTimerReschedulingItself() {
+        Runnable[] periodic = new Runnable[1];
+        periodic[0] = () -> {
+            firedAt.add(tick);
+            if (firedAt.size() < 4) {
+                wheel.schedule(300, periodic[0]);
+            }
+        };
+        wheel.schedule(300, periodic[0]);
+
+        advanceTo(1500);
+        assertEquals(List.of(300L, 600L, 900L, 1200L), firedAt);
+        assertEquals(0, wheel.getNumPending());
+    }
+
+    @Test
+    void failingTaskDoesNotStopOtherTimeouts() {
+        wheel.schedule(7, () -> {
+            throw new IllegalStateException("boom");
+        });
+        scheduleRecording(7);
+
+        advanceTo(7);
+        assertEquals(List.of(7L), firedAt);
+        assertEquals(0, wheel.getNumPending());
+    }
+}
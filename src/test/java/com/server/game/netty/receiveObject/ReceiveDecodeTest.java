@@ -0,0 +1,122 @@
+package com.server.game.netty.receiveObject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.map.component.Vector2;
+import com.server.game.netty.receiveObject.attack.AttackReceive;
+import com.server.game.netty.tlv.interf4ce.TLVDecodable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * decode(ByteBuf) must give the same object as decode(byte[]) for the
+ * messages that override it
+ */
+class ReceiveDecodeTest {
+
+    // Strings are sent as a 2 byte length and UTF-8
+    private static final List<String> STRING_IDS = List.of(
+        "champion_1", "", "a\0b", "Tướng_đỏ", "lính_ạ", "troop_🗡");
+
+    /**
+     * [value] part of a message, String fields as length and UTF-8
+     */
+    private static byte[] value(Object... fields) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(baos);
+            for (Object field : fields) {
+                if (field instanceof String string) {
+                    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                    dos.writeShort(bytes.length);
+                    dos.write(bytes);
+                } else if (field instanceof Float number) {
+                    dos.writeFloat(number);
+                } else if (field instanceof Long number) {
+                    dos.writeLong(number);
+                } else {
+                    throw new IllegalArgumentException("Unsupported field: " + field);
+                }
+            }
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T extends TLVDecodable> void assertSameDecode(T fromBytes, T fromBuf, byte[] value) {
+        fromBytes.decode(value);
+
+        ByteBuf buf = Unpooled.wrappedBuffer(value);
+        try {
+            fromBuf.decode(buf);
+            assertEquals(0, buf.readableBytes(), "the whole value is read");
+        } finally {
+            buf.release();
+        }
+        assertEquals(fromBytes, fromBuf);
+    }
+
+    @Test
+    void positionReceive() {
+        for (String stringId : STRING_IDS) {
+            byte[] value = value(stringId, 12.5f, -3.25f, 1_700_000_000_123L);
+            assertSameDecode(new PositionReceive(), new PositionReceive(), value);
+
+            PositionReceive decoded = new PositionReceive();
+            decoded.decode(Unpooled.wrappedBuffer(value));
+            assertEquals(stringId, decoded.getStringId());
+            assertEquals(new Vector2(12.5f, -3.25f), decoded.getPosition());
+            assertEquals(1_700_000_000_123L, decoded.getTimestamp());
+        }
+    }
+
+    @Test
+    void attackReceive() {
+        for (String attackerId : STRING_IDS) {
+            for (String targetId : STRING_IDS) {
+                byte[] value = value(attackerId, targetId, Long.MAX_VALUE);
+                assertSameDecode(new AttackReceive(), new AttackReceive(), value);
+            }
+        }
+
+        AttackReceive decoded = new AttackReceive();
+        decoded.decode(Unpooled.wrappedBuffer(value("Tướng\0", "trụ_1", 7L)));
+        assertEquals("Tướng\0", decoded.getAttackerId());
+        assertEquals("trụ_1", decoded.getTargetId());
+    }
+
+    @Test
+    void castSkillReceive() {
+        for (String casterId : STRING_IDS) {
+            byte[] value = value(casterId, Float.NaN, Float.NEGATIVE_INFINITY, 0L);
+            assertSameDecode(new CastSkillReceive(), new CastSkillReceive(), value);
+        }
+    }
+
+    @Test
+    void readsFromTheReaderIndex() {
+        // The frame buffer still holds the type and length before the value
+        byte[] value = value("Tướng_đỏ", 1f, 2f, 3L);
+        ByteBuf frame = Unpooled.buffer();
+        frame.writeShort(1).writeInt(value.length).writeBytes(value);
+        frame.skipBytes(6);
+
+        PositionReceive fromBytes = new PositionReceive();
+        fromBytes.decode(value);
+        PositionReceive fromBuf = new PositionReceive();
+        fromBuf.decode(frame);
+
+        assertEquals(fromBytes, fromBuf);
+        frame.release();
+    }
+}
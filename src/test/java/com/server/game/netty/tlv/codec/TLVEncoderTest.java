@@ -0,0 +1,92 @@
+package com.server.game.netty.tlv.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.map.component.Vector2;
+import com.server.game.netty.sendObject.PositionSend;
+import com.server.game.netty.sendObject.PositionSend.EntityPositionData;
+import com.server.game.netty.sendObject.attack.HealthUpdateSend;
+import com.server.game.netty.tlv.interf4ce.TLVEncodable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * object2ByteBuf must write exactly the bytes of object2Bytes, the clients
+ * decode both the same way
+ */
+class TLVEncoderTest {
+
+    // ASCII, empty, '\0' (2 bytes in modified UTF-8), Vietnamese (2 and 3 bytes),
+    // a character outside the BMP (a surrogate pair, 3 bytes per half) and the
+    // limits of the 1, 2 and 3 byte forms
+    private static final List<String> STRING_IDS = List.of(
+        "champion_1", "", "a\0b", "\0", "Tướng_đỏ", "lính_ạ", "troop_🗡", "\u007F\u0080\u07FF\u0800");
+
+    private static void assertSameBytes(TLVEncodable message) {
+        byte[] expected = TLVEncoder.object2Bytes(message);
+
+        for (var allocator : List.of(UnpooledByteBufAllocator.DEFAULT, PooledByteBufAllocator.DEFAULT)) {
+            ByteBuf encoded = TLVEncoder.object2ByteBuf(message, allocator);
+            try {
+                assertArrayEquals(expected, ByteBufUtil.getBytes(encoded), message.toString());
+            } finally {
+                encoded.release();
+            }
+        }
+    }
+
+    @Test
+    void positionSendSingleEntity() {
+        for (String stringId : STRING_IDS) {
+            assertSameBytes(new PositionSend(stringId, new Vector2(12.5f, -3.25f), 4.2f, 1_700_000_000_123L));
+        }
+    }
+
+    @Test
+    void positionSendManyEntities() {
+        List<EntityPositionData> entities = STRING_IDS.stream()
+            .map(stringId -> new EntityPositionData(stringId, new Vector2(stringId.length(), -1f), 0f))
+            .toList();
+        assertSameBytes(new PositionSend(entities, Long.MIN_VALUE));
+        assertSameBytes(new PositionSend(List.of(), 0L));
+    }
+
+    @Test
+    void positionSendGrowsTheBuffer() {
+        // More than the default initial capacity of the allocators
+        List<EntityPositionData> entities = IntStream.range(0, 500)
+            .mapToObj(i -> new EntityPositionData("troop_" + i + "_đ", new Vector2(i, i / 2f), i % 7))
+            .toList();
+        assertSameBytes(new PositionSend(entities, 42L));
+    }
+
+    @Test
+    void healthUpdateSend() {
+        for (String stringId : STRING_IDS) {
+            assertSameBytes(new HealthUpdateSend(stringId, 350, 1000, -25, 1_700_000_000_123L));
+        }
+        assertSameBytes(new HealthUpdateSend("x", Integer.MIN_VALUE, Integer.MAX_VALUE, 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void lengthFieldIsTheValueLength() {
+        HealthUpdateSend message = new HealthUpdateSend("Tướng\0", 1, 2, 3, 4L);
+        ByteBuf encoded = TLVEncoder.object2ByteBuf(message, UnpooledByteBufAllocator.DEFAULT);
+        try {
+            assertEquals(message.getType().getType(), encoded.getShort(0));
+            assertEquals(message.encode().length, encoded.getInt(2));
+            assertEquals(2 + 4 + message.encode().length, encoded.readableBytes());
+        } finally {
+            encoded.release();
+        }
+    }
+}
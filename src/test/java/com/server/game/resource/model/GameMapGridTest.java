@@ -0,0 +1,97 @@
+package com.server.game.resource.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.model.map.component.Vector2;
+
+class GameMapGridTest {
+
+    private static GameMapGrid grid(boolean[][] walkable) {
+        int nRows = walkable.length;
+        int nCols = walkable[0].length;
+        return new GameMapGrid((short) 0, "test", new Vector2(0, nRows), new Vector2(nCols, 0),
+            nRows, nCols, 1f, walkable);
+    }
+
+    private static boolean[][] random(int nRows, int nCols, long seed) {
+        Random random = new Random(seed);
+        boolean[][] walkable = new boolean[nRows][nCols];
+        for (int row = 0; row < nRows; row++) {
+            for (int col = 0; col < nCols; col++) {
+                walkable[row][col] = random.nextBoolean();
+            }
+        }
+        return walkable;
+    }
+
+    private static void assertSameCells(boolean[][] expected, GameMapGrid grid) {
+        for (int row = 0; row < expected.length; row++) {
+            for (int col = 0; col < expected[row].length; col++) {
+                assertEquals(expected[row][col], grid.isWalkable(row, col), "cell (" + row + ", " + col + ")");
+                assertEquals(expected[row][col], grid.isWalkable(new GridCell(row, col)), "cell (" + row + ", " + col + ")");
+            }
+        }
+    }
+
+    @Test
+    void isWalkableMatchesTheSourceGrid() {
+        // Widths around the 64 bit word boundaries
+        for (int nCols : new int[] {1, 7, 63, 64, 65, 127, 128, 129, 200}) {
+            boolean[][] walkable = random(5, nCols, nCols);
+            GameMapGrid grid = grid(walkable);
+
+            assertSameCells(walkable, grid);
+            assertArrayEquals(walkable, grid.getGrid(), "width " + nCols);
+        }
+    }
+
+    @Test
+    void rowsDoNotShareBits() {
+        // Only the last column of each row is walkable, a bit written past the
+        // end of a row would show up at the start of the next one
+        for (int nCols : new int[] {63, 64, 65, 130}) {
+            boolean[][] walkable = new boolean[4][nCols];
+            for (boolean[] row : walkable) {
+                row[nCols - 1] = true;
+            }
+            GameMapGrid grid = grid(walkable);
+
+            assertSameCells(walkable, grid);
+            for (int row = 0; row < 4; row++) {
+                assertFalse(grid.isWalkable(row, 0));
+                assertTrue(grid.isWalkable(row, nCols - 1));
+            }
+        }
+    }
+
+    @Test
+    void fullAndEmptyGrids() {
+        boolean[][] full = new boolean[3][70];
+        for (boolean[] row : full) {
+            Arrays.fill(row, true);
+        }
+        assertSameCells(full, grid(full));
+        assertSameCells(new boolean[3][70], grid(new boolean[3][70]));
+    }
+
+    @Test
+    void isOutGrid() {
+        GameMapGrid grid = grid(random(3, 65, 1));
+
+        assertFalse(grid.isOutGrid(new GridCell(0, 0)));
+        assertFalse(grid.isOutGrid(new GridCell(2, 64)));
+        assertTrue(grid.isOutGrid(new GridCell(-1, 0)));
+        assertTrue(grid.isOutGrid(new GridCell(0, -1)));
+        assertTrue(grid.isOutGrid(new GridCell(3, 0)));
+        assertTrue(grid.isOutGrid(new GridCell(0, 65)));
+    }
+}
@@ -0,0 +1,240 @@
+package com.server.game.simulation;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import com.server.game.config.JacksonConfig;
+import com.server.game.factory.AttackContextFactory;
+import com.server.game.factory.BurgFactory;
+import com.server.game.factory.CastSkillContextFactory;
+import com.server.game.factory.ChampionFactory;
+import com.server.game.factory.GoldMineFactory;
+import com.server.game.factory.MoveContextFactory;
+import com.server.game.factory.SkillFactory;
+import com.server.game.factory.SlotStateFactory;
+import com.server.game.factory.TowerFactory;
+import com.server.game.factory.TroopFactory;
+import com.server.game.model.game.GameState;
+import com.server.game.netty.ChannelManager;
+import com.server.game.netty.messageHandler.AnimationMessageHandler;
+import com.server.game.netty.messageHandler.AttackMessageHandler;
+import com.server.game.netty.messageHandler.CastSkillMessageHandler;
+import com.server.game.netty.messageHandler.GameStateMessageHandler;
+import com.server.game.netty.messageHandler.MoveMessageHandler;
+import com.server.game.netty.messageHandler.PlaygroundMessageHandler;
+import com.server.game.netty.messageHandler.TroopMessageHandler;
+import com.server.game.netty.pipelineComponent.TLVMessageEncoder;
+import com.server.game.netty.pipelineComponent.Writer;
+import com.server.game.resource.model.ChampionDB;
+import com.server.game.resource.model.GameMap;
+import com.server.game.resource.model.GameMapGrid;
+import com.server.game.resource.model.TroopDB;
+import com.server.game.resource.reader.JsonReader;
+import com.server.game.resource.repository.ChampionDBRepository;
+import com.server.game.resource.repository.TroopDBRepository;
+import com.server.game.resource.service.TroopService;
+import com.server.game.service.attack.AttackService;
+import com.server.game.service.castSkill.CastSkillService;
+import com.server.game.service.champion.ChampionService;
+import com.server.game.service.defense.DefenseService;
+import com.server.game.service.defense.DefensiveStanceService;
+import com.server.game.service.gameState.GameCoordinator;
+import com.server.game.service.gameState.GameStateService;
+import com.server.game.service.gameState.SlotStateService;
+import com.server.game.service.gold.GoldService;
+import com.server.game.service.move.MoveService;
+import com.server.game.service.pathfinding.ClusterGraphService;
+import com.server.game.service.pathfinding.FlowFieldService;
+import com.server.game.service.pathfinding.MapQueryTablesService;
+import com.server.game.service.scheduler.GameLogicScheduler;
+import com.server.game.service.scheduler.GameTickEngine;
+import com.server.game.service.troop.TroopManager;
+import com.server.game.util.ChampionEnum;
+import com.server.game.util.Util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds real GameStates without Mongo, Redis or a Netty server.
+ *
+ * The game core beans are wired in a minimal Spring context, the champion
+ * and troop repositories are replaced by in-memory stubs backed by the
+ * JSON files in resources/game, and the map and its grid are read from
+ * the classpath once and shared by all games.
+ *
+ * Every player gets an EmbeddedChannel with the real outbound pipeline
+ * (TLVMessageEncoder + Writer) ending in a sink that drops the bytes,
+ * so messages are still built and encoded but never hit a socket.
+ */
+@Slf4j
+public class HeadlessGameFactory implements AutoCloseable {
+
+    private static final String MAP_NAME = "map_2";
+    private static final String[] CHAMPION_FILES = { "axe", "knight", "archer", "wizard" };
+    private static final String[] TROOP_FILES = { "axis", "shadow", "crossbawl", "healer" };
+
+    // The real tick shards must never fire, the harness drives runTick itself
+    private static final long IDLE_TICK_INTERVAL_MS = TimeUnit.DAYS.toMillis(1);
+
+    private final AnnotationConfigApplicationContext context;
+    // Game ids must stay unique in ChannelManager, which is static
+    private static final AtomicInteger gameCounter = new AtomicInteger();
+
+    @Getter
+    private final GameMap gameMap;
+    @Getter
+    private final GameMapGrid gameMapGrid;
+
+    // Bytes and messages that reached the null sink
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+
+
+    public HeadlessGameFactory(int tickIntervalMs, int numShards) {
+        this.context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("simulation", Map.of(
+            "game.tick-interval-ms", tickIntervalMs,
+            "game.tick-shards", numShards,
+            "game.pathfinding.hpa-map-ids", "2",
+            "netty.server.address", "localhost",
+            "netty.server.port", 0
+        )));
+
+        // Bootstrap reader, used to build the in-memory repositories
+        JsonReader jsonReader = new JsonReader(new JacksonConfig().objectMapper());
+        Map<Short, ChampionDB> championDBs = new HashMap<>();
+        for (String file : CHAMPION_FILES) {
+            ChampionDB championDB = jsonReader.readChampionFromJson(file);
+            championDBs.put(championDB.getId(), championDB);
+        }
+        Map<Short, TroopDB> troopDBs = new HashMap<>();
+        for (String file : TROOP_FILES) {
+            TroopDB troopDB = jsonReader.readTroopFromJson(file);
+            troopDBs.put(troopDB.getId(), troopDB);
+        }
+
+        context.register(JacksonConfig.class, JsonReader.class, Util.class);
+        context.registerBean(ChampionDBRepository.class,
+            () -> inMemoryRepository(ChampionDBRepository.class, championDBs));
+        context.registerBean(TroopDBRepository.class,
+            () -> inMemoryRepository(TroopDBRepository.class, troopDBs));
+
+        context.register(
+            ChampionService.class, TroopService.class,
+            GameCoordinator.class, GameStateService.class, SlotStateService.class,
+            PlaygroundMessageHandler.class, AnimationMessageHandler.class, GameStateMessageHandler.class,
+            MoveMessageHandler.class, AttackMessageHandler.class, CastSkillMessageHandler.class,
+            TroopMessageHandler.class,
+            MoveService.class, AttackService.class, CastSkillService.class, GoldService.class,
+            DefensiveStanceService.class, DefenseService.class, TroopManager.class,
+            TroopFactory.class, ChampionFactory.class, SkillFactory.class, TowerFactory.class,
+            BurgFactory.class, GoldMineFactory.class, SlotStateFactory.class,
+            MoveContextFactory.class, AttackContextFactory.class, CastSkillContextFactory.class,
+            GameLogicScheduler.class, ClusterGraphService.class, FlowFieldService.class,
+            MapQueryTablesService.class
+        );
+        context.registerBean(GameTickEngine.class, () -> new GameTickEngine(
+            context.getBean(GameLogicScheduler.class), numShards, IDLE_TICK_INTERVAL_MS, 0));
+
+        context.refresh();
+
+        this.gameMap = jsonReader.readGameMapFromJson(MAP_NAME);
+        this.gameMapGrid = jsonReader.readGameMapGridFromJson(MAP_NAME);
+        if (gameMap == null || gameMapGrid == null) {
+            throw new IllegalStateException("Cannot load " + MAP_NAME + " from the classpath");
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Build, connect and register a new game, the game is pinned to a tick shard
+     * but only ticks when the caller runs GameLogicScheduler.runTick on it
+     */
+    public GameState createGame(Map<Short, ChampionEnum> slot2ChampionEnum) {
+        String gameId = "sim-" + gameCounter.incrementAndGet();
+
+        for (Short slot : slot2ChampionEnum.keySet()) {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            // Outbound messages go from the last handler to the first one
+            channel.pipeline()
+                .addLast(new NullSink())
+                .addLast(new Writer())
+                .addLast(new TLVMessageEncoder());
+
+            ChannelManager.register(null, gameId, channel);
+            ChannelManager.setSlot2Channel(slot, channel);
+            ChannelManager.setChampionId2Channel(slot2ChampionEnum.get(slot), channel);
+        }
+
+        GameState gameState = new GameState(gameId, gameMap, gameMapGrid, slot2ChampionEnum,
+            getBean(GameStateService.class), getBean(SlotStateFactory.class));
+        gameState.setClusterGraph(getBean(ClusterGraphService.class).getClusterGraph(gameMapGrid));
+        gameState.setMapQueryTables(getBean(MapQueryTablesService.class).getMapQueryTables(gameMap, gameMapGrid));
+        getBean(GameCoordinator.class).registerGame(gameState);
+        return gameState;
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <R> R inMemoryRepository(Class<R> repositoryType, Map<Short, ?> documents) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findById" -> Optional.ofNullable(documents.get(args[0]));
+                case "existsById" -> documents.containsKey(args[0]);
+                case "findAll" -> new ArrayList<>(documents.values());
+                case "count" -> (long) documents.size();
+                case "toString" -> "InMemory" + repositoryType.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(
+                    repositoryType.getSimpleName() + "." + method.getName() + " is not available in the simulation");
+            });
+    }
+
+    /**
+     * End of the outbound pipeline, counts and drops everything written to the channel
+     */
+    private class NullSink extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            if (msg instanceof ByteBuf byteBuf) {
+                bytesSent.add(byteBuf.readableBytes());
+            }
+            messagesSent.increment();
+            ReferenceCountUtil.release(msg);
+            promise.setSuccess();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.server.game.simulation;
+
+import java.util.SplittableRandom;
+
+import com.server.game.model.game.Champion;
+import com.server.game.model.game.Entity;
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.SlotState;
+import com.server.game.model.game.building.Tower;
+import com.server.game.model.game.command.GameCommand;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.netty.ChannelManager;
+import com.server.game.netty.messageHandler.AttackMessageHandler;
+import com.server.game.netty.messageHandler.CastSkillMessageHandler;
+import com.server.game.netty.messageHandler.MoveMessageHandler;
+import com.server.game.netty.messageHandler.TroopMessageHandler;
+import com.server.game.netty.receiveObject.CastSkillReceive;
+import com.server.game.netty.receiveObject.PositionReceive;
+import com.server.game.netty.receiveObject.attack.AttackReceive;
+import com.server.game.netty.receiveObject.troop.TroopSpawnReceive;
+import com.server.game.util.TroopEnum;
+
+import io.netty.channel.Channel;
+
+/**
+ * Plays one slot of a simulated game. Every action is built as the message a
+ * client would send and submitted to the game's command queue with the apply
+ * method of its Netty message handler, so the tick applies it exactly like
+ * real player input.
+ */
+public class ScriptedBot {
+
+    // Roughly how often a player does each action, in ticks (~30 ticks per second)
+    private static final int MOVE_EVERY_TICKS = 10;
+    private static final int ATTACK_EVERY_TICKS = 45;
+    private static final int CAST_SKILL_EVERY_TICKS = 120;
+    private static final int SPAWN_TROOP_EVERY_TICKS = 150;
+
+    private static final float MOVE_JITTER = 6f;
+
+    private final GameState gameState;
+    private final short slot;
+    private final short enemySlot;
+    private final SplittableRandom random;
+
+    private final MoveMessageHandler moveMessageHandler;
+    private final AttackMessageHandler attackMessageHandler;
+    private final CastSkillMessageHandler castSkillMessageHandler;
+    private final TroopMessageHandler troopMessageHandler;
+
+
+    public ScriptedBot(HeadlessGameFactory factory, GameState gameState, short slot, short enemySlot, long seed) {
+        this.gameState = gameState;
+        this.slot = slot;
+        this.enemySlot = enemySlot;
+        this.random = new SplittableRandom(seed);
+
+        this.moveMessageHandler = factory.getBean(MoveMessageHandler.class);
+        this.attackMessageHandler = factory.getBean(AttackMessageHandler.class);
+        this.castSkillMessageHandler = factory.getBean(CastSkillMessageHandler.class);
+        this.troopMessageHandler = factory.getBean(TroopMessageHandler.class);
+    }
+
+    /**
+     * Called once before every tick, may submit some commands
+     */
+    public void act(long tick) {
+        SlotState slotState = gameState.getSlotState(slot);
+        if (slotState == null || !slotState.isChampionAlive()) {
+            return;
+        }
+        Champion champion = slotState.getChampion();
+
+        // Desynchronise the players so that not all of them act on the same tick
+        long phase = tick + slot * 7L;
+
+        if (phase % MOVE_EVERY_TICKS == 0) {
+            submitMove(champion, pickMoveTarget());
+        }
+        if (phase % ATTACK_EVERY_TICKS == 0) {
+            Entity target = pickAttackTarget();
+            if (target != null) {
+                submitAttack(champion.getStringId(), target.getStringId());
+            }
+        }
+        if (phase % CAST_SKILL_EVERY_TICKS == 0) {
+            Champion enemy = gameState.getChampionBySlot(enemySlot);
+            if (enemy != null) {
+                submitCastSkill(champion.getStringId(), jitter(enemy.getCurrentPosition(), 1f));
+            }
+        }
+        if (phase % SPAWN_TROOP_EVERY_TICKS == 0) {
+            submitTroopSpawn();
+        }
+    }
+
+    private Vector2 pickMoveTarget() {
+        int choice = random.nextInt(3);
+        Vector2 anchor = switch (choice) {
+            case 0 -> gameState.getSpawnPosition(enemySlot);
+            case 1 -> gameState.getPlayground().getPosition();
+            default -> gameState.getSpawnPosition(slot);
+        };
+        return jitter(anchor, MOVE_JITTER);
+    }
+
+    private Entity pickAttackTarget() {
+        SlotState enemy = gameState.getSlotState(enemySlot);
+        if (enemy == null) {
+            return null;
+        }
+        if (enemy.isChampionAlive() && random.nextBoolean()) {
+            return enemy.getChampion();
+        }
+        for (Tower tower : enemy.getTowers()) {
+            if (tower.isAlive()) {
+                return tower;
+            }
+        }
+        return enemy.getBurg();
+    }
+
+    private Vector2 jitter(Vector2 position, float radius) {
+        return new Vector2(
+            position.x() + (float) (random.nextDouble() * 2 - 1) * radius,
+            position.y() + (float) (random.nextDouble() * 2 - 1) * radius);
+    }
+
+    private void submitMove(Entity mover, Vector2 target) {
+        PositionReceive receive = new PositionReceive();
+        receive.setStringId(mover.getStringId());
+        receive.setPosition(target);
+        receive.setTimestamp(System.currentTimeMillis());
+
+        gameState.submitCommand(GameCommand.Type.MOVE, mover.getStringId(),
+            () -> moveMessageHandler.applyMove(gameState, receive));
+    }
+
+    private void submitAttack(String attackerId, String targetId) {
+        AttackReceive receive = new AttackReceive();
+        receive.setAttackerId(attackerId);
+        receive.setTargetId(targetId);
+        receive.setTimestamp(System.currentTimeMillis());
+
+        gameState.submitCommand(GameCommand.Type.ATTACK, attackerId,
+            () -> attackMessageHandler.applyAttack(gameState, receive, receive.getTimestamp()));
+    }
+
+    private void submitCastSkill(String casterId, Vector2 targetPosition) {
+        CastSkillReceive receive = new CastSkillReceive();
+        receive.setCasterId(casterId);
+        receive.setTargetPosition(targetPosition);
+        receive.setTimestamp(System.currentTimeMillis());
+
+        gameState.submitCommand(GameCommand.Type.CAST_SKILL, casterId,
+            () -> castSkillMessageHandler.applyCastSkill(gameState, receive, receive.getTimestamp()));
+    }
+
+    private void submitTroopSpawn() {
+        TroopEnum troopType = TroopEnum.values()[random.nextInt(TroopEnum.values().length)];
+
+        TroopSpawnReceive receive = new TroopSpawnReceive();
+        receive.setTroopId(troopType.getTroopId());
+        receive.setOwnerSlot(slot);
+        receive.setAttack(random.nextBoolean());
+        receive.setTimestamp(System.currentTimeMillis());
+
+        // The cooldown message goes to the player's own channel, like a real spawn request
+        Channel channel = ChannelManager.getChannelByGameIdAndSlot(gameState.getGameId(), slot);
+        gameState.submitCommand(GameCommand.Type.TROOP_SPAWN, null,
+            () -> troopMessageHandler.applyTroopSpawn(gameState, receive, slot, troopType, channel));
+    }
+}
@@ -0,0 +1,289 @@
+package com.server.game.simulation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.LoggerFactory;
+
+import com.server.game.model.game.GameState;
+import com.server.game.model.game.TickProfiler;
+import com.server.game.service.gameState.GameCoordinator;
+import com.server.game.service.scheduler.GameLogicScheduler;
+import com.server.game.util.ChampionEnum;
+import com.server.game.util.LatencyHistogram;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Headless throughput benchmark of the game core.
+ *
+ * Spins up N two player games on map_2 with scripted bots and ticks them
+ * back to back on one thread per tick shard, as fast as possible. Reports
+ * ticks/sec, how many games one JVM could keep at the configured tick rate,
+ * per-tick latency percentiles, the per-phase breakdown and the allocation
+ * rate of the tick threads.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.server.game.simulation.SimulationHarness \
+ *     -Dsim.games=200 -Dsim.seconds=30
+ *
+ * Options (system properties):
+ *   sim.games       number of concurrent games (default 100)
+ *   sim.workers     tick threads, one per shard (default: available cores)
+ *   sim.warmup      warmup seconds, not measured (default 10)
+ *   sim.seconds     measured seconds (default 30)
+ *   sim.tick-ms     game tick interval used by the game rules (default 33)
+ *   sim.seed        seed of the bots (default 42)
+ *   sim.log-level   log level of the game code (default WARN)
+ */
+public class SimulationHarness {
+
+    private static final short SLOT_A = 0;
+    private static final short SLOT_B = 1;
+
+    private final HeadlessGameFactory factory;
+    private final GameLogicScheduler gameLogicScheduler;
+    private final GameCoordinator gameCoordinator;
+    private final Worker[] workers;
+    private final long seed;
+
+
+    public SimulationHarness(HeadlessGameFactory factory, int numGames, int numWorkers, long seed) {
+        this.factory = factory;
+        this.gameLogicScheduler = factory.getBean(GameLogicScheduler.class);
+        this.gameCoordinator = factory.getBean(GameCoordinator.class);
+        this.seed = seed;
+
+        this.workers = new Worker[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            workers[i] = new Worker(i);
+        }
+
+        // Each worker plays the role of one tick shard and ticks the games pinned to it
+        for (int i = 0; i < numGames; i++) {
+            SimulatedGame game = newGame(i);
+            int shard = game.gameState.getTickShard();
+            workers[Math.floorMod(shard, numWorkers)].games.add(game);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int numGames = Integer.getInteger("sim.games", 100);
+        int numWorkers = Integer.getInteger("sim.workers", Runtime.getRuntime().availableProcessors());
+        int warmupSeconds = Integer.getInteger("sim.warmup", 10);
+        int measuredSeconds = Integer.getInteger("sim.seconds", 30);
+        int tickIntervalMs = Integer.getInteger("sim.tick-ms", 33);
+        long seed = Long.getLong("sim.seed", 42L);
+
+        Logger gameLogger = (Logger) LoggerFactory.getLogger("com.server.game");
+        gameLogger.setLevel(Level.toLevel(System.getProperty("sim.log-level"), Level.WARN));
+
+        try (HeadlessGameFactory factory = new HeadlessGameFactory(tickIntervalMs, numWorkers)) {
+            SimulationHarness harness = new SimulationHarness(factory, numGames, numWorkers, seed);
+            harness.run(warmupSeconds, measuredSeconds, tickIntervalMs);
+        }
+    }
+
+    public void run(int warmupSeconds, int measuredSeconds, int tickIntervalMs) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (Worker worker : workers) {
+            Thread thread = new Thread(worker, "sim-tick-" + worker.index);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        System.out.printf("Warming up %d games on %d tick threads for %ds%n",
+            countGames(), workers.length, warmupSeconds);
+        Thread.sleep(warmupSeconds * 1000L);
+
+        for (Worker worker : workers) {
+            worker.resetRequested = true;
+        }
+        long startBytesSent = factory.getBytesSent();
+        long startMessagesSent = factory.getMessagesSent();
+        long startAllocated = allocatedBytes(threads);
+        long startNanos = System.nanoTime();
+
+        Thread.sleep(measuredSeconds * 1000L);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocated = allocatedBytes(threads) - startAllocated;
+        long bytesSent = factory.getBytesSent() - startBytesSent;
+        long messagesSent = factory.getMessagesSent() - startMessagesSent;
+
+        for (Worker worker : workers) {
+            worker.running = false;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        report(elapsedNanos, allocated, bytesSent, messagesSent, tickIntervalMs);
+    }
+
+
+    private SimulatedGame newGame(long gameIndex) {
+        ChampionEnum[] champions = ChampionEnum.values();
+        GameState gameState = factory.createGame(Map.of(
+            SLOT_A, champions[(int) (gameIndex % champions.length)],
+            SLOT_B, champions[(int) ((gameIndex + 1) % champions.length)]
+        ));
+
+        long gameSeed = seed * 31 + gameIndex;
+        return new SimulatedGame(gameState, new ScriptedBot[] {
+            new ScriptedBot(factory, gameState, SLOT_A, SLOT_B, gameSeed * 2),
+            new ScriptedBot(factory, gameState, SLOT_B, SLOT_A, gameSeed * 2 + 1)
+        });
+    }
+
+    private int countGames() {
+        int count = 0;
+        for (Worker worker : workers) {
+            count += worker.games.size();
+        }
+        return count;
+    }
+
+    private void report(long elapsedNanos, long allocatedBytes, long bytesSent, long messagesSent, int tickIntervalMs) {
+        double seconds = elapsedNanos / 1e9;
+
+        long ticks = 0;
+        long gamesFinished = 0;
+        LatencyHistogram tickLatency = new LatencyHistogram();
+        LatencyHistogram[] phases = new LatencyHistogram[TickProfiler.Phase.values().length];
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+
+        for (Worker worker : workers) {
+            ticks += worker.ticks;
+            gamesFinished += worker.gamesFinished;
+            tickLatency.add(worker.tickLatency);
+            for (SimulatedGame game : worker.games) {
+                for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+                    phases[phase.ordinal()].add(game.gameState.getTickProfiler().getHistogram(phase));
+                }
+            }
+        }
+
+        double ticksPerSecond = ticks / seconds;
+        double ticksPerGamePerSecond = 1000.0 / tickIntervalMs;
+
+        System.out.println();
+        System.out.printf("Games: %d, tick threads: %d, measured: %.1fs, games finished: %d%n",
+            countGames(), workers.length, seconds, gamesFinished);
+        System.out.printf("Ticks: %d (%.0f ticks/s, %.1f ticks/s per thread)%n",
+            ticks, ticksPerSecond, ticksPerSecond / workers.length);
+        System.out.printf("Sustainable games at %.0f Hz: ~%.0f%n",
+            ticksPerGamePerSecond, ticksPerSecond / ticksPerGamePerSecond);
+        System.out.printf("Tick latency (us): mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+            micros(tickLatency.getMean()),
+            micros(tickLatency.getValueAtPercentile(50)),
+            micros(tickLatency.getValueAtPercentile(90)),
+            micros(tickLatency.getValueAtPercentile(99)),
+            micros(tickLatency.getValueAtPercentile(99.9)),
+            micros(tickLatency.getMaxValue()));
+        System.out.printf("Allocation: %.1f MB/s, %.0f bytes/tick%n",
+            allocatedBytes / seconds / (1024 * 1024), ticks == 0 ? 0.0 : (double) allocatedBytes / ticks);
+        System.out.printf("Network (null sink): %.0f msg/s, %.1f KB/s%n",
+            messagesSent / seconds, bytesSent / seconds / 1024);
+
+        System.out.println();
+        System.out.printf("%-16s %10s %10s %10s %10s%n", "phase", "mean(us)", "p50(us)", "p99(us)", "max(us)");
+        for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+            LatencyHistogram histogram = phases[phase.ordinal()];
+            System.out.printf("%-16s %10.1f %10.1f %10.1f %10.1f%n", phase,
+                micros(histogram.getMean()),
+                micros(histogram.getValueAtPercentile(50)),
+                micros(histogram.getValueAtPercentile(99)),
+                micros(histogram.getMaxValue()));
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    private static long allocatedBytes(List<Thread> threads) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean)) {
+            return 0;
+        }
+        long total = 0;
+        for (Thread thread : threads) {
+            total += Math.max(0, threadMXBean.getThreadAllocatedBytes(thread.getId()));
+        }
+        return total;
+    }
+
+
+    private record SimulatedGame(GameState gameState, ScriptedBot[] bots) {
+    }
+
+    /**
+     * One tick thread, ticks all its games back to back with no pacing
+     */
+    private class Worker implements Runnable {
+        final int index;
+        final List<SimulatedGame> games = new ArrayList<>();
+        final LatencyHistogram tickLatency = new LatencyHistogram();
+
+        volatile boolean running = true;
+        volatile boolean resetRequested = false;
+
+        long ticks = 0;
+        long gamesFinished = 0;
+        long nextGameIndex;
+
+        Worker(int index) {
+            this.index = index;
+            this.nextGameIndex = (long) (index + 1) << 32;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                if (resetRequested) {
+                    resetStats();
+                }
+
+                for (int i = 0; i < games.size(); i++) {
+                    SimulatedGame game = games.get(i);
+
+                    // The game is over and was unregistered, replace it to keep the load constant
+                    if (!gameCoordinator.isActive(game.gameState)) {
+                        games.set(i, newGame(nextGameIndex++));
+                        gamesFinished++;
+                        continue;
+                    }
+
+                    long tick = game.gameState.getCurrentTick();
+                    for (ScriptedBot bot : game.bots) {
+                        bot.act(tick);
+                    }
+
+                    long startNanos = System.nanoTime();
+                    gameLogicScheduler.runTick(game.gameState);
+                    tickLatency.record(System.nanoTime() - startNanos);
+                    ticks++;
+                }
+            }
+        }
+
+        private void resetStats() {
+            resetRequested = false;
+            ticks = 0;
+            gamesFinished = 0;
+            tickLatency.reset();
+            for (SimulatedGame game : games) {
+                for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+                    game.gameState.getTickProfiler().getHistogram(phase).reset();
+                }
+            }
+        }
+    }
+}
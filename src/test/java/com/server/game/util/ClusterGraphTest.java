@@ -0,0 +1,227 @@
+package com.server.game.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.resource.model.GameMapGrid;
+
+class ClusterGraphTest {
+
+    private static final double SQRT2 = Math.sqrt(2);
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * '.' is walkable, anything else is blocked
+     */
+    private static GameMapGrid grid(String... rows) {
+        boolean[][] walkable = new boolean[rows.length][rows[0].length()];
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                walkable[row][col] = rows[row].charAt(col) == '.';
+            }
+        }
+        return new GameMapGrid((short) 0, "test", new Vector2(0, rows.length), new Vector2(rows[0].length(), 0),
+            rows.length, rows[0].length(), 1f, walkable);
+    }
+
+    private static GameMapGrid openGrid(int nRows, int nCols) {
+        String[] rows = new String[nRows];
+        Arrays.fill(rows, ".".repeat(nCols));
+        return grid(rows);
+    }
+
+    private static int node(ClusterGraph graph, int row, int col) {
+        int cell = row * graph.getCols() + col;
+        int[] nodeCell = graph.getNodeCell();
+        for (int node = 0; node < nodeCell.length; node++) {
+            if (nodeCell[node] == cell) {
+                return node;
+            }
+        }
+        throw new AssertionError("no node at (" + row + ", " + col + ")");
+    }
+
+    /**
+     * Cost of the edge between the nodes of the two cells, NaN if there is none
+     */
+    private static double cost(ClusterGraph graph, int fromRow, int fromCol, int toRow, int toCol) {
+        int from = node(graph, fromRow, fromCol);
+        int to = node(graph, toRow, toCol);
+        int[] targets = graph.getEdgeTarget()[from];
+        for (int e = 0; e < targets.length; e++) {
+            if (targets[e] == to) {
+                return graph.getEdgeCost()[from][e];
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static int[] cells(ClusterGraph graph, int... rowCols) {
+        int[] cells = new int[rowCols.length / 2];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = rowCols[2 * i] * graph.getCols() + rowCols[2 * i + 1];
+        }
+        return cells;
+    }
+
+    private static int[] sorted(int[] values) {
+        int[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    // ========== Entrances ==========
+
+    @Test
+    void openGridHasOneEntrancePerClusterSide() {
+        ClusterGraph graph = ClusterGraph.build(openGrid(8, 8), 4);
+
+        assertEquals(2, graph.getClusterRows());
+        assertEquals(2, graph.getClusterCols());
+        // 4 short entrances, one transition (2 nodes) each, in the middle of the run
+        assertEquals(8, graph.getNumNodes());
+        assertArrayEquals(sorted(cells(graph, 3, 1, 4, 1, 3, 5, 4, 5, 1, 3, 1, 4, 5, 3, 5, 4)),
+            sorted(graph.getNodeCell()));
+        for (int[] clusterNodes : graph.getClusterNodes()) {
+            assertEquals(2, clusterNodes.length);
+        }
+    }
+
+    @Test
+    void runsAreSplitAtClusterCorners() {
+        // The whole row 3 / row 4 border is open, but it crosses the corner at
+        // column 4, so each cluster gets its own entrance in the middle of its half
+        ClusterGraph graph = ClusterGraph.build(openGrid(8, 8), 4);
+
+        assertEquals(graph.clusterOf(3, 1), graph.clusterOfCell(graph.getNodeCell()[node(graph, 3, 1)]));
+        assertEquals(graph.clusterOf(3, 5), graph.clusterOfCell(graph.getNodeCell()[node(graph, 3, 5)]));
+        assertTrue(graph.clusterOf(3, 1) != graph.clusterOf(3, 5));
+        assertTrue(Double.isNaN(cost(graph, 3, 1, 3, 5)));
+    }
+
+    @Test
+    void runsAreSplitByBlockedCells() {
+        ClusterGraph graph = ClusterGraph.build(grid(
+            "........",
+            "........",
+            "........",
+            "........",
+            "..#.....",
+            "........",
+            "........",
+            "........"), 4);
+
+        // Columns 0-1 and 3 of the border under cluster 0 are two entrances
+        assertEquals(10, graph.getNumNodes());
+        assertEquals(1.0, cost(graph, 3, 0, 4, 0), EPSILON);
+        assertEquals(1.0, cost(graph, 3, 3, 4, 3), EPSILON);
+        assertEquals(3, graph.getClusterNodes()[graph.clusterOf(0, 0)].length);
+    }
+
+    @Test
+    void longEntranceHasATransitionAtBothEnds() {
+        ClusterGraph graph = ClusterGraph.build(openGrid(16, 16), 8);
+
+        // Every run is 8 cells, transitions at both ends. The cells next to the
+        // middle corner are the end of a horizontal and a vertical entrance and
+        // are only one node each
+        assertEquals(12, graph.getNumNodes());
+        assertArrayEquals(sorted(cells(graph,
+                7, 0, 8, 0, 7, 7, 8, 7, 7, 8, 8, 8, 7, 15, 8, 15,
+                0, 7, 0, 8, 15, 7, 15, 8)),
+            sorted(graph.getNodeCell()));
+
+        assertEquals(1.0, cost(graph, 7, 7, 8, 7), EPSILON);
+        assertEquals(1.0, cost(graph, 7, 7, 7, 8), EPSILON);
+        assertEquals(7.0, cost(graph, 7, 0, 7, 7), EPSILON);
+        assertEquals(7 * SQRT2, cost(graph, 7, 0, 0, 7), EPSILON);
+    }
+
+    @Test
+    void lastClustersMayBeSmaller() {
+        ClusterGraph graph = ClusterGraph.build(openGrid(10, 10), 4);
+
+        assertEquals(3, graph.getClusterRows());
+        assertEquals(3, graph.getClusterCols());
+        assertEquals(8, graph.clusterOf(9, 9));
+        assertEquals(23, graph.getNumNodes());
+        // Middle of the 2 cell run of the last cluster column
+        assertEquals(1.0, cost(graph, 3, 8, 4, 8), EPSILON);
+    }
+
+    // ========== Edges ==========
+
+    @Test
+    void intraEdgeCostsAreTheShortestPathInTheCluster() {
+        ClusterGraph graph = ClusterGraph.build(openGrid(8, 8), 4);
+
+        assertEquals(2 * SQRT2, cost(graph, 3, 1, 1, 3), EPSILON);
+        assertEquals(1 + SQRT2, cost(graph, 3, 5, 1, 4), EPSILON);
+        assertEquals(SQRT2, cost(graph, 4, 5, 5, 4), EPSILON);
+        assertEquals(1.0, cost(graph, 3, 1, 4, 1), EPSILON);
+    }
+
+    @Test
+    void intraEdgesGoAroundWallsAndSkipUnreachableNodes() {
+        ClusterGraph graph = ClusterGraph.build(grid(
+            "..#.....",
+            "..#.....",
+            "..#.....",
+            "..#.....",
+            "........",
+            "........",
+            "........",
+            "........"), 4);
+
+        // (3, 0) is cut from the rest of its cluster, only the inter edge is left
+        assertEquals(1, graph.getEdgeTarget()[node(graph, 3, 0)].length);
+        assertEquals(2.0, cost(graph, 3, 3, 1, 3), EPSILON);
+        // Below the wall the detour costs more than the straight line
+        assertEquals(3.0, cost(graph, 4, 0, 4, 3), EPSILON);
+        assertEquals(2 + SQRT2, cost(graph, 4, 0, 5, 3), EPSILON);
+    }
+
+    @Test
+    void edgesAreSymmetricAndFollowTheirCellPath() {
+        GameMapGrid gameMapGrid = grid(
+            "..#.....",
+            "..#..#..",
+            "..#..#..",
+            "........",
+            "..#.....",
+            ".....##.",
+            "...#....",
+            "........");
+        ClusterGraph graph = ClusterGraph.build(gameMapGrid, 4);
+        int cols = graph.getCols();
+
+        for (int from = 0; from < graph.getNumNodes(); from++) {
+            int[] targets = graph.getEdgeTarget()[from];
+            for (int e = 0; e < targets.length; e++) {
+                int to = targets[e];
+                double edgeCost = graph.getEdgeCost()[from][e];
+                int fromCell = graph.getNodeCell()[from];
+                int toCell = graph.getNodeCell()[to];
+                assertEquals(edgeCost, cost(graph, toCell / cols, toCell % cols, fromCell / cols, fromCell % cols),
+                    EPSILON, "edge " + from + " -> " + to);
+
+                int[] path = graph.getEdgePath()[from][e];
+                assertEquals(fromCell, path[0]);
+                assertEquals(toCell, path[path.length - 1]);
+                double length = 0;
+                for (int i = 1; i < path.length; i++) {
+                    assertTrue(gameMapGrid.isWalkable(new GridCell(path[i] / cols, path[i] % cols)));
+                    length += Math.hypot(path[i] / cols - path[i - 1] / cols, path[i] % cols - path[i - 1] % cols);
+                }
+                assertEquals(edgeCost, length, EPSILON, "edge " + from + " -> " + to);
+            }
+        }
+    }
+}
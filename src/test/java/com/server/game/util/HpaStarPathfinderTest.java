@@ -0,0 +1,193 @@
+package com.server.game.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.server.game.model.map.component.GridCell;
+import com.server.game.model.map.component.Vector2;
+import com.server.game.resource.model.GameMapGrid;
+
+class HpaStarPathfinderTest {
+
+    private static final int CLUSTER_SIZE = 10;
+
+    private static GameMapGrid grid(boolean[][] walkable) {
+        int nRows = walkable.length;
+        int nCols = walkable[0].length;
+        return new GameMapGrid((short) 0, "test", new Vector2(0, nRows), new Vector2(nCols, 0),
+            nRows, nCols, 1f, walkable);
+    }
+
+    private static boolean[][] open(int nRows, int nCols) {
+        boolean[][] walkable = new boolean[nRows][nCols];
+        for (boolean[] row : walkable) {
+            Arrays.fill(row, true);
+        }
+        return walkable;
+    }
+
+    /**
+     * Open grid with random rectangular obstacles, about as cluttered as a game map
+     */
+    private static GameMapGrid randomGrid(Random random) {
+        int nRows = 40 + random.nextInt(60);
+        int nCols = 40 + random.nextInt(60);
+        boolean[][] walkable = open(nRows, nCols);
+        for (int i = nRows * nCols / 60; i > 0; i--) {
+            int row = random.nextInt(nRows);
+            int col = random.nextInt(nCols);
+            int height = 1 + random.nextInt(5);
+            int width = 1 + random.nextInt(5);
+            for (int r = row; r < Math.min(nRows, row + height); r++) {
+                for (int c = col; c < Math.min(nCols, col + width); c++) {
+                    walkable[r][c] = false;
+                }
+            }
+        }
+        return grid(walkable);
+    }
+
+    private static double length(List<GridCell> path) {
+        double length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            length += Math.hypot(path.get(i).r() - path.get(i - 1).r(), path.get(i).c() - path.get(i - 1).c());
+        }
+        return length;
+    }
+
+    private static void assertValidPath(GameMapGrid grid, List<GridCell> path, GridCell start, GridCell end) {
+        assertEquals(start, path.get(0));
+        assertEquals(end, path.get(path.size() - 1));
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(grid.isWalkable(path.get(i)), "waypoint " + path.get(i) + " is not walkable in " + path);
+            assertTrue(ThetaStarPathfinder.hasLineOfSight(grid, path.get(i - 1), path.get(i)),
+                "no line of sight between " + path.get(i - 1) + " and " + path.get(i) + " in " + path);
+        }
+    }
+
+    // ========== Path length ==========
+
+    @Test
+    void randomGridsStayWithinTwoPercentOfThetaStar() {
+        Random random = new Random(42);
+        double totalRatio = 0;
+        int queries = 0;
+
+        for (int g = 0; g < 30; g++) {
+            GameMapGrid grid = randomGrid(random);
+            ClusterGraph graph = ClusterGraph.build(grid, CLUSTER_SIZE);
+
+            for (int q = 0; q < 40; q++) {
+                GridCell start = new GridCell(random.nextInt(grid.getNRows()), random.nextInt(grid.getNCols()));
+                GridCell end = new GridCell(random.nextInt(grid.getNRows()), random.nextInt(grid.getNCols()));
+                if (!grid.isWalkable(start) || !grid.isWalkable(end)) {
+                    continue;
+                }
+                List<GridCell> theta = ThetaStarPathfinder.findPath(grid, start, end);
+                if (theta.isEmpty() || !theta.get(theta.size() - 1).equals(end) || length(theta) == 0) {
+                    continue; // unreachable, or Theta* gave up
+                }
+
+                List<GridCell> hpa = HpaStarPathfinder.findPath(graph, grid, start, end);
+                assertValidPath(grid, hpa, start, end);
+                totalRatio += length(hpa) / length(theta);
+                queries++;
+            }
+        }
+
+        // Single queries can be a bit longer around the cluster borders, on
+        // average the smoothed HPA* path is as good as Theta*
+        assertTrue(queries > 500, "only " + queries + " comparable queries");
+        double averageRatio = totalRatio / queries;
+        assertTrue(averageRatio < 1.02, "HPA* paths are " + averageRatio + " times the Theta* length on average");
+    }
+
+    @Test
+    void crossesTheMapAroundAWall() {
+        boolean[][] walkable = open(40, 40);
+        for (int row = 0; row < 35; row++) {
+            walkable[row][20] = false;
+        }
+        GameMapGrid grid = grid(walkable);
+        ClusterGraph graph = ClusterGraph.build(grid, CLUSTER_SIZE);
+        GridCell start = new GridCell(2, 2);
+        GridCell end = new GridCell(2, 37);
+
+        List<GridCell> path = HpaStarPathfinder.findPath(graph, grid, start, end);
+        assertValidPath(grid, path, start, end);
+        // Has to go below the wall
+        assertTrue(path.stream().anyMatch(cell -> cell.r() >= 35), "path " + path + " goes through the wall");
+    }
+
+    // ========== Fallbacks to Theta* ==========
+
+    @Test
+    void sameClusterFallsBackToThetaStar() {
+        GameMapGrid grid = grid(open(40, 40));
+        ClusterGraph graph = ClusterGraph.build(grid, CLUSTER_SIZE);
+        GridCell start = new GridCell(11, 11);
+        GridCell end = new GridCell(18, 19);
+
+        assertEquals(graph.clusterOf(11, 11), graph.clusterOf(18, 19));
+        assertEquals(ThetaStarPathfinder.findPath(grid, start, end), HpaStarPathfinder.findPath(graph, grid, start, end));
+    }
+
+    @Test
+    void shortQueryFallsBackToThetaStar() {
+        GameMapGrid grid = grid(open(40, 40));
+        ClusterGraph graph = ClusterGraph.build(grid, CLUSTER_SIZE);
+        // Different clusters, but no further than one cluster size
+        GridCell start = new GridCell(5, 5);
+        GridCell end = new GridCell(14, 15);
+
+        assertNotEquals(graph.clusterOf(5, 5), graph.clusterOf(14, 15));
+        assertEquals(List.of(start, end), HpaStarPathfinder.findPath(graph, grid, start, end));
+    }
+
+    @Test
+    void unwalkableEndpointFallsBackToThetaStar() {
+        boolean[][] walkable = open(40, 40);
+        walkable[2][2] = false;
+        walkable[37][37] = false;
+        GameMapGrid grid = grid(walkable);
+        ClusterGraph graph = ClusterGraph.build(grid, CLUSTER_SIZE);
+
+        // Theta* moves the blocked start and end to the closest walkable cells
+        GridCell blocked = new GridCell(2, 2);
+        List<GridCell> fromBlocked = HpaStarPathfinder.findPath(graph, grid, blocked, new GridCell(30, 30));
+        assertEquals(ThetaStarPathfinder.findPath(grid, blocked, new GridCell(30, 30)), fromBlocked);
+        assertNotEquals(blocked, fromBlocked.get(0));
+
+        assertEquals(ThetaStarPathfinder.findPath(grid, new GridCell(5, 5), new GridCell(37, 37)),
+            HpaStarPathfinder.findPath(graph, grid, new GridCell(5, 5), new GridCell(37, 37)));
+
+        assertEquals(List.of(), HpaStarPathfinder.findPath(graph, grid, new GridCell(-1, 5), new GridCell(30, 30)));
+    }
+
+    @Test
+    void noAbstractPathFallsBackToThetaStar() {
+        // The goal is walkable but walled in
+        boolean[][] walkable = open(40, 40);
+        for (int i = 28; i <= 32; i++) {
+            walkable[28][i] = false;
+            walkable[32][i] = false;
+            walkable[i][28] = false;
+            walkable[i][32] = false;
+        }
+        GameMapGrid grid = grid(walkable);
+        ClusterGraph graph = ClusterGraph.build(grid, CLUSTER_SIZE);
+        GridCell start = new GridCell(2, 2);
+        GridCell end = new GridCell(30, 30);
+
+        List<GridCell> path = HpaStarPathfinder.findPath(graph, grid, start, end);
+        assertEquals(ThetaStarPathfinder.findPath(grid, start, end), path);
+        assertNotEquals(end, path.get(path.size() - 1));
+    }
+}